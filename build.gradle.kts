@@ -1,6 +1,7 @@
 plugins {
     id("java")
     id("org.jetbrains.intellij") version "1.13.3"
+    id("me.champeau.jmh") version "0.7.1"
 }
 
 group = "com.github.texhnolyzze"
@@ -23,6 +24,21 @@ dependencies {
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310:2.15.2")
 }
 
+// Benchmarks run outside of IDE, so platform libraries (provided by IDE at runtime) must be on their classpath
+configurations.named("jmhRuntimeOnly") {
+    extendsFrom(configurations.compileOnly.get())
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // results of every version are kept apart, so regressions are visible by comparing them
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results-${project.version}.json"))
+}
+
 tasks {
     // Set the JVM compatibility versions
     withType<JavaCompile> {
@@ -30,6 +46,19 @@ tasks {
         targetCompatibility = "17"
     }
 
+    // End-to-end benchmarks are slow and only report timings, so they are run on their own
+    test {
+        exclude("**/*BenchmarkTest.class")
+    }
+
+    register<Test>("benchmarkTest") {
+        description = "Runs end-to-end benchmarks against fake Jira"
+        group = "verification"
+        testClassesDirs = sourceSets.test.get().output.classesDirs
+        classpath = sourceSets.test.get().runtimeClasspath
+        include("**/*BenchmarkTest.class")
+    }
+
     patchPluginXml {
         sinceBuild.set("232")
         untilBuild.set("")
@@ -0,0 +1,98 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.timer.Timer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers and time series are converted every time plugin state is saved or loaded
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StateConvertersBenchmark {
+
+    @Benchmark
+    public String timersToString(final Timers timers) {
+        return timers.converter.toString(timers.map);
+    }
+
+    @Benchmark
+    public Map<String, Timer> timersFromString(final Timers timers) {
+        return timers.converter.fromString(timers.string);
+    }
+
+    @Benchmark
+    public String unitsOfWorkToString(final UnitsOfWork unitsOfWork) {
+        return unitsOfWork.converter.toString(unitsOfWork.list);
+    }
+
+    @Benchmark
+    public List<UnitOfWork> unitsOfWorkFromString(final UnitsOfWork unitsOfWork) {
+        return unitsOfWork.converter.fromString(unitsOfWork.string);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Timers {
+
+        @Param({"10", "100", "1000"})
+        private int size;
+
+        private final Timer.TimerMapConverter converter = new Timer.TimerMapConverter();
+
+        private Map<String, Timer> map;
+        private String string;
+
+        @Setup
+        public void setup() {
+            map = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                map.put(
+                    "story/PRJ-" + i,
+                    new Timer(Duration.ofMinutes(i).toNanos(), Instant.parse("2023-08-01T10:15:30Z"), i % 2 == 0)
+                );
+            }
+            string = converter.toString(map);
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class UnitsOfWork {
+
+        @Param({"100", "10000"})
+        private int size;
+
+        private final UnitOfWork.UnitOfWorkListConverter converter = new UnitOfWork.UnitOfWorkListConverter();
+
+        private List<UnitOfWork> list;
+        private String string;
+
+        @Setup
+        public void setup() {
+            final ZonedDateTime started = ZonedDateTime.of(2023, 8, 1, 10, 0, 0, 0, ZoneId.of("Europe/Moscow"));
+            list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(new UnitOfWork("story/PRJ-" + i % 50, started.plusMinutes(i), Duration.ofMinutes(1)));
+            }
+            string = converter.toString(list);
+        }
+
+    }
+
+}
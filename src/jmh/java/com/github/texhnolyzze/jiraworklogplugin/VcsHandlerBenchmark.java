@@ -0,0 +1,46 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+/**
+ * Every IDE notification is matched against {@link VcsHandler} patterns, most of them are not about git at all
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VcsHandlerBenchmark {
+
+    @Param(
+        {
+            "Pushed 3 commits to origin/story/PRJ-1234-add-worklog-dialog",
+            "Pushed 1 commit to origin/story/PRJ-1234, and 2 tags to origin",
+            "Branch story/PRJ-1 was renamed to story/PRJ-2",
+            "Deleted Branch: story/PRJ-1234",
+            "Indexing paused due to batch update. Shared indexes for JDK 17 are downloaded and will be used next time"
+        }
+    )
+    private String notification;
+
+    @Benchmark
+    public Matcher matchNotification() {
+        return VcsHandler.matchNotification(notification, true);
+    }
+
+    @Benchmark
+    public String replaceIfMergeCommit() {
+        return VcsHandler.replaceIfMergeCommit(
+            "Merge branch 'master' into story/PRJ-1234-add-worklog-dialog",
+            "story/PRJ-1234-add-worklog-dialog"
+        );
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.github.texhnolyzze.jiraworklogplugin.jiraresponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Found issues are kept in sorted sets, so every issue is compared with others several times
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JiraIssueBenchmark {
+
+    private final JiraIssue issue = issue("PRJ-1234");
+    private final JiraIssue sameProject = issue("PRJ-987");
+    private final JiraIssue otherProject = issue("OTHER-1234");
+
+    private List<JiraIssue> shuffled;
+
+    @Setup
+    public void setup() {
+        shuffled = new ArrayList<>(1000);
+        for (int i = 1; i <= 1000; i++) {
+            shuffled.add(issue((i % 3 == 0 ? "OTHER-" : "PRJ-") + i));
+        }
+        Collections.shuffle(shuffled, new Random(42));
+    }
+
+    @Benchmark
+    public int compareSameProject() {
+        return issue.compareTo(sameProject);
+    }
+
+    @Benchmark
+    public int compareOtherProject() {
+        return issue.compareTo(otherProject);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public NavigableSet<JiraIssue> sort1000() {
+        return new TreeSet<>(shuffled);
+    }
+
+    private static JiraIssue issue(final String key) {
+        return new JiraIssue(
+            key.substring(key.indexOf('-') + 1),
+            key,
+            "Summary of " + key,
+            "Task",
+            3600,
+            "user",
+            new JiraIssue.Status("3", "In Progress"),
+            "2023-08-01T10:15:30.000+0300"
+        );
+    }
+
+}
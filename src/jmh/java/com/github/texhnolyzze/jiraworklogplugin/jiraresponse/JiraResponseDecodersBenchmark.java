@@ -0,0 +1,160 @@
+package com.github.texhnolyzze.jiraworklogplugin.jiraresponse;
+
+import com.github.texhnolyzze.jiraworklogplugin.cache.CachedWorklog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.texhnolyzze.jiraworklogplugin.utils.Utils.OBJECT_MAPPER;
+
+/**
+ * Compares {@link JiraResponseDecoders} with decoding via {@code Map} (the way responses were decoded before)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JiraResponseDecodersBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int worklogs;
+
+    private byte[] worklogsResponse;
+    private byte[] searchResponse;
+
+    @Setup
+    public void setup() {
+        final StringBuilder worklogsJson = new StringBuilder("{\"startAt\":0,\"maxResults\":").
+            append(worklogs).
+            append(",\"total\":").
+            append(worklogs).
+            append(",\"worklogs\":[");
+        for (int i = 0; i < worklogs; i++) {
+            if (i > 0) {
+                worklogsJson.append(',');
+            }
+            worklogsJson.append(
+                """
+                {"self":"https://jira.example.com/rest/api/2/issue/10010/worklog/%1$d",
+                "author":%2$s,"updateAuthor":%2$s,
+                "comment":"Created by Jira Worklog Plugin: project\\nWorked on issue %1$d",
+                "created":"2023-08-01T10:15:30.000+0300","updated":"2023-08-01T10:15:30.000+0300",
+                "started":"2023-08-01T10:15:30.000+0300","timeSpent":"1h 30m","timeSpentSeconds":5400,
+                "id":"%1$d","issueId":"10010"}
+                """.formatted(i, user(i % 10))
+            );
+        }
+        worklogsJson.append("]}");
+        worklogsResponse = worklogsJson.toString().getBytes(StandardCharsets.UTF_8);
+        final StringBuilder searchJson = new StringBuilder("{\"expand\":\"names,schema\",\"startAt\":0,\"maxResults\":50,\"total\":50,\"issues\":[");
+        for (int i = 0; i < 50; i++) {
+            if (i > 0) {
+                searchJson.append(',');
+            }
+            searchJson.append(
+                """
+                {"expand":"operations,editmeta,changelog,transitions","id":"%1$d",
+                "self":"https://jira.example.com/rest/api/2/issue/%1$d","key":"PRJ-%1$d",
+                "fields":{"summary":"Issue number %1$d","timeestimate":7200,"assignee":%2$s,
+                "issuetype":{"self":"https://jira.example.com/rest/api/2/issuetype/1","id":"1",
+                "description":"A problem","iconUrl":"https://jira.example.com/images/icons/bug.png",
+                "name":"Bug","subtask":false},
+                "status":{"self":"https://jira.example.com/rest/api/2/status/3","description":"",
+                "iconUrl":"https://jira.example.com/images/icons/inprogress.png","name":"In Progress","id":"3",
+                "statusCategory":{"self":"https://jira.example.com/rest/api/2/statuscategory/4","id":4,
+                "key":"indeterminate","colorName":"yellow","name":"In Progress"}}}}
+                """.formatted(i + 1, user(i % 10))
+            );
+        }
+        searchJson.append("]}");
+        searchResponse = searchJson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<CachedWorklog> worklogsStreaming() throws IOException {
+        return JiraResponseDecoders.decodeWorklogs("PRJ-1", new ByteArrayInputStream(worklogsResponse));
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<CachedWorklog> worklogsMap() throws IOException {
+        final Map<String, Object> map = OBJECT_MAPPER.readValue(new ByteArrayInputStream(worklogsResponse), Map.class);
+        final List<Map<String, Object>> worklogMaps = (List<Map<String, Object>>) map.get("worklogs");
+        final List<CachedWorklog> result = new ArrayList<>(worklogMaps.size());
+        for (final Map<String, Object> worklog : worklogMaps) {
+            final String started = (String) worklog.get("started");
+            final Map<String, Object> author = (Map<String, Object>) worklog.get("author");
+            result.add(
+                new CachedWorklog(
+                    "PRJ-1",
+                    OffsetDateTime.parse(
+                        started.substring(0, 19) + started.substring(23, 26) + ":" + started.substring(26)
+                    ).toInstant().toEpochMilli(),
+                    ((Number) worklog.get("timeSpentSeconds")).longValue(),
+                    (String) worklog.get("comment"),
+                    author == null ? null : (String) author.get("emailAddress")
+                )
+            );
+        }
+        return result;
+    }
+
+    @Benchmark
+    public NavigableSet<JiraIssue> searchStreaming() throws IOException {
+        return JiraResponseDecoders.decodeSearch(new ByteArrayInputStream(searchResponse)).issues();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public NavigableSet<JiraIssue> searchMap() throws IOException {
+        final Map<String, Object> map = OBJECT_MAPPER.readValue(new ByteArrayInputStream(searchResponse), Map.class);
+        final NavigableSet<JiraIssue> result = new TreeSet<>(Comparator.naturalOrder());
+        for (final Map<String, Object> issue : (List<Map<String, Object>>) map.get("issues")) {
+            final Map<String, Object> fields = (Map<String, Object>) issue.get("fields");
+            final Map<String, Object> issueType = (Map<String, Object>) fields.get("issuetype");
+            final Map<String, Object> status = (Map<String, Object>) fields.get("status");
+            result.add(
+                new JiraIssue(
+                    (String) issue.get("id"),
+                    (String) issue.get("key"),
+                    (String) fields.get("summary"),
+                    (String) issueType.get("name"),
+                    ((Number) fields.get("timeestimate")).intValue(),
+                    (String) ((Map<String, Object>) fields.get("assignee")).get("key"),
+                    new JiraIssue.Status((String) status.get("id"), (String) status.get("name")),
+                    (String) fields.get("updated")
+                )
+            );
+        }
+        return result;
+    }
+
+    private static String user(final int i) {
+        return """
+            {"self":"https://jira.example.com/rest/api/2/user?username=user%1$d","name":"user%1$d","key":"user%1$d",
+            "emailAddress":"user%1$d@example.com","avatarUrls":{
+            "48x48":"https://jira.example.com/secure/useravatar?ownerId=user%1$d&avatarId=1",
+            "24x24":"https://jira.example.com/secure/useravatar?size=small&ownerId=user%1$d&avatarId=1",
+            "16x16":"https://jira.example.com/secure/useravatar?size=xsmall&ownerId=user%1$d&avatarId=1",
+            "32x32":"https://jira.example.com/secure/useravatar?size=medium&ownerId=user%1$d&avatarId=1"},
+            "displayName":"User %1$d","active":true,"timeZone":"Europe/Moscow"}
+            """.formatted(i);
+    }
+
+}
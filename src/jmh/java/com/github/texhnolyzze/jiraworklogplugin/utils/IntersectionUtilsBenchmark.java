@@ -0,0 +1,40 @@
+package com.github.texhnolyzze.jiraworklogplugin.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Intersection is computed for every pair of unit of work and external worklog of the day
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IntersectionUtilsBenchmark {
+
+    private final ZonedDateTime start = ZonedDateTime.of(2023, 8, 1, 10, 0, 0, 0, ZoneId.of("Europe/Moscow"));
+    private final ZonedDateTime end = start.plusHours(1);
+    private final ZonedDateTime overlappingStart = start.plusMinutes(30);
+    private final ZonedDateTime overlappingEnd = start.plusMinutes(90);
+    private final ZonedDateTime disjointStart = start.plusHours(2);
+    private final ZonedDateTime disjointEnd = start.plusHours(3);
+
+    @Benchmark
+    public Duration overlapping() {
+        return IntersectionUtils.getIntersection(start, end, overlappingStart, overlappingEnd);
+    }
+
+    @Benchmark
+    public Duration disjoint() {
+        return IntersectionUtils.getIntersection(start, end, disjointStart, disjointEnd);
+    }
+
+}
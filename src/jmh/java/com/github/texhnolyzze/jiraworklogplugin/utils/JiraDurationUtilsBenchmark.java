@@ -0,0 +1,37 @@
+package com.github.texhnolyzze.jiraworklogplugin.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durations are parsed on every keystroke in worklog dialog and formatted for every timer update
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JiraDurationUtilsBenchmark {
+
+    @Param({"1h 30m", "2,5h", "45m", "not a duration"})
+    private String duration;
+
+    private final Duration toFormat = Duration.ofMinutes(95);
+
+    @Benchmark
+    public Duration parse() {
+        return JiraDurationUtils.parseJiraDuration(duration);
+    }
+
+    @Benchmark
+    public String format() {
+        return JiraDurationUtils.formatAsJiraDuration(toFormat);
+    }
+
+}
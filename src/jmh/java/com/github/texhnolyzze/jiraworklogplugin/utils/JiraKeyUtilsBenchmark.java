@@ -0,0 +1,35 @@
+package com.github.texhnolyzze.jiraworklogplugin.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jira key is searched in branch names and commit messages
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JiraKeyUtilsBenchmark {
+
+    @Param(
+        {
+            "PRJ-1",
+            "story/PRJ-1234-add-worklog-dialog",
+            "feature/very-long-branch-name-without-any-issue-key-in-it-at-all-just-words"
+        }
+    )
+    private String str;
+
+    @Benchmark
+    public String findJiraKey() {
+        return JiraKeyUtils.findJiraKey(str);
+    }
+
+}
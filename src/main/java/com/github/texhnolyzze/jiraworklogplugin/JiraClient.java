@@ -1,51 +1,80 @@
 package com.github.texhnolyzze.jiraworklogplugin;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.texhnolyzze.jiraworklogplugin.cache.CachedWorklog;
+import com.github.texhnolyzze.jiraworklogplugin.cache.IssueSearchCache;
+import com.github.texhnolyzze.jiraworklogplugin.cache.RecentIssuesIndex;
+import com.github.texhnolyzze.jiraworklogplugin.cache.SingleFlight;
+import com.github.texhnolyzze.jiraworklogplugin.cache.WorklogDiskCache;
 import com.github.texhnolyzze.jiraworklogplugin.enums.AdjustEstimate;
 import com.github.texhnolyzze.jiraworklogplugin.enums.AuthorizationResult;
 import com.github.texhnolyzze.jiraworklogplugin.enums.AuthorizeWith;
 import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
 import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
-import com.github.texhnolyzze.jiraworklogplugin.jirarequest.AddWorklogRequest;
+import com.github.texhnolyzze.jiraworklogplugin.jirarequest.PendingWorklog;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.AddWorklogResponse;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.DailyWorklogsResponse;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.FindJiraIssuesResponse;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.FindJiraWorklogsResponse;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraIssue;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraResponseDecoders;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraResponse;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.TodayWorklogSummaryResponse;
 import com.github.texhnolyzze.jiraworklogplugin.utils.EmailUtils;
+import com.github.texhnolyzze.jiraworklogplugin.workloggather.GatherStrategyHistory;
+import com.github.texhnolyzze.jiraworklogplugin.workloggather.WorklogDeltaFeeds;
+import com.github.texhnolyzze.jiraworklogplugin.workloggather.WorklogGatherStrategy;
+import com.google.common.hash.Hashing;
 import com.google.common.net.HttpHeaders;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.net.HTTPMethod;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.ConnectException;
 import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue.LEAVE_AS_IS;
 import static com.github.texhnolyzze.jiraworklogplugin.utils.JiraDurationUtils.formatAsJiraDuration;
@@ -63,29 +92,382 @@ public class JiraClient {
 
     private static final String APPLICATION_JSON = "application/json";
 
-    private final HttpClient httpClient;
-    private final Project project;
+    private static final int SEARCH_PAGE_SIZE = 50;
+    private static final int WORKLOGS_PAGE_SIZE = 100;
+
+    private static final int MAX_ATTEMPTS = 4;
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(500);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(8);
+    /**
+     * Requests are not retried, if Jira asks to wait longer
+     */
+    private static final Duration MAX_RETRY_AFTER = Duration.ofSeconds(30);
 
-    private final Map<AuthorizeWithKey, AuthorizeWith> authorizeWithMap = new HashMap<>();
+    private final JiraClientCore core;
+    private final Project project;
 
     JiraClient(final Project project) {
+        this(project, JiraClientCore.getInstance());
+    }
+
+    JiraClient(final Project project, final JiraClientCore core) {
         this.project = project;
-        httpClient = HttpClient.newBuilder().
-            version(HttpClient.Version.HTTP_1_1).
-            followRedirects(HttpClient.Redirect.NEVER).
-            connectTimeout(Duration.ofSeconds(20)).
-            build();
+        this.core = core;
+    }
+
+    /**
+     * Clock in the IDE's time zone, which defines 'today' of worklogs
+     */
+    public Clock getClock() {
+        return core.getClock();
+    }
+
+    public WorklogDeltaFeeds getWorklogDeltaFeeds() {
+        return core.getWorklogDeltaFeeds();
+    }
+
+    public IssueSearchCache getIssueSearchCache() {
+        return core.getIssueSearchCache();
+    }
+
+    public JiraRequestStats getRequestStats() {
+        return core.getRequestStats();
     }
 
-    public HttpClient getHttpClient() {
-        return httpClient;
+    /**
+     * @see JiraKeepAlive
+     */
+    void keepAlive(final String jiraUrl) {
+        core.getKeepAlive().keepAlive(this, jiraUrl);
+    }
+
+    boolean isDisposed() {
+        return project.isDisposed();
+    }
+
+    public GatherStrategyHistory getGatherStrategyHistory() {
+        return core.getGatherStrategyHistory();
     }
 
     public static JiraClient getInstance(final Project project) {
         return project.getService(JiraClient.class);
     }
 
-    @SuppressWarnings("java:S3358")
+    /**
+     * Every request to Jira goes through this method.
+     * Requests are rate limited (see {@link JiraRateLimiter}) and retried with exponential backoff,
+     * when Jira is overloaded or connection fails. Only GET requests (and reading {@code worklog/list}) are retried,
+     * unless it's known that request was not processed at all (429 response or connection was not established).
+     * Responses are requested compressed and are decompressed transparently for {@code bodyHandler}.
+     * Cancelling returned future cancels http exchange
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+        final HttpRequest request,
+        final HttpResponse.BodyHandler<T> bodyHandler
+    ) {
+        final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        final String endpoint = JiraRequestStats.endpoint(request);
+        sendAsync(
+            request.headers().firstValue(HttpHeaders.ACCEPT_ENCODING).isPresent() ?
+            request :
+            HttpRequest.newBuilder(request, (name, value) -> true).
+                header(HttpHeaders.ACCEPT_ENCODING, ResponseDecompression.ACCEPT_ENCODING).
+                build(),
+            core.getDecompression().decoding(bodyHandler, bytes -> core.getRequestStats().addBytes(endpoint, bytes)),
+            endpoint,
+            1,
+            0,
+            result
+        );
+        return result;
+    }
+
+    private <T> void sendAsync(
+        final HttpRequest request,
+        final HttpResponse.BodyHandler<T> bodyHandler,
+        final String endpoint,
+        final int attempt,
+        final long backoff,
+        final CompletableFuture<HttpResponse<T>> result
+    ) {
+        final long delay = Math.max(backoff, core.getRateLimiter().reserve(request.uri()));
+        if (delay <= 0) {
+            exchange(request, bodyHandler, endpoint, attempt, result);
+            return;
+        }
+        final ScheduledFuture<?> scheduled = AppExecutorUtil.getAppScheduledExecutorService().schedule(
+            () -> exchange(request, bodyHandler, endpoint, attempt, result),
+            delay,
+            TimeUnit.MILLISECONDS
+        );
+        cancelling(scheduled, result);
+    }
+
+    private <T> void exchange(
+        final HttpRequest request,
+        final HttpResponse.BodyHandler<T> bodyHandler,
+        final String endpoint,
+        final int attempt,
+        final CompletableFuture<HttpResponse<T>> result
+    ) {
+        if (result.isDone()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final CompletableFuture<HttpResponse<T>> exchange = core.getHttpClient().sendAsync(request, bodyHandler);
+        cancelling(exchange, result);
+        exchange.whenComplete(
+            (response, e) -> {
+                if (result.isDone()) {
+                    return;
+                }
+                core.getRequestStats().record(
+                    endpoint,
+                    System.nanoTime() - start,
+                    e != null || response.statusCode() >= 400
+                );
+                final long retryDelay = retryDelay(request, response, e, attempt);
+                if (retryDelay >= 0) {
+                    if (response != null && response.body() instanceof final InputStream body) {
+                        try {
+                            body.close();
+                        } catch (final IOException ignored) {
+                            // connection will not be reused
+                        }
+                    }
+                    core.getRateLimiter().onRetry();
+                    sendAsync(request, bodyHandler, endpoint, attempt + 1, retryDelay, result);
+                } else if (e != null) {
+                    result.completeExceptionally(e);
+                } else {
+                    if (response.statusCode() == 401 && !captchaRequested(response)) {
+                        forgetAuthorizeWith(request);
+                    }
+                    result.complete(response);
+                }
+            }
+        );
+    }
+
+    /**
+     * @return millis to wait before next attempt or -1, if request should not be retried
+     */
+    private long retryDelay(
+        final HttpRequest request,
+        @Nullable final HttpResponse<?> response,
+        @Nullable final Throwable e,
+        final int attempt
+    ) {
+        if (attempt >= MAX_ATTEMPTS) {
+            return -1;
+        }
+        // worklog/list only reads worklogs, it's POST just to take many ids
+        final boolean idempotent = HTTPMethod.GET.name().equals(request.method()) ||
+                                   request.uri().getPath().endsWith("/rest/api/2/worklog/list");
+        if (e != null) {
+            if (ExceptionUtils.indexOfType(e, CancellationException.class) != -1) {
+                return -1;
+            }
+            // request surely didn't reach Jira
+            final boolean notSent = ExceptionUtils.indexOfType(e, ConnectException.class) != -1 ||
+                                    ExceptionUtils.indexOfType(e, HttpConnectTimeoutException.class) != -1;
+            final boolean ioError = ExceptionUtils.indexOfType(e, IOException.class) != -1;
+            return notSent || idempotent && ioError ? backoff(attempt) : -1;
+        }
+        final int status = response.statusCode();
+        // 429 means request was rejected without being processed
+        if (status != 429 && !(idempotent && (status == 502 || status == 503 || status == 504))) {
+            return -1;
+        }
+        if (status == 429 || status == 503) {
+            core.getRateLimiter().onThrottledByJira();
+        }
+        final long retryAfter = retryAfter(response);
+        if (retryAfter > MAX_RETRY_AFTER.toMillis()) {
+            return -1;
+        }
+        if (retryAfter > 0) {
+            core.getRateLimiter().block(request.uri(), retryAfter);
+        }
+        return Math.max(retryAfter, backoff(attempt));
+    }
+
+    /**
+     * Exponential backoff with jitter, so clients throttled together don't retry together
+     */
+    private static long backoff(final int attempt) {
+        final long max = Math.min(MAX_BACKOFF.toMillis(), INITIAL_BACKOFF.toMillis() << (attempt - 1));
+        return ThreadLocalRandom.current().nextLong(max / 2, max + 1);
+    }
+
+    /**
+     * @return value of {@code Retry-After} header in millis or -1, if there is no such header
+     */
+    private static long retryAfter(final HttpResponse<?> response) {
+        final String retryAfter = response.headers().firstValue(HttpHeaders.RETRY_AFTER).orElse(null);
+        if (StringUtils.isBlank(retryAfter)) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.strip()) * 1000);
+        } catch (final NumberFormatException e) {
+            try {
+                final ZonedDateTime date = ZonedDateTime.parse(retryAfter.strip(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+            } catch (final DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Number of requests delayed by client-side rate limiter
+     */
+    public long getDelayedRequests() {
+        return core.getRateLimiter().getDelayed();
+    }
+
+    /**
+     * Number of requests rejected by Jira with 429/503
+     */
+    public long getRejectedRequests() {
+        return core.getRateLimiter().getRejected();
+    }
+
+    public long getRetriedRequests() {
+        return core.getRateLimiter().getRetried();
+    }
+
+    /**
+     * Number of response body bytes received from Jira (compressed, if Jira compressed them)
+     */
+    public long getWireBytes() {
+        return core.getDecompression().getWireBytes();
+    }
+
+    /**
+     * Number of response body bytes after decompression
+     */
+    public long getDecodedBytes() {
+        return core.getDecompression().getDecodedBytes();
+    }
+
+    /**
+     * Blocking variant of {@link #sendAsync(HttpRequest, HttpResponse.BodyHandler)}
+     */
+    public <T> HttpResponse<T> send(
+        final HttpRequest request,
+        final HttpResponse.BodyHandler<T> bodyHandler
+    ) throws IOException, InterruptedException {
+        final CompletableFuture<HttpResponse<T>> exchange = sendAsync(request, bodyHandler);
+        try {
+            return exchange.get();
+        } catch (final InterruptedException e) {
+            exchange.cancel(true);
+            throw e;
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof final IOException cause) {
+                throw cause;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Sends {@code request} and converts its response with {@code handler}.
+     * Returned future never completes exceptionally (unless cancelled),
+     * any error is converted to response with {@code errorCreator}
+     *
+     * @param errorMessage logged along with exception, if request failed
+     */
+    public <B, R extends JiraResponse> CompletableFuture<R> sendAsync(
+        final HttpRequest request,
+        final HttpResponse.BodyHandler<B> bodyHandler,
+        final String errorMessage,
+        final Function<String, R> errorCreator,
+        final ResponseHandler<B, R> handler
+    ) {
+        final CompletableFuture<HttpResponse<B>> exchange = sendAsync(request, bodyHandler);
+        return cancelling(
+            exchange,
+            exchange.handle(
+                (response, e) -> {
+                    Throwable error = e;
+                    if (error == null) {
+                        try {
+                            return handler.handle(response);
+                        } catch (final IOException | RuntimeException handlerError) {
+                            error = handlerError;
+                        }
+                    }
+                    if (ExceptionUtils.indexOfType(error, CancellationException.class) == -1) {
+                        logger.error(errorMessage, error);
+                    }
+                    return errorCreator.apply(ExceptionUtils.getRootCauseMessage(error));
+                }
+            )
+        );
+    }
+
+    /**
+     * Waits for {@code future}, cancels it if current thread is interrupted
+     */
+    public static <R extends JiraResponse> R await(
+        final CompletableFuture<R> future,
+        final Function<String, R> errorCreator
+    ) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return errorCreator.apply("Interrupted");
+        } catch (final ExecutionException e) {
+            return errorCreator.apply(ExceptionUtils.getRootCauseMessage(e));
+        }
+    }
+
+    /**
+     * Records in {@link JiraRequestStats} how long {@code operation} took, unless it was cancelled
+     */
+    private <R extends JiraResponse> CompletableFuture<R> timed(
+        final String operation,
+        final CompletableFuture<R> future
+    ) {
+        final long start = System.nanoTime();
+        return cancelling(
+            future,
+            future.whenComplete(
+                (response, e) -> {
+                    if (!future.isCancelled()) {
+                        core.getRequestStats().record(
+                            operation,
+                            System.nanoTime() - start,
+                            e != null || !StringUtils.isBlank(response.getError())
+                        );
+                    }
+                }
+            )
+        );
+    }
+
+    /**
+     * Makes cancellation of {@code result} also cancel {@code source} (e.g. future of http exchange)
+     */
+    public static <T> CompletableFuture<T> cancelling(
+        final Future<?> source,
+        final CompletableFuture<T> result
+    ) {
+        result.whenComplete(
+            (unused, e) -> {
+                if (result.isCancelled()) {
+                    source.cancel(true);
+                }
+            }
+        );
+        return result;
+    }
+
     AddWorklogResponse addWorklog(
         @NotNull final String jiraUrl,
         @NotNull final String email,
@@ -97,28 +479,107 @@ public class JiraClient {
         @Nullable final Duration adjustmentDuration,
         @NotNull final HowToDetermineWhenUserStartedWorkingOnIssue how
     ) {
+        return await(
+            addWorklogAsync(jiraUrl, email, password, issue, timeSpent, comment, adjustEstimate, adjustmentDuration, how),
+            AddWorklogResponse::error
+        );
+    }
+
+    CompletableFuture<AddWorklogResponse> addWorklogAsync(
+        @NotNull final String jiraUrl,
+        @NotNull final String email,
+        @NotNull final String password,
+        @NotNull final JiraIssue issue,
+        @NotNull final Duration timeSpent,
+        @Nullable final String comment,
+        @Nullable final AdjustEstimate adjustEstimate,
+        @Nullable final Duration adjustmentDuration,
+        @NotNull final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        return addWorklogAsync(
+            pendingWorklog(jiraUrl, email, issue, timeSpent, comment, adjustEstimate, adjustmentDuration, how),
+            password
+        );
+    }
+
+    /**
+     * Captures everything needed to add worklog later, 'Started' is determined at the moment of the call
+     */
+    @SuppressWarnings("java:S107")
+    PendingWorklog pendingWorklog(
+        @NotNull final String jiraUrl,
+        @NotNull final String email,
+        @NotNull final JiraIssue issue,
+        @NotNull final Duration timeSpent,
+        @Nullable final String comment,
+        @Nullable final AdjustEstimate adjustEstimate,
+        @Nullable final Duration adjustmentDuration,
+        @NotNull final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        return new PendingWorklog(
+            UUID.randomUUID().toString(),
+            jiraUrl,
+            email,
+            issue.getKey(),
+            project.getName(),
+            Duration.ofMinutes(timeSpent.toMinutes()).toSeconds(),
+            comment,
+            LocalDateTime
+                .now(core.getClock().withZone(ZoneOffset.UTC))
+                .minus(how == LEAVE_AS_IS ? timeSpent : Duration.ZERO)
+                .format(ADD_WORKLOG_STARTED_FORMAT),
+            adjustEstimate,
+            adjustEstimate == null || adjustEstimate.getAdjustmentDurationQueryParameter() == null ?
+            null :
+            Objects.requireNonNull(adjustmentDuration).toSeconds()
+        );
+    }
+
+    /**
+     * Error response has status code of Jira response, or 0 if there was no response at all
+     */
+    CompletableFuture<AddWorklogResponse> addWorklogAsync(
+        @NotNull final PendingWorklog worklog,
+        @NotNull final String password
+    ) {
+        final String jiraUrl = worklog.jiraUrl();
+        final HttpRequest request;
         try {
-            final URI uri = addWorklogUri(jiraUrl, issue, adjustEstimate, adjustmentDuration);
-            final HttpRequest request =
+            request =
                     HttpRequest
                             .newBuilder()
-                            .uri(uri)
-                            .header(HttpHeaders.AUTHORIZATION, getAuthorization(email, password, jiraUrl))
+                            .uri(addWorklogUri(worklog))
+                            .header(HttpHeaders.AUTHORIZATION, getAuthorization(worklog.email(), password, jiraUrl))
                             .header("Content-Type", APPLICATION_JSON)
-                            .method(HTTPMethod.POST.name(), addWorklogBody(timeSpent, comment, how))
+                            .method(
+                                HTTPMethod.POST.name(),
+                                HttpRequest.BodyPublishers.ofString(
+                                    OBJECT_MAPPER.writeValueAsString(worklog.toRequest()),
+                                    StandardCharsets.UTF_8
+                                )
+                            )
                             .build();
-            final HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-            if (response.statusCode() != 201) {
-                return getErrorResponse(response, AddWorklogResponse::error);
-            }
-            return AddWorklogResponse.success();
-        } catch (final Exception e) {
+        } catch (final JsonProcessingException e) {
             logger.error("Error adding worklog", e);
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
-            }
-            return AddWorklogResponse.error(ExceptionUtils.getRootCauseMessage(e));
+            return CompletableFuture.completedFuture(AddWorklogResponse.error(ExceptionUtils.getRootCauseMessage(e)));
         }
+        return sendAsync(
+            request,
+            HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8),
+            "Error adding worklog",
+            AddWorklogResponse::error,
+            response -> {
+                if (response.statusCode() != 201) {
+                    return getErrorResponse(
+                        response,
+                        error -> AddWorklogResponse.error(error, response.statusCode(), credentialsRejected(response))
+                    );
+                }
+                // remaining estimate of the issue has changed
+                core.getIssueSearchCache().invalidate(jiraUrl, worklog.issue());
+                return AddWorklogResponse.success();
+            }
+        );
     }
 
     public FindJiraIssuesResponse findIssues(
@@ -128,41 +589,284 @@ public class JiraClient {
             final JiraIssue.Criteria criteria,
             final String... fields
     ) {
-        try {
-            final String jql = URLEncoder.encode(
-                toJql(criteria),
-                StandardCharsets.UTF_8
-            );
-            final HttpRequest request =
-                HttpRequest
-                    .newBuilder()
-                    .uri(
-                        URI.create(
-                            jiraUrl +
-                                (jiraUrl.endsWith("/") ? "" : "/") +
-                                "rest/api/2/search?" +
-                                "jql=" + jql + "&" +
-                                "fields=" + (fields.length == 0 ? DEFAULT_FIELDS : String.join(",", fields))
-                        )
+        return findIssues(jiraUrl, email, password, criteria, Integer.MAX_VALUE, page -> {}, fields);
+    }
+
+    public FindJiraIssuesResponse findIssues(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final JiraIssue.Criteria criteria,
+            final int limit,
+            final Consumer<NavigableSet<JiraIssue>> onPage,
+            final String... fields
+    ) {
+        return await(
+            findIssuesAsync(jiraUrl, email, password, criteria, limit, onPage, fields),
+            FindJiraIssuesResponse::error
+        );
+    }
+
+    /**
+     * Issues found by {@link #findIssuesAsync} with the same arguments earlier (e.g. {@link JiraPrefetcher prefetched}),
+     * even if cached result expired. Nothing is requested from Jira
+     */
+    @Nullable
+    public NavigableSet<JiraIssue> getCachedIssues(
+            final String jiraUrl,
+            final String email,
+            final JiraIssue.Criteria criteria,
+            final int limit,
+            final String... fields
+    ) {
+        final IssueSearchCache.Key cacheKey = searchCacheKey(
+            jiraUrl,
+            email,
+            criteria,
+            URLEncoder.encode(toJql(criteria), StandardCharsets.UTF_8),
+            limit,
+            fields
+        );
+        return cacheKey == null ? null : core.getIssueSearchCache().peek(cacheKey);
+    }
+
+    /**
+     * @return null, if result of search can't be cached
+     */
+    @Nullable
+    private static IssueSearchCache.Key searchCacheKey(
+            final String jiraUrl,
+            final String email,
+            final JiraIssue.Criteria criteria,
+            final String jql,
+            final int limit,
+            final String... fields
+    ) {
+        // issues found by worklogs change along with worklogs, which cache doesn't track
+        return criteria.getWorklogDate() == null ?
+               new IssueSearchCache.Key(jiraUrl, email, jql, String.join(",", fields), limit) :
+               null;
+    }
+
+    /**
+     * Searches issues page by page ({@value #SEARCH_PAGE_SIZE} issues per page)
+     *
+     * @param limit  max number of issues to find, no more pages are requested once it's reached
+     * @param onPage called with issues of each page as soon as it's received (not on EDT)
+     */
+    public CompletableFuture<FindJiraIssuesResponse> findIssuesAsync(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final JiraIssue.Criteria criteria,
+            final int limit,
+            final Consumer<NavigableSet<JiraIssue>> onPage,
+            final String... fields
+    ) {
+        final String jql = URLEncoder.encode(
+            toJql(criteria),
+            StandardCharsets.UTF_8
+        );
+        final IssueSearchCache.Key cacheKey = searchCacheKey(jiraUrl, email, criteria, jql, limit, fields);
+        if (cacheKey != null) {
+            final NavigableSet<JiraIssue> cached = core.getIssueSearchCache().get(cacheKey);
+            if (cached != null) {
+                onPage.accept(cached);
+                return CompletableFuture.completedFuture(FindJiraIssuesResponse.success(cached));
+            }
+        }
+        final SingleFlight.Joined<FindJiraIssuesResponse> joined = core.getSearchFlights().join(
+            Arrays.asList(jiraUrl, credentialsHash(email, password), jql, String.join(",", fields), limit),
+            () -> {
+                final CompletableFuture<FindJiraIssuesResponse> search = new CompletableFuture<>();
+                findIssuesPage(
+                    jiraUrl,
+                    email,
+                    password,
+                    jql,
+                    0,
+                    limit,
+                    onPage,
+                    fields,
+                    new TreeSet<>(Comparator.naturalOrder()),
+                    search
+                );
+                // found issues are cached before caller gets them, indexed in background
+                return cancelling(
+                    search,
+                    search.whenComplete(
+                        (response, e) -> {
+                            if (response != null && StringUtils.isBlank(response.getError())) {
+                                // failed caching must not prevent caller from getting found issues
+                                try {
+                                    if (cacheKey != null) {
+                                        core.getIssueSearchCache().put(cacheKey, response.getIssues());
+                                    }
+                                    core.getRecentIssues().recordAsync(jiraUrl, email, response.getIssues());
+                                } catch (RuntimeException ex) {
+                                    logger.warn("Can't remember found issues", ex);
+                                }
+                            }
+                        }
                     )
-                    .header(HttpHeaders.AUTHORIZATION, getAuthorization(email, password, jiraUrl))
-                    .build();
-            final HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
-            if (response.statusCode() != 200) {
-                return getErrorResponse(response, FindJiraIssuesResponse::error);
+                );
             }
-            //noinspection unchecked
-            final Map<String, Object> map = OBJECT_MAPPER.readValue(response.body(), Map.class);
-            //noinspection unchecked
-            final List<Map<String, Object>> issues = (List<Map<String, Object>>) map.get("issues");
-            return FindJiraIssuesResponse.success(convert(issues));
-        } catch (final Exception e) {
-            logger.error("Error searching Jira issues", e);
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
+        );
+        final CompletableFuture<FindJiraIssuesResponse> result = joined.result();
+        if (joined.started()) {
+            return result;
+        }
+        // joined search started by another caller, so pages went to its callback
+        return cancelling(
+            result,
+            result.thenApply(
+                response -> {
+                    if (StringUtils.isBlank(response.getError())) {
+                        onPage.accept(response.getIssues());
+                    }
+                    return response;
+                }
+            )
+        );
+    }
+
+    /**
+     * Issues found by {@link #findIssuesAsync} recently (even in previous IDE sessions), which key starts with
+     * {@code query} or which summary contains words of {@code query}. Nothing is requested from Jira
+     *
+     * @see RecentIssuesIndex
+     */
+    public List<JiraIssue> suggestRecentIssues(
+            final String jiraUrl,
+            final String email,
+            final String query,
+            final int limit
+    ) {
+        return core.getRecentIssues().suggest(jiraUrl, email, query, limit);
+    }
+
+    /**
+     * Issue found by {@link #findIssuesAsync} recently (even in previous IDE sessions), nothing is requested from Jira
+     */
+    @Nullable
+    public JiraIssue getRecentIssue(final String jiraUrl, final String email, final String key) {
+        return core.getRecentIssues().get(jiraUrl, email, key);
+    }
+
+    /**
+     * Reads issues found recently from disk in background, until then {@link #suggestRecentIssues} and
+     * {@link #getRecentIssue} find nothing
+     */
+    public CompletableFuture<Void> loadRecentIssues(final String jiraUrl, final String email) {
+        return core.getRecentIssues().load(jiraUrl, email);
+    }
+
+    /**
+     * Suggests issues for partially typed key or summary with {@code rest/api/2/issue/picker}, which is much lighter
+     * than JQL search: Jira looks up its quick search index and returns only key and summary of issues
+     * (see {@link JiraIssue#hasDetails()}). Results are not cached, since they depend on every typed character
+     */
+    public CompletableFuture<FindJiraIssuesResponse> pickIssuesAsync(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final String query
+    ) {
+        final HttpRequest request =
+            HttpRequest
+                .newBuilder()
+                .uri(
+                    URI.create(
+                        jiraUrl +
+                            (jiraUrl.endsWith("/") ? "" : "/") +
+                            "rest/api/2/issue/picker?" +
+                            "query=" + URLEncoder.encode(query, StandardCharsets.UTF_8) + "&" +
+                            "showSubTasks=true&" +
+                            "showSubTaskParent=true"
+                    )
+                )
+                .header(HttpHeaders.AUTHORIZATION, getAuthorization(email, password, jiraUrl))
+                .build();
+        return sendAsync(
+            request,
+            HttpResponse.BodyHandlers.ofInputStream(),
+            "Error searching Jira issues",
+            FindJiraIssuesResponse::error,
+            response -> {
+                if (response.statusCode() != 200) {
+                    return getErrorResponse(response, FindJiraIssuesResponse::error);
+                }
+                return FindJiraIssuesResponse.success(JiraResponseDecoders.decodePicker(response.body()));
             }
-            return FindJiraIssuesResponse.error(ExceptionUtils.getRootCauseMessage(e));
+        );
+    }
+
+    @SuppressWarnings("java:S107")
+    private void findIssuesPage(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final String jql,
+            final int startAt,
+            final int limit,
+            final Consumer<NavigableSet<JiraIssue>> onPage,
+            final String[] fields,
+            final NavigableSet<JiraIssue> found,
+            final CompletableFuture<FindJiraIssuesResponse> result
+    ) {
+        if (result.isDone()) {
+            return;
         }
+        final HttpRequest request =
+            HttpRequest
+                .newBuilder()
+                .uri(
+                    URI.create(
+                        jiraUrl +
+                            (jiraUrl.endsWith("/") ? "" : "/") +
+                            "rest/api/2/search?" +
+                            "jql=" + jql + "&" +
+                            "startAt=" + startAt + "&" +
+                            "maxResults=" + Math.min(SEARCH_PAGE_SIZE, limit - startAt) + "&" +
+                            "fields=" + (fields.length == 0 ? DEFAULT_FIELDS : String.join(",", fields))
+                    )
+                )
+                .header(HttpHeaders.AUTHORIZATION, getAuthorization(email, password, jiraUrl))
+                .build();
+        final CompletableFuture<FindJiraIssuesResponse> page = sendAsync(
+            request,
+            HttpResponse.BodyHandlers.ofInputStream(),
+            "Error searching Jira issues",
+            FindJiraIssuesResponse::error,
+            response -> {
+                if (response.statusCode() != 200) {
+                    return getErrorResponse(response, FindJiraIssuesResponse::error);
+                }
+                final JiraResponseDecoders.SearchPage decoded = JiraResponseDecoders.decodeSearch(response.body());
+                found.addAll(decoded.issues());
+                onPage.accept(decoded.issues());
+                final int nextStartAt = startAt + decoded.count();
+                if (
+                    decoded.count() == 0 ||
+                    decoded.total() == null ||
+                    nextStartAt >= decoded.total() ||
+                    nextStartAt >= limit
+                ) {
+                    return FindJiraIssuesResponse.success(found);
+                }
+                findIssuesPage(jiraUrl, email, password, jql, nextStartAt, limit, onPage, fields, found, result);
+                return null;
+            }
+        );
+        cancelling(page, result);
+        page.thenAccept(
+            response -> {
+                // null means next page is requested
+                if (response != null) {
+                    result.complete(response);
+                }
+            }
+        );
     }
 
     public TodayWorklogSummaryResponse getTodayWorklogSummary(
@@ -172,20 +876,265 @@ public class JiraClient {
             final WorklogGatherStrategyEnum gatherType,
             final HowToDetermineWhenUserStartedWorkingOnIssue how
     ) {
-        if (authorizeWithMap.get(new AuthorizeWithKey(email, jiraUrl)) == null) {
-            final AuthorizationResult authorizationResult = probeAuth(jiraUrl, email, password);
-            if (authorizationResult == AuthorizationResult.CAPTCHA) {
-                return TodayWorklogSummaryResponse.error(
-                        "Please solve the captcha on your Jira login page, then try again"
+        return await(
+            getTodayWorklogSummaryAsync(jiraUrl, email, password, gatherType, how),
+            TodayWorklogSummaryResponse::error
+        );
+    }
+
+    public CompletableFuture<TodayWorklogSummaryResponse> getTodayWorklogSummaryAsync(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final WorklogGatherStrategyEnum gatherType,
+            final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        return core.getSummaryFlights().execute(
+            Arrays.asList(
+                jiraUrl,
+                credentialsHash(email, password),
+                gatherType,
+                how,
+                LocalDate.now(core.getClock())
+            ),
+            () -> {
+                final CompletableFuture<TodayWorklogSummaryResponse> summary = timed(
+                    JiraRequestStats.gather(gatherType),
+                    authorizedAsync(
+                        jiraUrl,
+                        email,
+                        password,
+                        () -> gatherType.create(this).getAsync(jiraUrl, email, password, how),
+                        TodayWorklogSummaryResponse::error,
+                        true
+                    )
+                );
+                return cancelling(
+                    summary,
+                    summary.thenApply(
+                        response -> {
+                            if (StringUtils.isBlank(response.getError())) {
+                                core.getWorklogDiskCache().putDayWorklogs(
+                                    jiraUrl,
+                                    email,
+                                    LocalDate.now(core.getClock()),
+                                    new WorklogDiskCache.DayEntry(
+                                        how,
+                                        response.getWorklogs().stream().map(CachedWorklog::of).toList(),
+                                        false
+                                    )
+                                );
+                            }
+                            return response;
+                        }
+                    )
                 );
             }
+        );
+    }
+
+    /**
+     * Worklogs of the user from {@code startDate} to {@code endDate} inclusive, grouped by day.
+     * Days, that were over when their worklogs were fetched, are served from disk cache without requests to Jira.
+     * The rest of the range is fetched at once, if {@code gatherType} {@link WorklogGatherStrategy#canGatherPastDays() can do it}
+     */
+    @SuppressWarnings("java:S107")
+    public CompletableFuture<DailyWorklogsResponse> getDailyWorklogsAsync(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final WorklogGatherStrategyEnum gatherType,
+            final LocalDate startDate,
+            final LocalDate endDate,
+            final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        final LocalDate today = LocalDate.now(core.getClock());
+        final TreeMap<LocalDate, List<JiraWorklog>> cached = new TreeMap<>();
+        LocalDate fetchFrom = null;
+        LocalDate fetchTo = null;
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            final WorklogDiskCache.DayEntry entry = day.isBefore(today) ?
+                                                    core.getWorklogDiskCache().getDayWorklogs(jiraUrl, email, day) :
+                                                    null;
+            if (entry != null && entry.complete() && entry.how() == how) {
+                cached.put(day, entry.worklogs().stream().map(worklog -> worklog.toJiraWorklog(LEAVE_AS_IS, core.getClock().getZone())).toList());
+            } else {
+                fetchFrom = fetchFrom == null ? day : fetchFrom;
+                fetchTo = day;
+            }
+        }
+        if (fetchFrom == null) {
+            return CompletableFuture.completedFuture(DailyWorklogsResponse.success(cached));
         }
-        return gatherType.create(this).get(jiraUrl, email, password, how);
+        final LocalDate from = fetchFrom;
+        final LocalDate to = fetchTo;
+        final CompletableFuture<DailyWorklogsResponse> fetched = core.getDailyFlights().execute(
+            Arrays.asList(jiraUrl, credentialsHash(email, password), gatherType, how, from, to, today),
+            () -> timed(
+                "gather days " + gatherType,
+                authorizedAsync(
+                    jiraUrl,
+                    email,
+                    password,
+                    () -> gatherType.create(this).getAsync(jiraUrl, email, password, from, to, how),
+                    DailyWorklogsResponse::error,
+                    true
+                )
+            )
+        );
+        return cancelling(
+            fetched,
+            fetched.thenApply(
+                response -> {
+                    if (!StringUtils.isBlank(response.getError())) {
+                        return response;
+                    }
+                    for (final Map.Entry<LocalDate, List<JiraWorklog>> day : response.getWorklogs().entrySet()) {
+                        core.getWorklogDiskCache().putDayWorklogs(
+                            jiraUrl,
+                            email,
+                            day.getKey(),
+                            new WorklogDiskCache.DayEntry(
+                                how,
+                                day.getValue().stream().map(CachedWorklog::of).toList(),
+                                day.getKey().isBefore(today)
+                            )
+                        );
+                    }
+                    final TreeMap<LocalDate, List<JiraWorklog>> merged = new TreeMap<>(cached);
+                    merged.putAll(response.getWorklogs());
+                    return DailyWorklogsResponse.success(merged);
+                }
+            )
+        );
     }
 
-    private AuthorizationResult probeAuth(final String jiraUrl, final String email, final String password) {
+    /**
+     * Sends {@code request}, once authorization is known (it's probed, unless it's remembered)
+     *
+     * @param reprobe whether to probe authorization again and retry, if remembered one was rejected
+     */
+    @SuppressWarnings("java:S107")
+    private <R extends JiraResponse> CompletableFuture<R> authorizedAsync(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final Supplier<CompletableFuture<R>> request,
+            final Function<String, R> errorFactory,
+            final boolean reprobe
+    ) {
+        final boolean remembered = findAuthorizeWith(email, jiraUrl) != null;
+        final CompletableFuture<AuthorizationResult> auth;
+        if (remembered) {
+            auth = CompletableFuture.completedFuture(AuthorizationResult.OK);
+        } else {
+            auth = probeAuthAsync(jiraUrl, email, password);
+        }
+        final CompletableFuture<R> result = cancelling(auth, new CompletableFuture<>());
+        auth.whenComplete(
+            (authorizationResult, authError) -> {
+                if (authError != null) {
+                    result.completeExceptionally(authError);
+                    return;
+                }
+                if (authorizationResult == AuthorizationResult.CAPTCHA) {
+                    result.complete(
+                        errorFactory.apply("Please solve the captcha on your Jira login page, then try again")
+                    );
+                    return;
+                }
+                if (result.isDone()) {
+                    return;
+                }
+                final CompletableFuture<R> response = request.get();
+                cancelling(response, result);
+                response.whenComplete(
+                    (received, responseError) -> {
+                        if (responseError != null) {
+                            result.completeExceptionally(responseError);
+                            return;
+                        }
+                        if (
+                            remembered &&
+                            reprobe &&
+                            !StringUtils.isBlank(received.getError()) &&
+                            findAuthorizeWith(email, jiraUrl) == null
+                        ) {
+                            // remembered authorization was rejected with 401 (e.g. password or Jira settings changed)
+                            final CompletableFuture<R> retry = authorizedAsync(
+                                jiraUrl,
+                                email,
+                                password,
+                                request,
+                                errorFactory,
+                                false
+                            );
+                            cancelling(retry, result);
+                            retry.whenComplete(
+                                (retried, retryError) -> {
+                                    if (retryError != null) {
+                                        result.completeExceptionally(retryError);
+                                    } else {
+                                        result.complete(retried);
+                                    }
+                                }
+                            );
+                            return;
+                        }
+                        result.complete(received);
+                    }
+                );
+            }
+        );
+        return result;
+    }
+
+    /**
+     * Same as {@link #getCachedTodayWorklogSummary}, but reads disk cache in background, so it can be called from EDT.
+     * Returned future completes with null, if there is no cached summary for today
+     */
+    public CompletableFuture<TodayWorklogSummaryResponse> getCachedTodayWorklogSummaryAsync(
+        final String jiraUrl,
+        final String email,
+        final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        return CompletableFuture.supplyAsync(
+            () -> getCachedTodayWorklogSummary(jiraUrl, email, how),
+            AppExecutorUtil.getAppExecutorService()
+        );
+    }
+
+    /**
+     * Today worklog summary as it was returned by {@link #getTodayWorklogSummary} last time (possibly before IDE restart)
+     *
+     * @return null, if there is no cached summary for today
+     */
+    @Nullable
+    public TodayWorklogSummaryResponse getCachedTodayWorklogSummary(
+        final String jiraUrl,
+        final String email,
+        final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        final WorklogDiskCache.DayEntry entry = core.getWorklogDiskCache().getDayWorklogs(
+            jiraUrl,
+            email,
+            LocalDate.now(core.getClock())
+        );
+        if (entry == null || entry.how() != how) {
+            return null;
+        }
+        return TodayWorklogSummaryResponse.success(
+            entry.worklogs().stream().map(worklog -> worklog.toJiraWorklog(LEAVE_AS_IS, core.getClock().getZone())).toList()
+        );
+    }
+
+    private CompletableFuture<AuthorizationResult> probeAuthAsync(
+        final String jiraUrl,
+        final String email,
+        final String password
+    ) {
         if (!email.contains("@")) {
-            authorizeWithMap.put(new AuthorizeWithKey(email, jiraUrl), AuthorizeWith.USERNAME);
+            rememberAuthorizeWith(email, jiraUrl, AuthorizeWith.USERNAME);
         }
         final URI uri = URI.create(
                 jiraUrl + (jiraUrl.endsWith("/") ? "" : "/") + "rest/api/2/search?maxResults=0&fields=key"
@@ -193,51 +1142,79 @@ public class JiraClient {
         final String emailAuth = "Basic " + Base64.getEncoder().encodeToString(
                 (email + ":" + password).getBytes(StandardCharsets.UTF_8)
         );
-        AuthorizationResult result = probeAuth(uri, emailAuth);
-        if (result == AuthorizationResult.OK) {
-            authorizeWithMap.put(
-                    new AuthorizeWithKey(email, jiraUrl),
-                    email.contains("@") ? AuthorizeWith.EMAIL : AuthorizeWith.USERNAME
-            );
-            return AuthorizationResult.OK;
-        } else if (result == AuthorizationResult.CAPTCHA) {
-            return AuthorizationResult.CAPTCHA;
-        } else if (email.contains("@")) {
+        final CompletableFuture<AuthorizationResult> emailProbe = probeAuthAsync(uri, emailAuth);
+        // both probes are sent at once, so username authorization doesn't cost extra round trip
+        final CompletableFuture<AuthorizationResult> usernameProbe;
+        if (email.contains("@")) {
             final String usernameAuth = "Basic " + Base64.getEncoder().encodeToString(
                     (EmailUtils.getUsername(email) + ":" + password).getBytes(StandardCharsets.UTF_8)
             );
-            result = probeAuth(uri, usernameAuth);
-            if (result == AuthorizationResult.OK) {
-                authorizeWithMap.put(new AuthorizeWithKey(email, jiraUrl), AuthorizeWith.USERNAME);
-                return AuthorizationResult.OK;
-            } else if (result == AuthorizationResult.CAPTCHA) {
-                return AuthorizationResult.CAPTCHA;
-            }
+            usernameProbe = probeAuthAsync(uri, usernameAuth);
+        } else {
+            usernameProbe = CompletableFuture.completedFuture(AuthorizationResult.ERROR);
         }
-        logger.warn("Can't authorize user with neither email nor username");
-        return AuthorizationResult.ERROR;
+        final CompletableFuture<AuthorizationResult> result = emailProbe.thenCompose(
+            emailResult -> {
+                // email is preferred, so username probe result is used only if email is not accepted
+                if (emailResult == AuthorizationResult.OK) {
+                    usernameProbe.cancel(true);
+                    rememberAuthorizeWith(
+                            email,
+                            jiraUrl,
+                            email.contains("@") ? AuthorizeWith.EMAIL : AuthorizeWith.USERNAME
+                    );
+                    return CompletableFuture.completedFuture(AuthorizationResult.OK);
+                } else if (emailResult == AuthorizationResult.CAPTCHA || !email.contains("@")) {
+                    usernameProbe.cancel(true);
+                    return CompletableFuture.completedFuture(emailResult);
+                }
+                return usernameProbe.thenApply(
+                    usernameResult -> {
+                        if (usernameResult == AuthorizationResult.OK) {
+                            rememberAuthorizeWith(email, jiraUrl, AuthorizeWith.USERNAME);
+                        }
+                        return usernameResult;
+                    }
+                );
+            }
+        ).thenApply(
+            authorizationResult -> {
+                if (authorizationResult == AuthorizationResult.ERROR) {
+                    logger.warn("Can't authorize user with neither email nor username");
+                }
+                return authorizationResult;
+            }
+        );
+        cancelling(usernameProbe, result);
+        return cancelling(emailProbe, result);
     }
 
-    private AuthorizationResult probeAuth(final URI uri, final String authorization) {
+    private CompletableFuture<AuthorizationResult> probeAuthAsync(final URI uri, final String authorization) {
         final HttpRequest build = HttpRequest
                 .newBuilder()
                 .uri(uri)
                 .header(HttpHeaders.AUTHORIZATION, authorization)
                 .build();
-        try {
-            final HttpResponse<Void> response = httpClient.send(build, HttpResponse.BodyHandlers.discarding());
-            if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                return AuthorizationResult.OK;
-            } else if (captchaRequested(response)) {
-                return AuthorizationResult.CAPTCHA;
-            }
-        } catch (IOException | InterruptedException e) {
-            logger.error("Error searching Jira issues", e);
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
-            }
-        }
-        return AuthorizationResult.ERROR;
+        final CompletableFuture<HttpResponse<Void>> exchange = sendAsync(build, HttpResponse.BodyHandlers.discarding());
+        return cancelling(
+            exchange,
+            exchange.handle(
+                (response, e) -> {
+                    if (e != null) {
+                        if (ExceptionUtils.indexOfType(e, CancellationException.class) == -1) {
+                            logger.error("Error searching Jira issues", e);
+                        }
+                        return AuthorizationResult.ERROR;
+                    }
+                    if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                        return AuthorizationResult.OK;
+                    } else if (captchaRequested(response)) {
+                        return AuthorizationResult.CAPTCHA;
+                    }
+                    return AuthorizationResult.ERROR;
+                }
+            )
+        );
     }
 
     public FindJiraWorklogsResponse findWorklogs(
@@ -247,42 +1224,332 @@ public class JiraClient {
         @NotNull final String issue,
         @NotNull final HowToDetermineWhenUserStartedWorkingOnIssue how
     ) {
-        try {
-            final HttpResponse<InputStream> response = httpClient.send(
-                HttpRequest
-                        .newBuilder()
-                        .uri(
-                                URI.create(
-                                        jiraUrl +
-                                                (jiraUrl.endsWith("/") ? "" : "/") +
-                                                "rest/api/2/issue/" + issue + "/worklog"
-                                )
-                        )
-                        .header(HttpHeaders.AUTHORIZATION, getAuthorization(email, password, jiraUrl))
-                        .build(),
-                HttpResponse.BodyHandlers.ofInputStream()
+        return findWorklogs(jiraUrl, email, password, issue, null, null, how);
+    }
+
+    /**
+     * Same as {@link #findWorklogs(String, String, String, String, HowToDetermineWhenUserStartedWorkingOnIssue)},
+     * but only worklogs with 'Started' within given window are returned
+     */
+    @SuppressWarnings("java:S107")
+    public FindJiraWorklogsResponse findWorklogs(
+        @NotNull final String jiraUrl,
+        @NotNull final String email,
+        @NotNull final String password,
+        @NotNull final String issue,
+        @Nullable final Instant startedAfter,
+        @Nullable final Instant startedBefore,
+        @NotNull final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        return await(
+            findWorklogsAsync(jiraUrl, email, password, issue, null, null, startedAfter, startedBefore, how),
+            FindJiraWorklogsResponse::error
+        );
+    }
+
+    /**
+     * Non-blocking variant of {@link #findWorklogs}, used to fetch worklogs of several issues concurrently.<br><br>
+     * Worklogs are cached on disk, if {@code issueUpdated} matches 'updated' field of the issue,
+     * when worklogs were cached, they are returned without any request.
+     * Otherwise, cached worklogs are revalidated with {@code If-None-Match}/{@code If-Modified-Since}.<br><br>
+     * Window is passed to Jira ({@code startedAfter}/{@code startedBefore}), but Jira Server ignores it,
+     * so worklogs are also filtered here. If there are several pages, they are requested from the last one
+     * (most recent worklogs), until page with worklogs started before {@code startedAfter} is met
+     *
+     * @param issueUpdated  current value of issue's 'updated' field, if known
+     * @param worklogsTotal number of worklogs of the issue, if known (e.g. from worklogs embedded in search response),
+     *                      so the last page is requested right away
+     * @param startedAfter  only worklogs started at or after it are returned, if not null
+     * @param startedBefore only worklogs started at or before it are returned, if not null
+     */
+    @SuppressWarnings("java:S107")
+    public CompletableFuture<FindJiraWorklogsResponse> findWorklogsAsync(
+        @NotNull final String jiraUrl,
+        @NotNull final String email,
+        @NotNull final String password,
+        @NotNull final String issue,
+        @Nullable final String issueUpdated,
+        @Nullable final Integer worklogsTotal,
+        @Nullable final Instant startedAfter,
+        @Nullable final Instant startedBefore,
+        @NotNull final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        final WorklogsQuery query = new WorklogsQuery(
+            jiraUrl,
+            email,
+            password,
+            issue,
+            issueUpdated,
+            worklogsTotal,
+            startedAfter == null ? null : startedAfter.toEpochMilli(),
+            startedBefore == null ? null : startedBefore.toEpochMilli()
+        );
+        return core.getWorklogsFlights().execute(
+            Arrays.asList(
+                jiraUrl,
+                credentialsHash(email, password),
+                issue,
+                issueUpdated,
+                query.startedAfter(),
+                query.startedBefore(),
+                how
+            ),
+            () -> doFindWorklogsAsync(query, how)
+        );
+    }
+
+    private CompletableFuture<FindJiraWorklogsResponse> doFindWorklogsAsync(
+        final WorklogsQuery query,
+        final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        final WorklogDiskCache.IssueEntry cached = core.getWorklogDiskCache().getIssueWorklogs(query.jiraUrl(), query.issue());
+        if (
+            cached != null &&
+            query.issueUpdated() != null &&
+            query.issueUpdated().equals(cached.updated()) &&
+            cached.covers(query.startedAfter(), query.startedBefore())
+        ) {
+            return CompletableFuture.completedFuture(FindJiraWorklogsResponse.success(toJiraWorklogs(cached, query, how)));
+        }
+        final CompletableFuture<FindJiraWorklogsResponse> result = new CompletableFuture<>();
+        final Integer worklogsTotal = query.worklogsTotal();
+        if (
+            worklogsTotal != null &&
+            worklogsTotal > WORKLOGS_PAGE_SIZE &&
+            // if Jira applies the window, pages of all worklogs are meaningless
+            (!query.hasWindow() || Boolean.FALSE.equals(core.getAppliesStartedWindow().get(query.jiraUrl())))
+        ) {
+            // validators of multi-page response are not cached, so there is nothing to revalidate
+            findWorklogsPage(
+                query,
+                how,
+                null,
+                worklogsTotal - WORKLOGS_PAGE_SIZE,
+                WORKLOGS_PAGE_SIZE,
+                0,
+                0,
+                new ArrayList<>(),
+                result
             );
-            if (response.statusCode() != 200) {
-                return getErrorResponse(response, FindJiraWorklogsResponse::error);
+            return result;
+        }
+        // validators of the response with another window are meaningless
+        final WorklogDiskCache.IssueEntry revalidated =
+            cached != null &&
+            Objects.equals(cached.startedAfter(), query.startedAfter()) &&
+            Objects.equals(cached.startedBefore(), query.startedBefore()) ?
+            cached :
+            null;
+        findWorklogsPage(query, how, revalidated, 0, WORKLOGS_PAGE_SIZE, 0, 0, new ArrayList<>(), result);
+        return result;
+    }
+
+    /**
+     * @param stopAt   requests of earlier pages stop there: number of worklogs in the first page, if it was requested
+     * @param pageSize size of the following pages: number of worklogs Jira returned in the first received page.
+     *                 0 means no page is received yet, so the page is either the first one,
+     *                 or the last one, if its {@code startAt} was determined by number of worklogs found in search
+     */
+    @SuppressWarnings("java:S107")
+    private void findWorklogsPage(
+        final WorklogsQuery query,
+        final HowToDetermineWhenUserStartedWorkingOnIssue how,
+        @Nullable final WorklogDiskCache.IssueEntry cached,
+        final int startAt,
+        final int maxResults,
+        final int stopAt,
+        final int pageSize,
+        final List<CachedWorklog> found,
+        final CompletableFuture<FindJiraWorklogsResponse> result
+    ) {
+        if (result.isDone()) {
+            return;
+        }
+        final CompletableFuture<FindJiraWorklogsResponse> page = sendAsync(
+            findWorklogsRequest(query, startAt, maxResults, startAt == 0 ? cached : null),
+            HttpResponse.BodyHandlers.ofInputStream(),
+            "Error getting worklogs for issue " + query.issue(),
+            FindJiraWorklogsResponse::error,
+            response -> {
+                try (InputStream body = response.body()) {
+                    if (response.statusCode() == 304 && startAt == 0 && cached != null) {
+                        if (query.issueUpdated() != null) {
+                            core.getWorklogDiskCache().putIssueWorklogs(
+                                query.jiraUrl(),
+                                query.issue(),
+                                cached.withUpdated(query.issueUpdated())
+                            );
+                        }
+                        return FindJiraWorklogsResponse.success(toJiraWorklogs(cached, query, how));
+                    }
+                    if (response.statusCode() != 200) {
+                        return getErrorResponse(
+                            response,
+                            error -> FindJiraWorklogsResponse.error(
+                                error,
+                                response.statusCode(),
+                                credentialsRejected(response)
+                            )
+                        );
+                    }
+                    final JiraResponseDecoders.WorklogPage decoded = JiraResponseDecoders.decodeWorklogPage(
+                        query.issue(),
+                        body
+                    );
+                    final int count = decoded.worklogs().size();
+                    final Integer total = decoded.total();
+                    final boolean first = pageSize == 0;
+                    if (first && query.hasWindow() && query.worklogsTotal() != null && total != null) {
+                        core.getAppliesStartedWindow().put(query.jiraUrl(), total < query.worklogsTotal());
+                    }
+                    if (first && startAt > 0 && (total == null || count == 0 || startAt + count != total)) {
+                        // page doesn't end with the last worklog: Jira returned fewer worklogs than requested,
+                        // the window leaves fewer worklogs than search found, or worklogs were added since
+                        final int tailStartAt = total == null ? 0 : Math.max(0, total - WORKLOGS_PAGE_SIZE);
+                        findWorklogsPage(
+                            query,
+                            how,
+                            null,
+                            // the same page again means Jira limits page size, so pages are requested from the start
+                            tailStartAt == startAt ? 0 : tailStartAt,
+                            WORKLOGS_PAGE_SIZE,
+                            0,
+                            0,
+                            found,
+                            result
+                        );
+                        return null;
+                    }
+                    found.addAll(decoded.worklogs());
+                    // Jira may return fewer worklogs than requested, so size of the first page is used as page size
+                    final int nextPageSize = first ? count : pageSize;
+                    final int nextStopAt = first && startAt == 0 ? count : stopAt;
+                    final int nextStartAt;
+                    if (first && startAt == 0) {
+                        nextStartAt = total == null || count == 0 || count >= total ?
+                                      -1 :
+                                      Math.max(count, total - count);
+                    } else {
+                        nextStartAt = startAt <= stopAt || count == 0 || startedBeforeWindow(decoded, query) ?
+                                      -1 :
+                                      Math.max(stopAt, startAt - nextPageSize);
+                    }
+                    if (nextStartAt == -1) {
+                        // validators identify single response, not several pages
+                        final boolean single = first && startAt == 0;
+                        final WorklogDiskCache.IssueEntry entry = new WorklogDiskCache.IssueEntry(
+                            query.issueUpdated(),
+                            single ? response.headers().firstValue(HttpHeaders.ETAG).orElse(null) : null,
+                            single ? response.headers().firstValue(HttpHeaders.LAST_MODIFIED).orElse(null) : null,
+                            found.stream().filter(worklog -> query.contains(worklog.started())).toList(),
+                            query.startedAfter(),
+                            query.startedBefore()
+                        );
+                        core.getWorklogDiskCache().putIssueWorklogs(query.jiraUrl(), query.issue(), entry);
+                        return FindJiraWorklogsResponse.success(toJiraWorklogs(entry, query, how));
+                    }
+                    findWorklogsPage(
+                        query,
+                        how,
+                        null,
+                        nextStartAt,
+                        (first && startAt == 0 ? total : startAt) - nextStartAt,
+                        nextStopAt,
+                        nextPageSize,
+                        found,
+                        result
+                    );
+                    return null;
+                }
             }
-            //noinspection unchecked
-            final Map<String, Object> map = OBJECT_MAPPER.readValue(response.body(), Map.class);
-            return FindJiraWorklogsResponse.success(convertWorklogs(issue, map, how));
-        } catch (IOException | InterruptedException e) {
-            logger.error("Error getting worklogs for issue " + issue, e);
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
+        );
+        cancelling(page, result);
+        page.thenAccept(
+            response -> {
+                // null means next page is requested
+                if (response != null) {
+                    result.complete(response);
+                }
             }
-            throw new IllegalStateException(e);
+        );
+    }
+
+    /**
+     * Worklogs are returned in order they were added, so once all worklogs of a page started before the window,
+     * earlier pages are unlikely to contain worklogs within it
+     */
+    private static boolean startedBeforeWindow(
+        final JiraResponseDecoders.WorklogPage page,
+        final WorklogsQuery query
+    ) {
+        return query.startedAfter() != null &&
+               page.worklogs().stream().allMatch(worklog -> worklog.started() < query.startedAfter());
+    }
+
+    private HttpRequest findWorklogsRequest(
+        final WorklogsQuery query,
+        final int startAt,
+        final int maxResults,
+        @Nullable final WorklogDiskCache.IssueEntry cached
+    ) {
+        final String jiraUrl = query.jiraUrl();
+        final HttpRequest.Builder builder = HttpRequest
+            .newBuilder()
+            .uri(
+                URI.create(
+                    jiraUrl +
+                        (jiraUrl.endsWith("/") ? "" : "/") +
+                        "rest/api/2/issue/" + query.issue() + "/worklog?" +
+                        "startAt=" + startAt + "&" +
+                        "maxResults=" + maxResults +
+                        (query.startedAfter() == null ? "" : "&startedAfter=" + query.startedAfter()) +
+                        (query.startedBefore() == null ? "" : "&startedBefore=" + query.startedBefore())
+                )
+            )
+            .header(HttpHeaders.AUTHORIZATION, getAuthorization(query.email(), query.password(), jiraUrl));
+        if (cached != null && cached.etag() != null) {
+            builder.header(HttpHeaders.IF_NONE_MATCH, cached.etag());
+        }
+        if (cached != null && cached.lastModified() != null) {
+            builder.header(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Identifies credentials in keys of coalesced requests, without keeping the password itself
+     */
+    private static String credentialsHash(final String email, final String password) {
+        return Hashing.sha256().hashString(email + ":" + password, StandardCharsets.UTF_8).toString();
+    }
+
+    private List<JiraWorklog> toJiraWorklogs(
+        final WorklogDiskCache.IssueEntry entry,
+        final WorklogsQuery query,
+        final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        final List<JiraWorklog> result = new ArrayList<>(entry.worklogs().size());
+        for (final CachedWorklog worklog : entry.worklogs()) {
+            if (query.contains(worklog.started())) {
+                result.add(worklog.toJiraWorklog(how, core.getClock().getZone()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Max number of concurrent requests, when fetching worklogs of several issues
+     */
+    public int getWorklogFetchConcurrency() {
+        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
+        synchronized (state) {
+            return Math.max(1, state.getWorklogFetchConcurrency());
         }
     }
 
     @NotNull
     public String getAuthorization(final String email, final String password, final String jiraUrl) {
-        final AuthorizeWith authorizeWith = authorizeWithMap.getOrDefault(
-                new AuthorizeWithKey(email, jiraUrl),
-                AuthorizeWith.EMAIL
-        );
+        final AuthorizeWith authorizeWith = getAuthorizeWith(email, jiraUrl);
         final String auth;
         if (authorizeWith == AuthorizeWith.EMAIL) {
             auth = email;
@@ -314,12 +1581,8 @@ public class JiraClient {
     }
 
     @NotNull
-    private static URI addWorklogUri(
-            final @NotNull String jiraUrl,
-            final @NotNull JiraIssue issue,
-            final @Nullable AdjustEstimate adjustEstimate,
-            final @Nullable Duration adjustmentDuration
-    ) {
+    private static URI addWorklogUri(final @NotNull PendingWorklog worklog) {
+        final AdjustEstimate adjustEstimate = worklog.adjustEstimate();
         final String adjustEstimatePart;
         if (adjustEstimate == null) {
             adjustEstimatePart = "";
@@ -328,70 +1591,22 @@ public class JiraClient {
                     adjustEstimate.getAdjustmentDurationQueryParameter() == null
                     ? ""
                     : "&" + adjustEstimate.getAdjustmentDurationQueryParameter() + "=" + URLEncoder.encode(
-                            formatAsJiraDuration(Objects.requireNonNull(adjustmentDuration)),
+                            formatAsJiraDuration(
+                                Duration.ofSeconds(Objects.requireNonNull(worklog.adjustmentDurationSeconds()))
+                            ),
                             StandardCharsets.UTF_8
                     );
             adjustEstimatePart = "adjustEstimate=" + adjustEstimate.getId() + adjustmentDurationPart;
         }
+        final String jiraUrl = worklog.jiraUrl();
         return URI.create(
                 jiraUrl +
                         (jiraUrl.endsWith("/") ? "" : "/") +
-                        "rest/api/2/issue/" + issue.getKey() + "/worklog?" +
+                        "rest/api/2/issue/" + worklog.issue() + "/worklog?" +
                         adjustEstimatePart
         );
     }
 
-    @NotNull
-    private HttpRequest.BodyPublisher addWorklogBody(
-            final @NotNull Duration timeSpent,
-            final @Nullable String comment,
-            final @NotNull HowToDetermineWhenUserStartedWorkingOnIssue how
-    ) throws JsonProcessingException {
-        return HttpRequest.BodyPublishers.ofString(
-                OBJECT_MAPPER.writeValueAsString(
-                        new AddWorklogRequest(
-                                project.getName(),
-                                Duration.ofMinutes(timeSpent.toMinutes()).toSeconds(),
-                                comment,
-                                LocalDateTime
-                                        .now(Clock.systemUTC())
-                                        .minus(how == LEAVE_AS_IS ? timeSpent : Duration.ZERO)
-                                        .format(ADD_WORKLOG_STARTED_FORMAT)
-                        )
-                ),
-                StandardCharsets.UTF_8
-        );
-    }
-
-    @SuppressWarnings("unchecked")
-    private NavigableSet<JiraIssue> convert(final List<Map<String, Object>> issues) {
-        final NavigableSet<JiraIssue> result = new TreeSet<>(Comparator.naturalOrder());
-        for (final Map<String, Object> issue : issues) {
-            final Map<String, Object> fields = (Map<String, Object>) issue.get("fields");
-            final Map<String, Object> issueType = fields == null ? null : (Map<String, Object>) fields.get("issuetype");
-            result.add(
-                new JiraIssue(
-                    (String) issue.get("key"),
-                    fields == null ? null : (String) fields.get("summary"),
-                    issueType == null ? null : (String) issueType.get("name"),
-                    fields == null || fields.get("timeestimate") == null ?
-                        null :
-                        ((Number) fields.get("timeestimate")).intValue(),
-                    fields == null || fields.get("assignee") == null ?
-                        null :
-                        (String) ((Map<String, Object>) fields.get("assignee")).get("key"),
-                    fields == null || fields.get("status") == null ?
-                        null :
-                        new JiraIssue.Status(
-                            (String) ((Map<String, Object>) fields.get("status")).get("id"),
-                            (String) ((Map<String, Object>) fields.get("status")).get("name")
-                        )
-                )
-            );
-        }
-        return result;
-    }
-
     private String toJql(final JiraIssue.Criteria criteria) {
         final List<String> conditions = new ArrayList<>();
         if (!StringUtils.isBlank(criteria.getKey())) {
@@ -406,7 +1621,11 @@ public class JiraClient {
         if (criteria.getWorklogDate() != null) {
             conditions.add("worklogDate=" + criteria.getWorklogDate());
         }
-        return String.join(" and ", conditions);
+        if (criteria.getIds() != null && !criteria.getIds().isEmpty()) {
+            conditions.add("id in (" + String.join(",", criteria.getIds()) + ")");
+        }
+        // stable order, so pages don't overlap
+        return String.join(" and ", conditions) + " order by key desc";
     }
 
     private String escapeJql(final String str) {
@@ -426,37 +1645,106 @@ public class JiraClient {
         return res.toString();
     }
 
-    private List<JiraWorklog> convertWorklogs(
-        final String issue,
-        final Map<String, Object> map,
-        final HowToDetermineWhenUserStartedWorkingOnIssue how
-    ) {
-        //noinspection unchecked
-        final List<Map<String, Object>> worklogs = (List<Map<String, Object>>) map.get("worklogs");
-        final List<JiraWorklog> result = new ArrayList<>(worklogs.size());
-        for (final Map<String, Object> worklog : worklogs) {
-            final String started = (String) worklog.get("started");
-            final Number timeSpentSeconds = (Number) worklog.get("timeSpentSeconds");
-            //noinspection unchecked
-            final Map<String, Object> author = (Map<String, Object>) worklog.get("author");
-            result.add(
-                new JiraWorklog(
-                    started == null ?
-                    null :
-                    OffsetDateTime.parse(started.substring(0, 19) + "+" + started.substring(24, 26) + ":" + started.substring(26)).toZonedDateTime(),
-                    timeSpentSeconds == null ? null : Duration.ofSeconds(timeSpentSeconds.longValue()),
-                    issue,
-                    (String) worklog.get("comment"),
-                    author == null ? null : (String) author.get("emailAddress"),
-                    how
-                )
-            );
+    public AuthorizeWith getAuthorizeWith(final String email, final String jiraUrl) {
+        return Objects.requireNonNullElse(findAuthorizeWith(email, jiraUrl), AuthorizeWith.EMAIL);
+    }
+
+    /**
+     * @return false, if Jira rejected authorization of the user (or it was never probed)
+     */
+    public boolean hasAuthorization(final String email, final String jiraUrl) {
+        return findAuthorizeWith(email, jiraUrl) != null;
+    }
+
+    /**
+     * Authorization resolved by probing, possibly in previous IDE session
+     *
+     * @return null, if authorization should be probed
+     */
+    @Nullable
+    private AuthorizeWith findAuthorizeWith(final String email, final String jiraUrl) {
+        final AuthorizeWithKey key = new AuthorizeWithKey(email, jiraUrl);
+        final AuthorizeWith authorizeWith = core.getAuthorizeWith().get(key);
+        if (authorizeWith != null) {
+            return authorizeWith;
+        }
+        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
+        final String persisted;
+        synchronized (state) {
+            if (core.getRejectedAuthorizeWith().contains(key)) {
+                // rejected while persisted by this project
+                state.getAuthorizeWith().remove(key.persistentKey());
+                return null;
+            }
+            persisted = state.getAuthorizeWith().get(key.persistentKey());
+        }
+        if (persisted == null) {
+            return null;
+        }
+        try {
+            final AuthorizeWith loaded = AuthorizeWith.valueOf(persisted);
+            core.getAuthorizeWith().putIfAbsent(key, loaded);
+            return loaded;
+        } catch (final IllegalArgumentException e) {
+            return null;
         }
-        return result;
     }
 
-    public AuthorizeWith getAuthorizeWith(final String email, final String jiraUrl) {
-        return authorizeWithMap.getOrDefault(new AuthorizeWithKey(email, jiraUrl), AuthorizeWith.EMAIL);
+    private void rememberAuthorizeWith(final String email, final String jiraUrl, final AuthorizeWith authorizeWith) {
+        final AuthorizeWithKey key = new AuthorizeWithKey(email, jiraUrl);
+        core.getAuthorizeWith().put(key, authorizeWith);
+        core.getRejectedAuthorizeWith().remove(key);
+        // issues found with previous credentials may be not visible with new ones
+        core.getIssueSearchCache().invalidateUser(jiraUrl, email);
+        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
+        synchronized (state) {
+            state.getAuthorizeWith().put(key.persistentKey(), authorizeWith.name());
+        }
+    }
+
+    /**
+     * Forgets authorization, {@code request} was rejected with, so it is probed again next time.
+     * Other projects forget it too, even if they persisted it
+     */
+    private void forgetAuthorizeWith(final HttpRequest request) {
+        final String authorization = request.headers().firstValue(HttpHeaders.AUTHORIZATION).orElse(null);
+        if (authorization == null || !authorization.startsWith("Basic ")) {
+            return;
+        }
+        final String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(authorization.substring(6)), StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException e) {
+            return;
+        }
+        final String user = StringUtils.substringBefore(credentials, ":");
+        final String uri = request.uri().toString();
+        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
+        core.getAuthorizeWith().forEach(
+            (key, authorizeWith) -> {
+                final String authorizedAs = authorizeWith == AuthorizeWith.EMAIL ?
+                                            key.email() :
+                                            EmailUtils.getUsername(key.email());
+                if (uri.startsWith(key.jiraUrl()) && user.equals(authorizedAs)) {
+                    core.getRejectedAuthorizeWith().add(key);
+                    core.getAuthorizeWith().remove(key, authorizeWith);
+                    core.getIssueSearchCache().invalidateUser(key.jiraUrl(), key.email());
+                    synchronized (state) {
+                        state.getAuthorizeWith().remove(key.persistentKey(), authorizeWith.name());
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Jira answers {@code 403} also when user lacks permission (e.g. to log work on the issue),
+     * only with {@code X-Authentication-Denied-Reason} it's about credentials
+     */
+    static boolean credentialsRejected(final HttpResponse<?> response) {
+        return response.statusCode() == 401 ||
+               response.statusCode() == 403 &&
+               response.headers().firstValue("x-authentication-denied-reason").isPresent();
     }
 
     private boolean captchaRequested(final HttpResponse<?> response) {
@@ -491,7 +1779,45 @@ public class JiraClient {
         return errorCreator.apply(JIRA_RESPONSE_CODE + response.statusCode());
     }
 
-    private record AuthorizeWithKey(String email, String jiraUrl) {
+    @FunctionalInterface
+    public interface ResponseHandler<B, R> {
+
+        R handle(HttpResponse<B> response) throws IOException;
+
+    }
+
+    /**
+     * @param worklogsTotal number of all worklogs of the issue, null if unknown
+     * @param startedAfter  epoch millis, null means no lower bound
+     * @param startedBefore epoch millis, null means no upper bound
+     */
+    private record WorklogsQuery(
+        String jiraUrl,
+        String email,
+        String password,
+        String issue,
+        String issueUpdated,
+        Integer worklogsTotal,
+        Long startedAfter,
+        Long startedBefore
+    ) {
+
+        boolean contains(final long started) {
+            return (startedAfter == null || started >= startedAfter) &&
+                   (startedBefore == null || started <= startedBefore);
+        }
+
+        boolean hasWindow() {
+            return startedAfter != null || startedBefore != null;
+        }
+
+    }
+
+    record AuthorizeWithKey(String email, String jiraUrl) {
+
+        String persistentKey() {
+            return email + " " + jiraUrl;
+        }
 
         @Override
             public boolean equals(final Object o) {
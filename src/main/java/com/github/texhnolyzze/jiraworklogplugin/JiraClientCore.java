@@ -0,0 +1,176 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.cache.IssueSearchCache;
+import com.github.texhnolyzze.jiraworklogplugin.cache.RecentIssuesIndex;
+import com.github.texhnolyzze.jiraworklogplugin.cache.SingleFlight;
+import com.github.texhnolyzze.jiraworklogplugin.cache.WorklogDiskCache;
+import com.github.texhnolyzze.jiraworklogplugin.enums.AuthorizeWith;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.DailyWorklogsResponse;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.FindJiraIssuesResponse;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.FindJiraWorklogsResponse;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.TodayWorklogSummaryResponse;
+import com.github.texhnolyzze.jiraworklogplugin.workloggather.GatherStrategyHistory;
+import com.github.texhnolyzze.jiraworklogplugin.workloggather.WorklogDeltaFeeds;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Part of {@link JiraClient} shared by all open projects, since usually they all work with the same Jira:
+ * single http client (so connections to Jira are kept alive and reused by all projects), rate limiter,
+ * coalesced requests in flight and caches.<br><br>
+ * Everything here is keyed by Jira url (and user, where it matters), so projects working with different Jiras
+ * don't interfere
+ */
+public class JiraClientCore implements Disposable {
+
+    private final HttpClient httpClient = HttpClient.newBuilder().
+        version(HttpClient.Version.HTTP_1_1).
+        followRedirects(HttpClient.Redirect.NEVER).
+        connectTimeout(Duration.ofSeconds(20)).
+        build();
+
+    private final JiraRateLimiter rateLimiter = new JiraRateLimiter();
+    private final ResponseDecompression decompression = new ResponseDecompression();
+    private final JiraRequestStats requestStats = new JiraRequestStats();
+    private final JiraKeepAlive keepAlive = new JiraKeepAlive();
+
+    private final SingleFlight<List<?>, TodayWorklogSummaryResponse> summaryFlights = new SingleFlight<>();
+    private final SingleFlight<List<?>, FindJiraWorklogsResponse> worklogsFlights = new SingleFlight<>();
+    private final SingleFlight<List<?>, FindJiraIssuesResponse> searchFlights = new SingleFlight<>();
+    private final SingleFlight<List<?>, DailyWorklogsResponse> dailyFlights = new SingleFlight<>();
+
+    /**
+     * Authorization resolved by probing, projects persist it on their own
+     */
+    private final Map<JiraClient.AuthorizeWithKey, AuthorizeWith> authorizeWith = new ConcurrentHashMap<>();
+    /**
+     * Authorization Jira rejected, until it's probed again. Values persisted by projects are ignored for these keys,
+     * so a project (e.g. opened later) doesn't bring it back for all projects
+     */
+    private final Set<JiraClient.AuthorizeWithKey> rejectedAuthorizeWith = ConcurrentHashMap.newKeySet();
+    /**
+     * Whether Jira applies 'Started' window to worklogs of an issue (Jira Cloud does, Jira Server ignores it)
+     */
+    private final Map<String, Boolean> appliesStartedWindow = new ConcurrentHashMap<>();
+    private final WorklogDeltaFeeds worklogDeltaFeeds = new WorklogDeltaFeeds();
+    private final GatherStrategyHistory gatherStrategyHistory;
+    private final IssueSearchCache issueSearchCache = new IssueSearchCache();
+    private final RecentIssuesIndex recentIssues;
+    private final WorklogDiskCache worklogDiskCache;
+    /**
+     * Defines what 'today' is for gathering and adding worklogs
+     */
+    private final Clock clock;
+
+    public JiraClientCore() {
+        this(Path.of(PathManager.getSystemPath(), "jira-worklog-plugin"), Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param cacheRoot directory of caches kept between IDE restarts
+     */
+    JiraClientCore(final Path cacheRoot, final Clock clock) {
+        this.clock = clock;
+        gatherStrategyHistory = new GatherStrategyHistory(clock);
+        recentIssues = new RecentIssuesIndex(
+            cacheRoot.resolve("recent-issues"),
+            clock,
+            AppExecutorUtil.getAppExecutorService()
+        );
+        worklogDiskCache = new WorklogDiskCache(cacheRoot.resolve("worklogs"));
+        AppExecutorUtil.getAppExecutorService().execute(worklogDiskCache::evictStale);
+    }
+
+    @Override
+    public void dispose() {
+        keepAlive.dispose();
+    }
+
+    public static JiraClientCore getInstance() {
+        return ApplicationManager.getApplication().getService(JiraClientCore.class);
+    }
+
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    JiraRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    ResponseDecompression getDecompression() {
+        return decompression;
+    }
+
+    public JiraRequestStats getRequestStats() {
+        return requestStats;
+    }
+
+    JiraKeepAlive getKeepAlive() {
+        return keepAlive;
+    }
+
+    SingleFlight<List<?>, TodayWorklogSummaryResponse> getSummaryFlights() {
+        return summaryFlights;
+    }
+
+    SingleFlight<List<?>, FindJiraWorklogsResponse> getWorklogsFlights() {
+        return worklogsFlights;
+    }
+
+    SingleFlight<List<?>, FindJiraIssuesResponse> getSearchFlights() {
+        return searchFlights;
+    }
+
+    SingleFlight<List<?>, DailyWorklogsResponse> getDailyFlights() {
+        return dailyFlights;
+    }
+
+    Map<JiraClient.AuthorizeWithKey, AuthorizeWith> getAuthorizeWith() {
+        return authorizeWith;
+    }
+
+    Set<JiraClient.AuthorizeWithKey> getRejectedAuthorizeWith() {
+        return rejectedAuthorizeWith;
+    }
+
+    Map<String, Boolean> getAppliesStartedWindow() {
+        return appliesStartedWindow;
+    }
+
+    public WorklogDeltaFeeds getWorklogDeltaFeeds() {
+        return worklogDeltaFeeds;
+    }
+
+    public GatherStrategyHistory getGatherStrategyHistory() {
+        return gatherStrategyHistory;
+    }
+
+    public IssueSearchCache getIssueSearchCache() {
+        return issueSearchCache;
+    }
+
+    public RecentIssuesIndex getRecentIssues() {
+        return recentIssues;
+    }
+
+    public WorklogDiskCache getWorklogDiskCache() {
+        return worklogDiskCache;
+    }
+
+    Clock getClock() {
+        return clock;
+    }
+
+}
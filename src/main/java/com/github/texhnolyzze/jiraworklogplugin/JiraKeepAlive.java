@@ -0,0 +1,110 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.intellij.ide.PowerSaveMode;
+import com.intellij.util.concurrency.AppExecutorUtil;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps connection to recently used Jira open, so the next request doesn't pay for TCP and TLS handshakes again.
+ * Proxies and load balancers usually close connections idle for a minute, so every {@link #INTERVAL}
+ * a tiny {@code rest/api/2/serverInfo} is requested, during {@link #WINDOW} after {@link #keepAlive} was called.
+ * It's sent with {@link JiraClient#sendAsync(HttpRequest, HttpResponse.BodyHandler)} without credentials, so wrong
+ * or expired ones never count as failed logins (Jira may require CAPTCHA or lock the account then).
+ * If Jira doesn't answer it anonymously, the Jira is not kept alive anymore.
+ * Nothing is requested in power save mode, nothing is scheduled when there is nothing to keep
+ */
+class JiraKeepAlive {
+
+    private static final Duration INTERVAL = Duration.ofSeconds(50);
+    private static final Duration WINDOW = Duration.ofMinutes(30);
+
+    /**
+     * By Jira url
+     */
+    private final Map<String, Target> targets = new HashMap<>();
+    /**
+     * Jira urls, which rejected anonymous request
+     */
+    private final Set<String> denied = new HashSet<>();
+    private ScheduledFuture<?> schedule;
+    private boolean disposed;
+
+    synchronized void keepAlive(final JiraClient client, final String jiraUrl) {
+        if (disposed || denied.contains(jiraUrl)) {
+            return;
+        }
+        targets.put(jiraUrl, new Target(client, System.currentTimeMillis() + WINDOW.toMillis()));
+        if (schedule == null) {
+            schedule = AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(
+                this::ping,
+                INTERVAL.toMillis(),
+                INTERVAL.toMillis(),
+                TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    synchronized void dispose() {
+        disposed = true;
+        targets.clear();
+        stop();
+    }
+
+    private void ping() {
+        final Map<String, Target> alive;
+        synchronized (this) {
+            final long now = System.currentTimeMillis();
+            targets.values().removeIf(target -> target.until() < now || target.client().isDisposed());
+            if (targets.isEmpty()) {
+                stop();
+                return;
+            }
+            alive = Map.copyOf(targets);
+        }
+        if (PowerSaveMode.isEnabled()) {
+            return;
+        }
+        alive.forEach(
+            (jiraUrl, target) -> target.client().sendAsync(
+                HttpRequest.newBuilder().
+                    uri(URI.create(jiraUrl + (jiraUrl.endsWith("/") ? "" : "/") + "rest/api/2/serverInfo")).
+                    timeout(INTERVAL).
+                    build(),
+                HttpResponse.BodyHandlers.discarding()
+            ).thenAccept(
+                response -> {
+                    if (response.statusCode() == 401 || response.statusCode() == 403) {
+                        denied(jiraUrl);
+                    }
+                }
+            )
+        );
+    }
+
+    private synchronized void denied(final String jiraUrl) {
+        denied.add(jiraUrl);
+        targets.remove(jiraUrl);
+    }
+
+    private void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+            schedule = null;
+        }
+    }
+
+    private record Target(JiraClient client, long until) {
+
+    }
+
+}
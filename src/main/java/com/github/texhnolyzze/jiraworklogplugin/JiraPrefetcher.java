@@ -0,0 +1,124 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraIssue;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.TodayWorklogSummaryResponse;
+import com.github.texhnolyzze.jiraworklogplugin.utils.GitUtils;
+import com.github.texhnolyzze.jiraworklogplugin.utils.JiraKeyUtils;
+import com.intellij.credentialStore.Credentials;
+import com.intellij.ide.PowerSaveMode;
+import com.intellij.ide.passwordSafe.PasswordSafe;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.texhnolyzze.jiraworklogplugin.utils.PluginCredentialsUtils.getCredentialAttributes;
+
+/**
+ * Requests today worklog summary and issue mentioned in branch name (or commit message) in background,
+ * when branch is changed or pushed, so worklog dialog shown next time has them right away:
+ * summary is cached on disk by {@link JiraClient#getTodayWorklogSummaryAsync},
+ * issue is cached by {@link JiraClient#findIssuesAsync}.<br><br>
+ * Same is done once shortly after project is opened ({@link #warmUp}), so the first worklog dialog doesn't pay
+ * for credentials lookup, authorization probing and TLS handshake either. After that connection is kept alive
+ * for a while by {@link JiraKeepAlive}.<br><br>
+ * Nothing is requested, if Jira connection is not set up yet or worklog dialog is never shown automatically
+ */
+public class JiraPrefetcher {
+
+    private static final Logger logger = Logger.getInstance(JiraPrefetcher.class);
+
+    private final Project project;
+
+    JiraPrefetcher(final Project project) {
+        this.project = project;
+    }
+
+    public static JiraPrefetcher getInstance(final Project project) {
+        return project.getService(JiraPrefetcher.class);
+    }
+
+    /**
+     * @param jiraKeyContent branch name or commit message, possibly containing Jira key
+     */
+    public void prefetch(@Nullable final String jiraKeyContent) {
+        AppExecutorUtil.getAppExecutorService().execute(() -> doPrefetch(jiraKeyContent));
+    }
+
+    /**
+     * Prefetches for current branch, unless disabled in settings or IDE is in power save mode.
+     * Called in background, a few seconds after project is opened
+     */
+    @SuppressWarnings("java:S2445")
+    void warmUp() {
+        if (project.isDisposed() || PowerSaveMode.isEnabled()) {
+            return;
+        }
+        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (state) {
+            if (!state.isWarmUpOnStartup()) {
+                return;
+            }
+        }
+        logger.info("warmUp: warming up Jira connection");
+        doPrefetch(GitUtils.getCurrentBranch(project));
+    }
+
+    @SuppressWarnings("java:S2445")
+    private void doPrefetch(@Nullable final String jiraKeyContent) {
+        if (project.isDisposed()) {
+            return;
+        }
+        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
+        final String url;
+        final WorklogGatherStrategyEnum gatherStrategy;
+        final HowToDetermineWhenUserStartedWorkingOnIssue how;
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (state) {
+            if (!state.isShowDialogOnExit() && !state.isShowDialogOnBranchChange() && !state.isShowDialogOnGitPush()) {
+                return;
+            }
+            url = state.getJiraUrl();
+            gatherStrategy = state.getWorklogSummaryGatherStrategy();
+            how = state.getHowToDetermineWhenUserStartedWorkingOnIssue();
+        }
+        if (StringUtils.isBlank(url)) {
+            return;
+        }
+        final Credentials credentials = PasswordSafe.getInstance().get(getCredentialAttributes(url));
+        if (credentials == null || credentials.getUserName() == null || credentials.getPasswordAsString() == null) {
+            return;
+        }
+        final String email = credentials.getUserName();
+        final String password = credentials.getPasswordAsString();
+        final JiraClient client = JiraClient.getInstance(project);
+        client.keepAlive(url);
+        final CompletableFuture<TodayWorklogSummaryResponse> summary = client.getTodayWorklogSummaryAsync(
+            url,
+            email,
+            password,
+            gatherStrategy,
+            how
+        );
+        final String jiraKey = jiraKeyContent == null ? null : JiraKeyUtils.findJiraKey(jiraKeyContent);
+        logger.info(String.format("prefetch: Jira key: %s", jiraKey));
+        if (jiraKey == null) {
+            return;
+        }
+        // summary probes authorization first, if it's not known yet
+        summary.whenComplete(
+            (unused, e) -> {
+                final JiraIssue.Criteria criteria = new JiraIssue.Criteria();
+                criteria.setKey(jiraKey);
+                client.findIssuesAsync(url, email, password, criteria, JiraWorklogDialog.MAX_FOUND_ISSUES, page -> {});
+            }
+        );
+    }
+
+}
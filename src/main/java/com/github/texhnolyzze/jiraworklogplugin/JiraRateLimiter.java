@@ -0,0 +1,98 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per Jira host: bursts of up to {@value #BURST} requests,
+ * then {@value #PERMITS_PER_SECOND} requests per second.
+ * Host may also be blocked for some time, when Jira asks so with {@code Retry-After}
+ */
+class JiraRateLimiter {
+
+    private static final int BURST = 10;
+    private static final double PERMITS_PER_SECOND = 5;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong delayed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+
+    /**
+     * Reserves permit for request to {@code uri}
+     *
+     * @return millis to wait before sending request
+     */
+    long reserve(final URI uri) {
+        final long delay = bucket(uri).reserve(System.currentTimeMillis());
+        if (delay > 0) {
+            delayed.incrementAndGet();
+        }
+        return delay;
+    }
+
+    /**
+     * No requests to host of {@code uri} are sent during next {@code millis}
+     */
+    void block(final URI uri, final long millis) {
+        bucket(uri).block(System.currentTimeMillis() + millis);
+    }
+
+    /**
+     * Jira rejected request, because of too many requests (or it is overloaded)
+     */
+    void onThrottledByJira() {
+        rejected.incrementAndGet();
+    }
+
+    void onRetry() {
+        retried.incrementAndGet();
+    }
+
+    /**
+     * Number of requests delayed by this limiter (including delays asked by Jira with {@code Retry-After})
+     */
+    long getDelayed() {
+        return delayed.get();
+    }
+
+    /**
+     * Number of requests rejected by Jira with 429/503
+     */
+    long getRejected() {
+        return rejected.get();
+    }
+
+    long getRetried() {
+        return retried.get();
+    }
+
+    private Bucket bucket(final URI uri) {
+        return buckets.computeIfAbsent(String.valueOf(uri.getAuthority()), unused -> new Bucket());
+    }
+
+    private static class Bucket {
+
+        private double tokens = BURST;
+        private long lastRefill = System.currentTimeMillis();
+        private long blockedUntil;
+
+        synchronized long reserve(final long now) {
+            tokens = Math.min(BURST, tokens + (now - lastRefill) / 1000.0 * PERMITS_PER_SECOND);
+            lastRefill = now;
+            // tokens may go below zero, so requests waiting for permit are spread evenly
+            tokens--;
+            final long wait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / PERMITS_PER_SECOND * 1000);
+            return Math.max(wait, blockedUntil - now);
+        }
+
+        synchronized void block(final long until) {
+            blockedUntil = Math.max(blockedUntil, until);
+        }
+
+    }
+
+}
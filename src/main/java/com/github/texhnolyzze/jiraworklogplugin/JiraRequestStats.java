@@ -0,0 +1,134 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+
+import java.net.http.HttpRequest;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Count, errors, bytes and latency histogram of requests to Jira by endpoint
+ * (e.g. {@code GET rest/api/2/issue/{id}/worklog}), and of worklog gathering by strategy
+ * (e.g. {@code gather TIMESHEET_GADGET}), so it's clear whether Jira (or network) or the plugin itself is slow.
+ * Every attempt of retried request is counted separately.
+ * Latency of request is time until response headers are received (whole body for non-streaming body handlers),
+ * excluding time request waited for {@link JiraRateLimiter}
+ */
+public class JiraRequestStats {
+
+    /**
+     * Issue key or numeric id, but not version of api (as in {@code rest/api/2})
+     */
+    private static final Pattern ID = Pattern.compile("(?<!/api)/(\\d+|[A-Z][A-Z\\d]*-\\d+)(?=/|$)");
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile Instant since = Instant.now();
+
+    void record(
+            final String endpoint,
+            final long nanos,
+            final boolean error
+    ) {
+        final Endpoint stats = endpoint(endpoint);
+        stats.latency.record(nanos);
+        if (error) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Records how long gathering today's worklogs with {@code strategy} took
+     */
+    public void recordGather(final WorklogGatherStrategyEnum strategy, final long nanos, final boolean error) {
+        record(gather(strategy), nanos, error);
+    }
+
+    static String gather(final WorklogGatherStrategyEnum strategy) {
+        return "gather " + strategy;
+    }
+
+    void addBytes(final String endpoint, final long bytes) {
+        endpoint(endpoint).bytes.add(bytes);
+    }
+
+    public void reset() {
+        endpoints.clear();
+        since = Instant.now();
+    }
+
+    public Instant getSince() {
+        return since;
+    }
+
+    public List<Snapshot> snapshot() {
+        return endpoints.entrySet().stream().
+            map(entry -> entry.getValue().snapshot(entry.getKey())).
+            sorted(Comparator.comparing(Snapshot::endpoint)).
+            toList();
+    }
+
+    /**
+     * Method and path of request starting from {@code rest/}, with issue keys and ids replaced with {@code {id}}
+     */
+    static String endpoint(final HttpRequest request) {
+        String path = request.uri().getPath();
+        final int rest = path.indexOf("/rest/");
+        if (rest >= 0) {
+            path = path.substring(rest + 1);
+        }
+        return request.method() + " " + ID.matcher(path).replaceAll("/{id}");
+    }
+
+    private Endpoint endpoint(final String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, unused -> new Endpoint());
+    }
+
+    private static class Endpoint {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        private Snapshot snapshot(final String endpoint) {
+            return new Snapshot(
+                endpoint,
+                latency.getCount(),
+                errors.sum(),
+                bytes.sum(),
+                latency.getMeanMicros() / 1000.0,
+                latency.getPercentileMicros(0.5) / 1000.0,
+                latency.getPercentileMicros(0.9) / 1000.0,
+                latency.getPercentileMicros(0.99) / 1000.0,
+                latency.getMaxMicros() / 1000.0,
+                latency.getBuckets()
+            );
+        }
+
+    }
+
+    /**
+     * @param bytes       response body bytes received over the wire
+     * @param histogram   counts of latencies by lower bound of histogram bucket in micros
+     */
+    @SuppressWarnings("java:S107")
+    public record Snapshot(
+        String endpoint,
+        long count,
+        long errors,
+        long bytes,
+        double meanMillis,
+        double p50Millis,
+        double p90Millis,
+        double p99Millis,
+        double maxMillis,
+        Map<Long, Long> histogram
+    ) {
+
+    }
+
+}
@@ -2,7 +2,9 @@ package com.github.texhnolyzze.jiraworklogplugin;
 
 import com.github.texhnolyzze.jiraworklogplugin.enums.AdjustEstimate;
 import com.github.texhnolyzze.jiraworklogplugin.enums.AuthorizeWith;
-import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.AddWorklogResponse;
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+import com.github.texhnolyzze.jiraworklogplugin.jirarequest.PendingWorklog;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.FindJiraIssuesResponse;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraIssue;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.TodayWorklogSummaryResponse;
@@ -16,23 +18,37 @@ import com.google.common.html.HtmlEscapers;
 import com.intellij.credentialStore.CredentialAttributes;
 import com.intellij.credentialStore.Credentials;
 import com.intellij.ide.passwordSafe.PasswordSafe;
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.ui.JBColor;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
 import java.awt.*;
+import java.awt.event.ItemEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.IOException;
 import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static com.github.texhnolyzze.jiraworklogplugin.utils.PluginCredentialsUtils.getCredentialAttributes;
@@ -40,6 +56,17 @@ import static java.util.function.Predicate.not;
 
 public class JiraWorklogDialog extends JDialog {
 
+    private static final Logger logger = Logger.getInstance(JiraWorklogDialog.class);
+
+    static final int MAX_FOUND_ISSUES = 100;
+
+    /**
+     * Issues are suggested once user stops typing for this long
+     */
+    private static final int TYPEAHEAD_DELAY_MILLIS = 300;
+    private static final int TYPEAHEAD_MIN_LENGTH = 2;
+    private static final int MAX_RECENT_ISSUES = 20;
+
     private final transient Project project;
     private final String branchName;
 
@@ -68,6 +95,26 @@ public class JiraWorklogDialog extends JDialog {
 
     private int maxIssueSummaryWidth;
 
+    /**
+     * Requests in flight, accessed only from EDT
+     */
+    private final transient List<CompletableFuture<?>> pending = new ArrayList<>();
+    private transient CompletableFuture<FindJiraIssuesResponse> searchInProgress;
+    private int searchGeneration;
+    private boolean disposed;
+
+    private final javax.swing.Timer typeahead = new javax.swing.Timer(TYPEAHEAD_DELAY_MILLIS, unused -> onTypeahead());
+    private String typeaheadQuery;
+    /**
+     * True while issues are changed by the dialog itself, so it's not taken for user input
+     */
+    private boolean updatingIssues;
+    private boolean connectionSettingsOk;
+    /**
+     * True once summary is received from Jira, so cached one is not shown over it
+     */
+    private boolean summaryReceived;
+
     public JiraWorklogDialog(
         final @NotNull Project project,
         final String branchName
@@ -93,33 +140,48 @@ public class JiraWorklogDialog extends JDialog {
             adjustEstimate.addItem(estimate);
         }
         adjustEstimate.setSelectedItem(AdjustEstimate.AUTO);
+        typeahead.setRepeats(false);
     }
 
     public void init(final String jiraKey) {
         final boolean connectionSettingsOk = setupJiraConnectionSettings();
-        final boolean connectionOk;
-        if (connectionSettingsOk) {
-            connectionOk = testConnection();
-        } else {
-            connectionOk = false;
-        }
         final boolean isJiraKey = JiraKeyUtils.isJiraKey(jiraKey);
-        if (connectionOk) {
+        if (connectionSettingsOk) {
+            showCachedSummary();
             if (isJiraKey) {
-                findIssues(jiraKey);
-            } else {
-                jiraIssue.requestFocus();
+                showCachedIssues(jiraKey);
             }
+            loadRecentIssues(isJiraKey ? jiraKey : null);
+            testConnection(
+                connectionOk -> {
+                    if (connectionOk && isJiraKey) {
+                        findIssues(jiraKey);
+                    } else if (!connectionOk) {
+                        onConnectionFailed(jiraKey, isJiraKey);
+                    }
+                }
+            );
+            jiraIssue.requestFocus();
         } else {
-            jiraUrl.requestFocus();
-            if (isJiraKey) {
-                getJiraIssueSearchField().setText(jiraKey);
-            }
+            onConnectionFailed(jiraKey, isJiraKey);
+        }
+    }
+
+    private void onConnectionFailed(final String jiraKey, final boolean isJiraKey) {
+        jiraUrl.requestFocus();
+        if (isJiraKey) {
+            getJiraIssueSearchField().setText(jiraKey);
         }
     }
 
-    private synchronized void findIssues(final String input) {
+    private void findIssues(final String input) {
+        if (searchInProgress != null) {
+            searchInProgress.cancel(true);
+        }
+        typeaheadQuery = input;
+        updatingIssues = true;
         jiraIssue.removeAllItems();
+        updatingIssues = false;
         final JiraClient client = JiraClient.getInstance(project);
         final JiraIssue.Criteria criteria = new JiraIssue.Criteria();
         final boolean isJiraKey = JiraKeyUtils.isJiraKey(input);
@@ -129,17 +191,162 @@ public class JiraWorklogDialog extends JDialog {
             criteria.setSummary(input);
         }
         final char[] pass = password.getPassword();
-        final FindJiraIssuesResponse response = client.findIssues(
+        final int generation = ++searchGeneration;
+        final CompletableFuture<FindJiraIssuesResponse> search = client.findIssuesAsync(
                 jiraUrl.getText(),
                 email.getText(),
                 new String(pass),
-                criteria
+                criteria,
+                MAX_FOUND_ISSUES,
+                page -> SwingUtilities.invokeLater(
+                    () -> {
+                        // pages of outdated search are ignored
+                        if (generation == searchGeneration && !disposed) {
+                            page.forEach(this::addIssue);
+                        }
+                    }
+                )
         );
         Arrays.fill(pass, '\0');
+        searchInProgress = search;
+        onComplete(
+            search,
+            response -> {
+                if (generation == searchGeneration) {
+                    searchInProgress = null;
+                    onIssuesFound(input, response);
+                }
+            }
+        );
+    }
+
+    /**
+     * Suggests issues for text typed so far with lightweight {@link JiraClient#pickIssuesAsync issue picker},
+     * replacing suggestions (or search) in progress. Suggestions are merged into issues shown,
+     * without touching the text being typed
+     */
+    private void onTypeahead() {
+        final String input = getJiraIssueSearchField().getText().trim();
+        final Object selectedItem = jiraIssue.getSelectedItem();
+        if (
+            disposed ||
+            !connectionSettingsOk ||
+            input.length() < TYPEAHEAD_MIN_LENGTH ||
+            input.equals(typeaheadQuery) ||
+            selectedItem instanceof JiraIssue && selectedItem.toString().equals(input)
+        ) {
+            return;
+        }
+        typeaheadQuery = input;
+        if (searchInProgress != null) {
+            searchInProgress.cancel(true);
+        }
+        final char[] pass = password.getPassword();
+        final int generation = ++searchGeneration;
+        final CompletableFuture<FindJiraIssuesResponse> suggestions = JiraClient.getInstance(project).pickIssuesAsync(
+            jiraUrl.getText(),
+            email.getText(),
+            new String(pass),
+            input
+        );
+        Arrays.fill(pass, '\0');
+        searchInProgress = suggestions;
+        onComplete(
+            suggestions,
+            response -> {
+                if (generation != searchGeneration) {
+                    return;
+                }
+                searchInProgress = null;
+                if (StringUtils.isBlank(response.getError())) {
+                    findIssuesError.setVisible(false);
+                    final NavigableSet<JiraIssue> issues = new TreeSet<>(Comparator.naturalOrder());
+                    issues.addAll(response.getIssues());
+                    // recent issues have details, so they are preferred over suggested ones
+                    final List<JiraIssue> recent = recentIssues(input);
+                    recent.forEach(issues::remove);
+                    issues.addAll(recent);
+                    mergeIssues(issues);
+                } else {
+                    setFindIssuesError(response);
+                }
+            }
+        );
+    }
+
+    /**
+     * Suggests issues found recently (see {@link JiraClient#suggestRecentIssues}) for text typed so far,
+     * without waiting for Jira, so it works offline too
+     */
+    private void showRecentIssues() {
+        final String input = getJiraIssueSearchField().getText().trim();
+        final Object selectedItem = jiraIssue.getSelectedItem();
+        if (
+            disposed ||
+            input.isEmpty() ||
+            StringUtils.isBlank(jiraUrl.getText()) ||
+            selectedItem instanceof JiraIssue && selectedItem.toString().equals(input)
+        ) {
+            return;
+        }
+        final NavigableSet<JiraIssue> issues = new TreeSet<>(Comparator.naturalOrder());
+        issues.addAll(recentIssues(input));
+        mergeIssues(issues);
+    }
+
+    private List<JiraIssue> recentIssues(final String input) {
+        return JiraClient.getInstance(project).suggestRecentIssues(
+            jiraUrl.getText(),
+            email.getText(),
+            input,
+            MAX_RECENT_ISSUES
+        );
+    }
+
+    private void mergeIssues(final NavigableSet<JiraIssue> issues) {
+        final JTextField field = getJiraIssueSearchField();
+        final String text = field.getText();
+        final int caret = field.getCaretPosition();
+        updatingIssues = true;
+        try {
+            for (int i = jiraIssue.getItemCount() - 1; i >= 0; i--) {
+                if (!issues.contains(jiraIssue.getItemAt(i))) {
+                    jiraIssue.removeItemAt(i);
+                }
+            }
+            issues.forEach(this::addIssue);
+            // combo box puts selected item into editor, when items change
+            field.setText(text);
+            field.setCaretPosition(Math.min(caret, text.length()));
+        } finally {
+            updatingIssues = false;
+        }
+        if (!issues.isEmpty() && field.isFocusOwner()) {
+            jiraIssue.showPopup();
+        }
+    }
+
+    /**
+     * Issue suggested by picker has key and summary only, so it's searched again once it's chosen
+     */
+    private void findDetailsOfSelectedIssue() {
+        if (
+            !updatingIssues &&
+            !disposed &&
+            jiraIssue.getSelectedItem() instanceof final JiraIssue issue &&
+            !issue.hasDetails()
+        ) {
+            findIssues(issue.getKey());
+        }
+    }
+
+    private void onIssuesFound(final String input, final FindJiraIssuesResponse response) {
         if (response != null && StringUtils.isBlank(response.getError())) {
             final NavigableSet<JiraIssue> issues = response.getIssues();
-            for (final JiraIssue issue : issues.descendingSet()) {
-                jiraIssue.addItem(issue);
+            // pages may still be queued on EDT
+            issues.forEach(this::addIssue);
+            if (!issues.isEmpty()) {
+                jiraIssue.setSelectedIndex(0);
             }
             findIssuesError.setText(null);
             findIssuesError.setVisible(false);
@@ -158,6 +365,49 @@ public class JiraWorklogDialog extends JDialog {
         }
     }
 
+    /**
+     * Calls {@code action} on EDT with result of {@code future}, unless dialog is disposed by then.
+     * Pending futures are cancelled, when dialog is disposed
+     */
+    private <T> void onComplete(final CompletableFuture<T> future, final Consumer<T> action) {
+        pending.add(future);
+        future.whenComplete(
+            (result, e) -> SwingUtilities.invokeLater(
+                () -> {
+                    pending.remove(future);
+                    if (!disposed && !future.isCancelled()) {
+                        action.accept(result);
+                    }
+                }
+            )
+        );
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        typeahead.stop();
+        for (final CompletableFuture<?> future : List.copyOf(pending)) {
+            future.cancel(true);
+        }
+        pending.clear();
+        super.dispose();
+    }
+
+    /**
+     * Keeps issues sorted in descending order, while they are added page by page
+     */
+    private void addIssue(final JiraIssue issue) {
+        int index = 0;
+        while (index < jiraIssue.getItemCount() && jiraIssue.getItemAt(index).compareTo(issue) > 0) {
+            index++;
+        }
+        if (index < jiraIssue.getItemCount() && jiraIssue.getItemAt(index).equals(issue)) {
+            return;
+        }
+        jiraIssue.insertItemAt(issue, index);
+    }
+
     private void setFindIssuesError(final FindJiraIssuesResponse response) {
         findIssuesError.setText(
             "Error searching Jira issues" + (
@@ -205,7 +455,7 @@ public class JiraWorklogDialog extends JDialog {
             KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0),
             JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT
         );
-        testConnectionButton.addActionListener(unused -> testConnection());
+        testConnectionButton.addActionListener(unused -> testConnection(connectionOk -> {}));
         final TextFieldListener textFieldListener = new TextFieldListener();
         email.getDocument().addDocumentListener(textFieldListener);
         password.getDocument().addDocumentListener(textFieldListener);
@@ -213,7 +463,7 @@ public class JiraWorklogDialog extends JDialog {
         timeSpent.getDocument().addDocumentListener(textFieldListener);
         adjustmentDuration.getDocument().addDocumentListener(textFieldListener);
         jiraIssue.addItemListener(
-            unused -> {
+            e -> {
                 checkEnablingConditions();
                 final Object selectedItem = jiraIssue.getSelectedItem();
                 if (selectedItem instanceof final JiraIssue issue) {
@@ -226,13 +476,36 @@ public class JiraWorklogDialog extends JDialog {
                     );
                     issueSummary.setVisible(true);
                     updateEstimate();
+                    if (e.getStateChange() == ItemEvent.SELECTED && !jiraIssue.isPopupVisible()) {
+                        findDetailsOfSelectedIssue();
+                    }
                 } else {
                     issueSummary.setVisible(false);
                     timeEstimate.setText(null);
                 }
             }
         );
+        jiraIssue.addPopupMenuListener(
+            new PopupMenuListener() {
+                @Override
+                public void popupMenuWillBecomeVisible(final PopupMenuEvent e) {
+//                  Ничего не делаем
+                }
+
+                @Override
+                public void popupMenuWillBecomeInvisible(final PopupMenuEvent e) {
+                    // selection is changed after popup is hidden, when issue is clicked
+                    SwingUtilities.invokeLater(JiraWorklogDialog.this::findDetailsOfSelectedIssue);
+                }
+
+                @Override
+                public void popupMenuCanceled(final PopupMenuEvent e) {
+//                  Ничего не делаем
+                }
+            }
+        );
         getJiraIssueSearchField().addKeyListener(new JiraIssueKeyListener());
+        getJiraIssueSearchField().getDocument().addDocumentListener(new JiraIssueSearchListener());
         adjustEstimate.addItemListener(
             unused -> {
                 final Object selectedItem = adjustEstimate.getSelectedItem();
@@ -288,20 +561,101 @@ public class JiraWorklogDialog extends JDialog {
         return (JTextField) jiraIssue.getEditor().getEditorComponent();
     }
 
-    private boolean testConnection() {
+    /**
+     * Shows today summary cached on disk, until actual one is received from Jira
+     */
+    private void showCachedSummary() {
+        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
+        onComplete(
+            JiraClient.getInstance(project).getCachedTodayWorklogSummaryAsync(
+                jiraUrl.getText(),
+                email.getText(),
+                state.getHowToDetermineWhenUserStartedWorkingOnIssue()
+            ),
+            cached -> {
+                if (cached != null && !summaryReceived) {
+                    logged.setText(cached.getSpentPretty());
+                    remained.setText(cached.getRemainedToLogPretty());
+                }
+            }
+        );
+    }
+
+    /**
+     * Shows issues found earlier (e.g. {@link JiraPrefetcher prefetched}, or in one of previous IDE sessions),
+     * until actual ones are received from Jira
+     */
+    private void showCachedIssues(final String jiraKey) {
+        final JiraIssue.Criteria criteria = new JiraIssue.Criteria();
+        criteria.setKey(jiraKey);
+        final NavigableSet<JiraIssue> cached = JiraClient.getInstance(project).getCachedIssues(
+            jiraUrl.getText(),
+            email.getText(),
+            criteria,
+            MAX_FOUND_ISSUES
+        );
+        if (cached != null && !cached.isEmpty()) {
+            cached.forEach(this::addIssue);
+            jiraIssue.setSelectedIndex(0);
+        }
+    }
+
+    /**
+     * Reads recent issues (see {@link JiraClient#loadRecentIssues}) in background, so typing doesn't wait for disk,
+     * then selects recent issue with {@code jiraKey}, unless some issue is already shown
+     */
+    private void loadRecentIssues(@Nullable final String jiraKey) {
+        final JiraClient client = JiraClient.getInstance(project);
+        final String url = jiraUrl.getText();
+        final String emailText = email.getText();
+        onComplete(
+            client.loadRecentIssues(url, emailText),
+            unused -> {
+                final JiraIssue recent = jiraKey == null ? null : client.getRecentIssue(url, emailText, jiraKey);
+                if (recent != null && jiraIssue.getItemCount() == 0) {
+                    addIssue(recent);
+                    jiraIssue.setSelectedIndex(0);
+                }
+            }
+        );
+    }
+
+    /**
+     * @param onTested called on EDT with true, if connection is ok
+     */
+    private void testConnection(final Consumer<Boolean> onTested) {
         final JiraClient client = JiraClient.getInstance(project);
         final char[] pass = password.getPassword();
         final String url = jiraUrl.getText();
         final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
         final String emailText = this.email.getText();
-        final TodayWorklogSummaryResponse summary = client.getTodayWorklogSummary(
+        final String passText = new String(pass);
+        Arrays.fill(pass, (char) 0);
+        testConnectionResult.setText("Connecting...");
+        testConnectionResult.setForeground(JBColor.GRAY);
+        testConnectionResult.setVisible(true);
+        onComplete(
+            client.getTodayWorklogSummaryAsync(
                 url,
                 emailText,
-                new String(pass),
+                passText,
                 state.getWorklogSummaryGatherStrategy(),
                 state.getHowToDetermineWhenUserStartedWorkingOnIssue()
+            ),
+            summary -> onTested.accept(onConnectionTested(summary, url, emailText, passText))
         );
+    }
+
+    private boolean onConnectionTested(
+        final TodayWorklogSummaryResponse summary,
+        final String url,
+        final String emailText,
+        final String passText
+    ) {
+        final JiraClient client = JiraClient.getInstance(project);
+        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
         final boolean connectionOk;
+        summaryReceived = true;
         if (summary != null && StringUtils.isBlank(summary.getError())) {
             final AuthorizeWith authorizeWith = client.getAuthorizeWith(emailText, url);
             testConnectionResult.setText(
@@ -322,12 +676,8 @@ public class JiraWorklogDialog extends JDialog {
             if (timeSpentViaExternalWorklogs.compareTo(Duration.ZERO) > 0) {
                 adjustTimeSpentForExternalWorklogs(state, timeSpentViaExternalWorklogs);
             }
-            synchronized (state) {
-                state.setJiraUrl(url);
-            }
-            final CredentialAttributes credentialAttributes = getCredentialAttributes(url);
-            final Credentials credentials = new Credentials(emailText, new String(pass));
-            PasswordSafe.getInstance().set(credentialAttributes, credentials);
+            adjustTimeSpentForPastDaysWorklogs(summary, url, emailText, passText);
+            rememberConnectionSettings(url, emailText, passText);
             connectionOk = true;
         } else {
             testConnectionResult.setText(
@@ -349,7 +699,6 @@ public class JiraWorklogDialog extends JDialog {
             connectionOk = false;
         }
         testConnectionResult.setVisible(true);
-        Arrays.fill(pass, (char) 0);
         return connectionOk;
     }
 
@@ -365,14 +714,62 @@ public class JiraWorklogDialog extends JDialog {
         timeSpentSinceLastWorklogAdded.setText(
             "<html>" +
                 "You spent " + JiraDurationUtils.formatAsJiraDuration(timerDuration) + " in " + branchName + " since you last logged from it.<br>" +
-                "Plugin also detected today worklogs that intersect with current branch timer, " +
+                "Plugin also detected worklogs that intersect with current branch timer, " +
                 "not created by it with total time " + JiraDurationUtils.formatAsJiraDuration(timeSpentViaExternalWorklogs) + ".<br>" +
                 "This time was automatically subtracted from Time Spent" +
             "</html>"
         );
     }
 
+    /**
+     * Timer may run since one of previous days (e.g. past midnight), so worklogs of these days
+     * (usually cached, since these days are over) are taken into account too
+     */
+    private void adjustTimeSpentForPastDaysWorklogs(
+        final TodayWorklogSummaryResponse summary,
+        final String url,
+        final String emailText,
+        final String passText
+    ) {
+        final JiraClient client = JiraClient.getInstance(project);
+        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
+        final WorklogGatherStrategyEnum gatherStrategy;
+        final HowToDetermineWhenUserStartedWorkingOnIssue how;
+        final LocalDate firstDay;
+        synchronized (state) {
+            gatherStrategy = state.getWorklogSummaryGatherStrategy();
+            how = state.getHowToDetermineWhenUserStartedWorkingOnIssue();
+            firstDay = state.getTimeSeries().stream().
+                filter(work -> work.getBranch().equals(branchName)).
+                map(work -> work.getStarted().withZoneSameInstant(ZoneId.systemDefault()).toLocalDate()).
+                min(Comparator.naturalOrder()).
+                orElse(null);
+        }
+        final LocalDate today = LocalDate.now(ZoneId.systemDefault());
+        if (firstDay == null || !firstDay.isBefore(today) || !gatherStrategy.create(client).canGatherPastDays()) {
+            return;
+        }
+        onComplete(
+            client.getDailyWorklogsAsync(url, emailText, passText, gatherStrategy, firstDay, today.minusDays(1), how),
+            daily -> {
+                if (daily == null || !StringUtils.isBlank(daily.getError())) {
+                    return;
+                }
+                final List<JiraWorklog> worklogs = new ArrayList<>(summary.getWorklogs());
+                daily.getWorklogs().values().forEach(worklogs::addAll);
+                final Duration timeSpentViaExternalWorklogs = findTimeSpentViaExternalWorklogs(worklogs);
+                if (timeSpentViaExternalWorklogs.compareTo(Duration.ZERO) > 0) {
+                    adjustTimeSpentForExternalWorklogs(state, timeSpentViaExternalWorklogs);
+                }
+            }
+        );
+    }
+
     private Duration findTimeSpentViaExternalWorklogs(final TodayWorklogSummaryResponse summary) {
+        return findTimeSpentViaExternalWorklogs(summary.getWorklogs());
+    }
+
+    private Duration findTimeSpentViaExternalWorklogs(final List<JiraWorklog> worklogs) {
         final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
         Duration externalWorklogsTotal = Duration.ZERO;
         synchronized (state) {
@@ -380,7 +777,7 @@ public class JiraWorklogDialog extends JDialog {
                 work -> work.getBranch().equals(branchName)
             ).collect(Collectors.toList());
             currentBranchUnitsOfWork.add(state.actualUnitOfWorkForBranch(branchName, project));
-            final List<JiraWorklog> externalWorklogs = summary.getWorklogs().stream().filter(
+            final List<JiraWorklog> externalWorklogs = worklogs.stream().filter(
                 not(worklog -> worklog.isIssuedByPlugin(project.getName()))
             ).toList();
             for (final UnitOfWork work : currentBranchUnitsOfWork) {
@@ -415,13 +812,16 @@ public class JiraWorklogDialog extends JDialog {
                     JOptionPane.OK_CANCEL_OPTION
                 );
                 if (selected == JOptionPane.OK_OPTION) {
-                    final char[] pass = password.getPassword();
                     final Object adjustEstimateSelectedItem = adjustEstimate.getSelectedItem();
                     final Duration adjDuration = JiraDurationUtils.parseJiraDuration(adjustmentDuration.getText());
-                    final AddWorklogResponse response = JiraClient.getInstance(project).addWorklog(
+                    // worklog is sent in background, password is taken from password safe then,
+                    // so the typed one is saved, even if connection wasn't tested (e.g. Jira is unreachable now)
+                    final char[] pass = password.getPassword();
+                    rememberConnectionSettings(jiraUrl.getText(), email.getText(), new String(pass));
+                    Arrays.fill(pass, (char) 0);
+                    final PendingWorklog worklog = JiraClient.getInstance(project).pendingWorklog(
                         jiraUrl.getText(),
                         email.getText(),
-                        new String(pass),
                         ((JiraIssue) selectedItem),
                         duration,
                         comment.getText(),
@@ -429,27 +829,13 @@ public class JiraWorklogDialog extends JDialog {
                         adjustEstimateSelectedItem instanceof AdjustEstimate && ((AdjustEstimate) adjustEstimateSelectedItem).getAdjustmentDurationLabel() != null ? adjDuration : null,
                         JiraWorklogPluginState.getInstance(project).getHowToDetermineWhenUserStartedWorkingOnIssue()
                     );
-                    addWorklogError.setVisible(false);
-                    if (response != null && StringUtils.isBlank(response.getError())) {
-                        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
-                        synchronized (state) {
-                            final Timer timer = state.getTimer(branchName, project);
-                            timer.reset(project);
-                            state.getTimeSeries().removeIf(work -> work.getBranch().equals(branchName));
-                        }
-                        dispose();
-                    } else {
-                        addWorklogError.setText(
-                            "Error adding worklog" + (
-                                response != null && !StringUtils.isBlank(response.getError()) ?
-                                ": " + response.getError() :
-                                ""
-                            )
-                        );
-                        addWorklogError.setForeground(JBColor.RED);
-                        addWorklogError.setVisible(true);
+                    try {
+                        WorklogOutbox.getInstance(project).enqueue(worklog);
+                        onWorklogQueued();
+                    } catch (final IOException e) {
+                        logger.warn("Can't queue worklog", e);
+                        onWorklogNotQueued(ExceptionUtils.getRootCauseMessage(e));
                     }
-                    Arrays.fill(pass, (char) 0);
                 }
             }
         } finally {
@@ -457,6 +843,33 @@ public class JiraWorklogDialog extends JDialog {
         }
     }
 
+    private void rememberConnectionSettings(final String url, final String emailText, final String passText) {
+        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
+        synchronized (state) {
+            state.setJiraUrl(url);
+        }
+        final CredentialAttributes credentialAttributes = getCredentialAttributes(url);
+        final Credentials credentials = new Credentials(emailText, passText);
+        PasswordSafe.getInstance().set(credentialAttributes, credentials);
+        WorklogOutbox.getInstance(project).credentialsChanged();
+    }
+
+    private void onWorklogQueued() {
+        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
+        synchronized (state) {
+            final Timer timer = state.getTimer(branchName, project);
+            timer.reset(project);
+            state.getTimeSeries().removeIf(work -> work.getBranch().equals(branchName));
+        }
+        dispose();
+    }
+
+    private void onWorklogNotQueued(final String error) {
+        addWorklogError.setText("Error adding worklog: " + error);
+        addWorklogError.setForeground(JBColor.RED);
+        addWorklogError.setVisible(true);
+    }
+
     private void onCancel() {
         dispose();
     }
@@ -488,6 +901,7 @@ public class JiraWorklogDialog extends JDialog {
                 JiraDurationUtils.isJiraDuration(adjustmentDuration.getText())
             )
         );
+        connectionSettingsOk = jiraConnectionSettingsOk;
         testConnectionButton.setEnabled(jiraConnectionSettingsOk);
         buttonOK.setEnabled(jiraWorklogParamsOk && jiraConnectionSettingsOk);
         if (pass != null) {
@@ -557,6 +971,33 @@ public class JiraWorklogDialog extends JDialog {
 
     }
 
+    private class JiraIssueSearchListener implements DocumentListener {
+
+        @Override
+        public void insertUpdate(final DocumentEvent e) {
+            onEvent();
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent e) {
+            onEvent();
+        }
+
+        @Override
+        public void changedUpdate(final DocumentEvent e) {
+            onEvent();
+        }
+
+        private void onEvent() {
+            if (!updatingIssues) {
+                // document can't be changed while listeners are notified
+                SwingUtilities.invokeLater(JiraWorklogDialog.this::showRecentIssues);
+                typeahead.restart();
+            }
+        }
+
+    }
+
     private class JiraIssueKeyListener implements KeyListener {
 
         @Override
@@ -1,5 +1,6 @@
 package com.github.texhnolyzze.jiraworklogplugin;
 
+import com.github.texhnolyzze.jiraworklogplugin.enums.AuthorizeWith;
 import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
 import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
 import com.github.texhnolyzze.jiraworklogplugin.timer.Timer;
@@ -29,9 +30,15 @@ public class JiraWorklogPluginState implements PersistentStateComponent<JiraWork
     private boolean showDialogOnExit = true;
     private boolean showDialogOnBranchChange = true;
     private boolean showDialogOnGitPush = true;
+    private boolean warmUpOnStartup = true;
     private boolean closed;
     private WorklogGatherStrategyEnum worklogSummaryGatherStrategy = WorklogGatherStrategyEnum.REST_API_V2;
     private HowToDetermineWhenUserStartedWorkingOnIssue howToDetermineWhenUserStartedWorkingOnIssue = HowToDetermineWhenUserStartedWorkingOnIssue.SUBTRACT_TIME_SPENT;
+    private int worklogFetchConcurrency = 4;
+    /**
+     * {@link AuthorizeWith} names, resolved by probing Jira, by {@code email + " " + jiraUrl}
+     */
+    private Map<String, String> authorizeWith;
     @OptionTag(converter = UnitOfWork.UnitOfWorkListConverter.class)
     private List<UnitOfWork> timeSeries;
 
@@ -116,6 +123,14 @@ public class JiraWorklogPluginState implements PersistentStateComponent<JiraWork
         this.showDialogOnGitPush = showDialogOnGitPush;
     }
 
+    public boolean isWarmUpOnStartup() {
+        return warmUpOnStartup;
+    }
+
+    public void setWarmUpOnStartup(final boolean warmUpOnStartup) {
+        this.warmUpOnStartup = warmUpOnStartup;
+    }
+
     public boolean isClosed() {
         return closed;
     }
@@ -140,6 +155,25 @@ public class JiraWorklogPluginState implements PersistentStateComponent<JiraWork
         this.howToDetermineWhenUserStartedWorkingOnIssue = howToDetermineWhenUserStartedWorkingOnIssue;
     }
 
+    public @NotNull Map<String, String> getAuthorizeWith() {
+        if (authorizeWith == null) {
+            authorizeWith = new HashMap<>();
+        }
+        return authorizeWith;
+    }
+
+    public void setAuthorizeWith(@Nullable final Map<String, String> authorizeWith) {
+        this.authorizeWith = authorizeWith == null ? new HashMap<>() : authorizeWith;
+    }
+
+    public int getWorklogFetchConcurrency() {
+        return worklogFetchConcurrency;
+    }
+
+    public void setWorklogFetchConcurrency(final int worklogFetchConcurrency) {
+        this.worklogFetchConcurrency = worklogFetchConcurrency;
+    }
+
     public @NotNull List<UnitOfWork> getTimeSeries() {
         if (timeSeries == null) {
             timeSeries = new ArrayList<>();
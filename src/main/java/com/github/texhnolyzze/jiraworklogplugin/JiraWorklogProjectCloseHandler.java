@@ -42,6 +42,10 @@ public class JiraWorklogProjectCloseHandler implements ProjectCloseHandler {
         if (updater != null) {
             updater.cancel();
         }
+        final WorklogOutbox outbox = WorklogOutbox.getInstance(project);
+        if (outbox != null) {
+            outbox.cancel();
+        }
         final JiraWorklogStartupActivity startupActivity = JiraWorklogStartupActivity.getInstance(project);
         if (startupActivity != null) {
             startupActivity.cancel();
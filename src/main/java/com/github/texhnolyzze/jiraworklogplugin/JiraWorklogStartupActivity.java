@@ -21,6 +21,11 @@ public class JiraWorklogStartupActivity implements ProjectActivity {
 
     private static final Logger logger = Logger.getInstance(JiraWorklogStartupActivity.class);
 
+    /**
+     * Delay before warming up Jira connection, so it doesn't compete with indexing and other startup work
+     */
+    private static final long WARM_UP_DELAY_SECONDS = 15L;
+
     private ScheduledFuture<?> schedule;
 
     public static JiraWorklogStartupActivity getInstance(final Project project) {
@@ -53,6 +58,12 @@ public class JiraWorklogStartupActivity implements ProjectActivity {
             }
         }
         TimerUpdater.getInstance(project).setup(project);
+        WorklogOutbox.getInstance(project).setup(project);
+        AppExecutorUtil.getAppScheduledExecutorService().schedule(
+            () -> warmUp(project),
+            WARM_UP_DELAY_SECONDS,
+            TimeUnit.SECONDS
+        );
         return null;
     }
 
@@ -81,6 +92,14 @@ public class JiraWorklogStartupActivity implements ProjectActivity {
         }
     }
 
+    private static void warmUp(final @NotNull Project project) {
+        try {
+            JiraPrefetcher.getInstance(project).warmUp();
+        } catch (final AlreadyDisposedException ex) {
+            logger.info("Project is closed before Jira connection warmed up");
+        }
+    }
+
     void cancel() {
         if (schedule != null) {
             schedule.cancel(true);
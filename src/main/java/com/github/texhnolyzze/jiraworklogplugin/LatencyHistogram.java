@@ -0,0 +1,104 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies in microseconds, counted in logarithmic buckets: every power of two is split into
+ * {@value #SUB_BUCKETS} equal buckets, so percentiles are off by at most 12.5%, whatever the latency is.
+ * Recording is a few atomic increments, nothing is allocated
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Up to 2^40 micros (about 12 days), larger latencies go to the last bucket
+     */
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(final long nanos) {
+        final long micros = Math.max(0, nanos / 1000);
+        buckets.incrementAndGet(bucket(micros));
+        count.increment();
+        sum.add(micros);
+        max.accumulateAndGet(micros, Math::max);
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+
+    long getMeanMicros() {
+        final long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / n;
+    }
+
+    long getMaxMicros() {
+        return max.get();
+    }
+
+    /**
+     * @return middle of the bucket containing {@code quantile} (from 0 to 1), 0 if nothing was recorded
+     */
+    long getPercentileMicros(final double quantile) {
+        final long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(quantile * n));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += buckets.get(bucket);
+            if (seen >= rank) {
+                return Math.min((lowerBound(bucket) + lowerBound(bucket + 1)) / 2, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * @return counts of non-empty buckets by their lower bound in micros
+     */
+    Map<Long, Long> getBuckets() {
+        final Map<Long, Long> result = new TreeMap<>();
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            final long value = buckets.get(bucket);
+            if (value > 0) {
+                result.put(lowerBound(bucket), value);
+            }
+        }
+        return result;
+    }
+
+    static int bucket(final long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        final int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+    }
+
+}
@@ -0,0 +1,371 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.google.common.net.HttpHeaders;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Transparent gzip/deflate decoding of response bodies.
+ * Body is inflated chunk by chunk as it arrives, so e.g. {@link HttpResponse.BodyHandlers#ofInputStream()}
+ * still lets JSON parser start before whole response is received.<br><br>
+ * Counts bytes received over the wire and bytes after decoding
+ */
+class ResponseDecompression {
+
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final AtomicLong wireBytes = new AtomicLong();
+    private final AtomicLong decodedBytes = new AtomicLong();
+
+    /**
+     * @param onWireBytes called with number of bytes of each chunk received over the wire
+     */
+    <T> HttpResponse.BodyHandler<T> decoding(
+            final HttpResponse.BodyHandler<T> handler,
+            final LongConsumer onWireBytes
+    ) {
+        return info -> {
+            final String encoding = info.headers().
+                firstValue(HttpHeaders.CONTENT_ENCODING).
+                map(value -> value.strip().toLowerCase(Locale.ROOT)).
+                orElse("identity");
+            final HttpResponse.BodySubscriber<T> downstream = handler.apply(info);
+            return switch (encoding) {
+                case "gzip", "x-gzip" -> new Decoding<>(downstream, new GzipDecoder(), onWireBytes);
+                case "deflate" -> new Decoding<>(downstream, new DeflateDecoder(), onWireBytes);
+                default -> new Decoding<>(downstream, null, onWireBytes);
+            };
+        };
+    }
+
+    long getWireBytes() {
+        return wireBytes.get();
+    }
+
+    long getDecodedBytes() {
+        return decodedBytes.get();
+    }
+
+    private class Decoding<T> implements HttpResponse.BodySubscriber<T> {
+
+        private final HttpResponse.BodySubscriber<T> downstream;
+        private final Decoder decoder;
+        private final LongConsumer onWireBytes;
+
+        private Flow.Subscription subscription;
+        private boolean received;
+        private boolean failed;
+
+        private Decoding(
+                final HttpResponse.BodySubscriber<T> downstream,
+                final Decoder decoder,
+                final LongConsumer onWireBytes
+        ) {
+            this.downstream = downstream;
+            this.decoder = decoder;
+            this.onWireBytes = onWireBytes;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        /**
+         * Each received chunk results in exactly one (possibly empty) decoded chunk,
+         * so demand of downstream can be passed upstream as is
+         */
+        @Override
+        public void onNext(final List<ByteBuffer> item) {
+            if (failed) {
+                return;
+            }
+            long bytes = 0;
+            for (final ByteBuffer buffer : item) {
+                received |= buffer.hasRemaining();
+                bytes += buffer.remaining();
+            }
+            wireBytes.addAndGet(bytes);
+            onWireBytes.accept(bytes);
+            if (decoder == null) {
+                for (final ByteBuffer buffer : item) {
+                    decodedBytes.addAndGet(buffer.remaining());
+                }
+                downstream.onNext(item);
+                return;
+            }
+            final List<ByteBuffer> decoded = new ArrayList<>();
+            try {
+                for (final ByteBuffer buffer : item) {
+                    decoder.decode(buffer, decoded);
+                }
+            } catch (final IOException e) {
+                failed = true;
+                subscription.cancel();
+                decoder.end();
+                downstream.onError(e);
+                return;
+            }
+            for (final ByteBuffer buffer : decoded) {
+                decodedBytes.addAndGet(buffer.remaining());
+            }
+            downstream.onNext(decoded);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            if (failed) {
+                return;
+            }
+            if (decoder != null) {
+                decoder.end();
+            }
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (failed) {
+                return;
+            }
+            if (decoder != null) {
+                // e.g. 304 response still may have Content-Encoding header
+                final boolean truncated = received && !decoder.finished();
+                decoder.end();
+                if (truncated) {
+                    downstream.onError(new ZipException("Unexpected end of compressed response"));
+                    return;
+                }
+            }
+            downstream.onComplete();
+        }
+
+    }
+
+    private abstract static class Decoder {
+
+        Inflater inflater;
+
+        abstract void decode(final ByteBuffer input, final List<ByteBuffer> output) throws IOException;
+
+        /**
+         * Inflates {@code input} until it is consumed or end of compressed data is reached,
+         * in the latter case {@code input} is positioned right after compressed data
+         */
+        void inflate(final ByteBuffer input, final List<ByteBuffer> output) throws IOException {
+            inflater.setInput(input);
+            try {
+                while (!inflater.finished()) {
+                    final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+                    final int n = inflater.inflate(out);
+                    if (n == 0) {
+                        if (inflater.needsDictionary()) {
+                            throw new ZipException("Preset dictionary is not supported");
+                        }
+                        break;
+                    }
+                    output.add(out.flip());
+                }
+            } catch (final DataFormatException e) {
+                throw new ZipException(e.getMessage());
+            }
+        }
+
+        boolean finished() {
+            return inflater != null && inflater.finished();
+        }
+
+        void end() {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+
+    }
+
+    /**
+     * Gzip header and trailer are read incrementally, since they may be split between chunks.
+     * Body may consist of several gzip members, their contents are concatenated
+     */
+    private static class GzipDecoder extends Decoder {
+
+        private static final int FHCRC = 2;
+        private static final int FEXTRA = 4;
+        private static final int FNAME = 8;
+        private static final int FCOMMENT = 16;
+
+        private final CRC32 crc = new CRC32();
+        private final ByteBuffer header = ByteBuffer.allocate(10);
+        private final ByteBuffer extraLength = ByteBuffer.allocate(2);
+        private final ByteBuffer headerCrc = ByteBuffer.allocate(2);
+        private final ByteBuffer trailer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        private int flags = -1;
+        private int extraRemaining = -1;
+        private boolean inMember;
+        private int members;
+
+        @Override
+        void decode(final ByteBuffer input, final List<ByteBuffer> output) throws IOException {
+            while (input.hasRemaining()) {
+                if (!inMember) {
+                    if (!readHeader(input)) {
+                        return;
+                    }
+                    inMember = true;
+                }
+                if (!inflater.finished()) {
+                    final int from = output.size();
+                    inflate(input, output);
+                    for (int i = from; i < output.size(); i++) {
+                        crc.update(output.get(i).duplicate());
+                    }
+                    if (!inflater.finished()) {
+                        return;
+                    }
+                }
+                if (!fill(trailer, input)) {
+                    return;
+                }
+                if (
+                    (trailer.getInt(0) & 0xFFFFFFFFL) != crc.getValue() ||
+                    (trailer.getInt(4) & 0xFFFFFFFFL) != (inflater.getBytesWritten() & 0xFFFFFFFFL)
+                ) {
+                    throw new ZipException("Corrupt GZIP trailer");
+                }
+                nextMember();
+            }
+        }
+
+        @Override
+        boolean finished() {
+            return members > 0 && !inMember && header.position() == 0;
+        }
+
+        private void nextMember() {
+            header.clear();
+            extraLength.clear();
+            headerCrc.clear();
+            trailer.clear();
+            flags = -1;
+            extraRemaining = -1;
+            inMember = false;
+            members++;
+        }
+
+        private boolean readHeader(final ByteBuffer input) throws IOException {
+            if (flags == -1) {
+                if (!fill(header, input)) {
+                    return false;
+                }
+                if ((header.get(0) & 0xFF) != 0x1F || (header.get(1) & 0xFF) != 0x8B || header.get(2) != 8) {
+                    throw new ZipException("Not in GZIP format");
+                }
+                flags = header.get(3) & 0xFF;
+            }
+            if ((flags & FEXTRA) != 0) {
+                if (extraRemaining == -1) {
+                    if (!fill(extraLength, input)) {
+                        return false;
+                    }
+                    extraRemaining = (extraLength.get(0) & 0xFF) | (extraLength.get(1) & 0xFF) << 8;
+                }
+                final int skipped = Math.min(extraRemaining, input.remaining());
+                input.position(input.position() + skipped);
+                extraRemaining -= skipped;
+                if (extraRemaining > 0) {
+                    return false;
+                }
+                flags &= ~FEXTRA;
+            }
+            if (!skipZeroTerminated(input, FNAME) || !skipZeroTerminated(input, FCOMMENT)) {
+                return false;
+            }
+            if ((flags & FHCRC) != 0 && !fill(headerCrc, input)) {
+                return false;
+            }
+            if (inflater == null) {
+                inflater = new Inflater(true);
+            } else {
+                inflater.reset();
+            }
+            crc.reset();
+            return true;
+        }
+
+        private static boolean fill(final ByteBuffer target, final ByteBuffer input) {
+            while (target.hasRemaining() && input.hasRemaining()) {
+                target.put(input.get());
+            }
+            return !target.hasRemaining();
+        }
+
+        private boolean skipZeroTerminated(final ByteBuffer input, final int flag) {
+            if ((flags & flag) == 0) {
+                return true;
+            }
+            while (input.hasRemaining()) {
+                if (input.get() == 0) {
+                    flags &= ~flag;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * "deflate" should be zlib-wrapped, but some servers send raw deflate stream, so both are accepted.
+     * Adler-32 of zlib stream is verified by {@link Inflater} itself
+     */
+    private static class DeflateDecoder extends Decoder {
+
+        private final ByteBuffer header = ByteBuffer.allocate(2);
+
+        @Override
+        void decode(final ByteBuffer input, final List<ByteBuffer> output) throws IOException {
+            if (inflater == null) {
+                while (header.hasRemaining() && input.hasRemaining()) {
+                    header.put(input.get());
+                }
+                if (header.hasRemaining()) {
+                    return;
+                }
+                final int cmf = header.get(0) & 0xFF;
+                final int flg = header.get(1) & 0xFF;
+                final boolean zlib = (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+                inflater = new Inflater(!zlib);
+                inflate(header.flip(), output);
+            }
+            if (input.hasRemaining() && !inflater.finished()) {
+                inflate(input, output);
+            }
+            // anything after end of compressed data is skipped
+            input.position(input.limit());
+        }
+
+    }
+
+}
@@ -74,22 +74,37 @@ public class VcsHandler implements Notifications, PrePushHandler, BranchChangeLi
     public void notify(@NotNull final Notification notification) {
         final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
         final String content = stripHtml(notification.getContent(), "\n");
-        if (state.isShowDialogOnGitPush()) {
+        final Matcher matcher = matchNotification(content, state.isShowDialogOnGitPush());
+        if (matcher == null) {
+            return;
+        }
+        if (matcher.pattern() == PUSH_PATTERN) {
+            handlePush(state, matcher);
+        } else if (matcher.pattern() == RENAME_PATTERN) {
+            handleRename(state, matcher);
+        } else {
+            handleDelete(state, matcher);
+        }
+    }
+
+    /**
+     * @return matcher of the first pattern (push, rename, delete) found in notification {@code content},
+     * null if it's not about git
+     */
+    @Nullable
+    static Matcher matchNotification(final String content, final boolean push) {
+        if (push) {
             final Matcher pushMatcher = PUSH_PATTERN.matcher(content);
             if (pushMatcher.find()) {
-                handlePush(state, pushMatcher);
-                return;
+                return pushMatcher;
             }
         }
         final Matcher renameMatcher = RENAME_PATTERN.matcher(content);
         if (renameMatcher.find()) {
-            handleRename(state, renameMatcher);
-            return;
+            return renameMatcher;
         }
         final Matcher deleteMatcher = DELETE_PATTERN.matcher(content);
-        if (deleteMatcher.find()) {
-            handleDelete(state, deleteMatcher);
-        }
+        return deleteMatcher.find() ? deleteMatcher : null;
     }
 
     @SuppressWarnings("java:S2445")
@@ -161,7 +176,7 @@ public class VcsHandler implements Notifications, PrePushHandler, BranchChangeLi
     }
 
     @Nullable
-    private static String replaceIfMergeCommit(final String message, final String branch) {
+    static String replaceIfMergeCommit(final String message, final String branch) {
         if (message != null) {
             final Matcher commitMatcher = MERGE_COMMIT_PATTERN.matcher(message);
             if (commitMatcher.find()) {
@@ -238,6 +253,10 @@ public class VcsHandler implements Notifications, PrePushHandler, BranchChangeLi
                         state.getCommitMessages().put(branch, commitMessage);
                     }
                 }
+                // dialog shown after push will use the same issue
+                JiraPrefetcher.getInstance(project).prefetch(
+                    Objects.requireNonNullElse(replaceIfMergeCommit(commitMessage, branch), branch)
+                );
             }
         } else {
             logger.info("handle: Push details empty");
@@ -274,6 +293,7 @@ public class VcsHandler implements Notifications, PrePushHandler, BranchChangeLi
                 currentBranchTimer.resume(project);
                 state.setLastBranch(currentBranch);
             }
+            JiraPrefetcher.getInstance(project).prefetch(currentBranch);
         }
     }
 
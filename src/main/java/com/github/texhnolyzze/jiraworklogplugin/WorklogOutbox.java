@@ -0,0 +1,535 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.github.texhnolyzze.jiraworklogplugin.jirarequest.PendingWorklog;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.AddWorklogResponse;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.FindJiraWorklogsResponse;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraResponseDecoders;
+import com.google.common.hash.Hashing;
+import com.intellij.credentialStore.Credentials;
+import com.intellij.ide.passwordSafe.PasswordSafe;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.texhnolyzze.jiraworklogplugin.utils.JiraDurationUtils.formatAsJiraDuration;
+import static com.github.texhnolyzze.jiraworklogplugin.utils.PluginCredentialsUtils.getCredentialAttributes;
+import static com.github.texhnolyzze.jiraworklogplugin.utils.Utils.OBJECT_MAPPER;
+
+/**
+ * Worklogs waiting to be added to Jira. Worklog is written to a journal (inside IDE system directory) before
+ * any attempt to add it, so it's not lost if Jira is unreachable or IDE is closed.<br><br>
+ * Queued worklogs are sent in background, in order they were queued. If Jira can't be reached,
+ * sending is retried every {@link #RETRY_INTERVAL}. If Jira rejects credentials ({@code 401}, or {@code 403} with
+ * {@code X-Authentication-Denied-Reason}), worklogs are kept until user enters other credentials, since repeated
+ * failed logins may lock the account. Any other {@code 4xx} (e.g. {@code 403} without permission to log work
+ * on the issue) rejects the worklog, it's dropped then.
+ * If worklog was sent before, but response was not received, Jira is checked first for a worklog
+ * with the same plugin mark and comment, 'Started' and 'Time Spent', so worklog is never added twice
+ */
+public class WorklogOutbox {
+
+    private static final Logger logger = Logger.getInstance(WorklogOutbox.class);
+
+    public static final String NOTIFICATION_GROUP = "Jira Worklog";
+
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(30);
+    /**
+     * Worklogs started around queued one are requested, when looking for its duplicate.
+     * Jira may drop milliseconds or seconds of 'Started', so any of them within the window may be the duplicate
+     */
+    private static final Duration DUPLICATE_WINDOW = Duration.ofMinutes(1);
+
+    private static final String ADD = "add";
+    private static final String ATTEMPT = "attempt";
+    private static final String DONE = "done";
+
+    /**
+     * Queued worklogs by id, in order they were queued
+     */
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    /**
+     * Hashes of passwords Jira rejected, by Jira url and email
+     */
+    private final Map<String, String> rejectedCredentials = new HashMap<>();
+    /**
+     * Jira urls and emails, which user was notified to have no credentials for
+     */
+    private final Set<String> missingCredentials = new HashSet<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    private Project project;
+    private Path journal;
+    private ScheduledFuture<?> schedule;
+    private boolean cancelled;
+    /**
+     * Worklogs were queued or credentials changed since the last flush started
+     */
+    private boolean flushRequested;
+
+    public static WorklogOutbox getInstance(final Project project) {
+        return project.getService(WorklogOutbox.class);
+    }
+
+    /**
+     * Restores worklogs left in journal (e.g. queued before IDE was closed) and starts sending them
+     */
+    public void setup(final Project project) {
+        setup(
+            project,
+            Path.of(PathManager.getSystemPath(), "jira-worklog-plugin", "outbox", project.getLocationHash() + ".jsonl")
+        );
+    }
+
+    void setup(final Project project, final Path journal) {
+        synchronized (this) {
+            this.project = project;
+            this.journal = journal;
+            load();
+        }
+        requestFlush();
+    }
+
+    /**
+     * Writes worklog to journal and schedules sending it right away
+     *
+     * @throws IOException if worklog can't be written to journal, nothing is queued then
+     */
+    public void enqueue(final PendingWorklog worklog) throws IOException {
+        synchronized (this) {
+            append(new JournalRecord(ADD, worklog.id(), worklog));
+            entries.put(worklog.id(), new Entry(worklog));
+        }
+        requestFlush();
+    }
+
+    /**
+     * Resumes sending worklogs, which wait for credentials
+     */
+    public void credentialsChanged() {
+        synchronized (this) {
+            missingCredentials.clear();
+        }
+        requestFlush();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void cancel() {
+        cancelled = true;
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+    }
+
+    private void requestFlush() {
+        synchronized (this) {
+            flushRequested = true;
+        }
+        flushLater(Duration.ZERO);
+    }
+
+    private synchronized void flushLater(final Duration delay) {
+        if (cancelled || entries.isEmpty()) {
+            return;
+        }
+        if (schedule != null && !schedule.isDone()) {
+            if (!delay.isZero()) {
+                return;
+            }
+            schedule.cancel(false);
+        }
+        schedule = AppExecutorUtil.getAppScheduledExecutorService().schedule(
+            this::flush,
+            delay.toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    private void flush() {
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            schedule = null;
+        }
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        boolean unreachable = false;
+        try {
+            final List<Entry> batch;
+            synchronized (this) {
+                flushRequested = false;
+                batch = new ArrayList<>(entries.values());
+            }
+            for (final Entry entry : batch) {
+                // worklogs waiting for credentials stay queued, the following ones are still sent
+                if (send(entry) == SendResult.UNREACHABLE) {
+                    unreachable = true;
+                    break;
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (final RuntimeException e) {
+            logger.error("Error sending queued worklogs", e);
+            unreachable = true;
+        } finally {
+            flushing.set(false);
+        }
+        if (unreachable) {
+            flushLater(RETRY_INTERVAL);
+        } else if (isFlushRequested()) {
+            // worklogs queued while flushing, the rest (if any) wait for credentials
+            flushLater(Duration.ZERO);
+        }
+    }
+
+    private synchronized boolean isFlushRequested() {
+        return flushRequested;
+    }
+
+    private SendResult send(final Entry entry) throws InterruptedException {
+        final PendingWorklog worklog = entry.worklog;
+        final String user = worklog.jiraUrl() + " " + worklog.email();
+        final Credentials credentials = PasswordSafe.getInstance().get(getCredentialAttributes(worklog.jiraUrl()));
+        if (
+            credentials == null ||
+            !worklog.email().equals(credentials.getUserName()) ||
+            StringUtils.isBlank(credentials.getPasswordAsString())
+        ) {
+            return credentialsMissing(worklog, user);
+        }
+        final String password = credentials.getPasswordAsString();
+        final String passwordHash = Hashing.sha256().hashString(password, StandardCharsets.UTF_8).toString();
+        synchronized (this) {
+            if (passwordHash.equals(rejectedCredentials.get(user))) {
+                return SendResult.WAITING_FOR_CREDENTIALS;
+            }
+        }
+        final JiraClient client = JiraClient.getInstance(project);
+        if (entry.attempted) {
+            final FindJiraWorklogsResponse found = findDuplicates(client, worklog, password);
+            if (!StringUtils.isBlank(found.getError())) {
+                if (found.isCredentialsRejected()) {
+                    return credentialsRejected(worklog, user, passwordHash);
+                }
+                if (isUnreachable(found.getStatusCode())) {
+                    return SendResult.UNREACHABLE;
+                }
+                // e.g. issue was deleted or user can't see it anymore
+                done(entry, found.getError());
+                return SendResult.SENT;
+            }
+            if (isAdded(worklog, found)) {
+                done(entry, null);
+                return SendResult.SENT;
+            }
+        } else {
+            attempted(entry);
+        }
+        final AddWorklogResponse response = JiraClient.await(
+            client.addWorklogAsync(worklog, password),
+            AddWorklogResponse::error
+        );
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (StringUtils.isBlank(response.getError())) {
+            done(entry, null);
+            return SendResult.SENT;
+        }
+        if (response.isCredentialsRejected()) {
+            return credentialsRejected(worklog, user, passwordHash);
+        }
+        if (isUnreachable(response.getStatusCode())) {
+            logger.info("Can't send queued worklog now: " + response.getError());
+            return SendResult.UNREACHABLE;
+        }
+        // Jira rejected worklog, sending it again won't help
+        done(entry, response.getError());
+        return SendResult.SENT;
+    }
+
+    /**
+     * @param status 0, if Jira wasn't reached
+     */
+    private static boolean isUnreachable(final int status) {
+        return status == 0 || status == 429 || status >= 500;
+    }
+
+    /**
+     * Worklogs of the user are not sent until other credentials are entered,
+     * so Jira doesn't count more failed logins (it may require CAPTCHA or lock the account then)
+     */
+    private SendResult credentialsRejected(final PendingWorklog worklog, final String user, final String passwordHash) {
+        final long waiting;
+        synchronized (this) {
+            rejectedCredentials.put(user, passwordHash);
+            waiting = countWaiting(worklog);
+        }
+        logger.info("Jira " + worklog.jiraUrl() + " rejected credentials of " + worklog.email());
+        notify(
+            "Jira rejected credentials of " + worklog.email() + ", " + waiting + " queued worklog(s) " +
+            "will be sent after you test connection with correct ones in worklog dialog",
+            NotificationType.WARNING
+        );
+        return SendResult.WAITING_FOR_CREDENTIALS;
+    }
+
+    /**
+     * User may enter credentials later in worklog dialog, they are notified once until then
+     */
+    private SendResult credentialsMissing(final PendingWorklog worklog, final String user) {
+        final long waiting;
+        synchronized (this) {
+            if (!missingCredentials.add(user)) {
+                return SendResult.WAITING_FOR_CREDENTIALS;
+            }
+            waiting = countWaiting(worklog);
+        }
+        logger.warn("No credentials to send queued worklog to " + worklog.jiraUrl());
+        notify(
+            "No saved credentials of " + worklog.email() + " for " + worklog.jiraUrl() + ", " + waiting +
+            " queued worklog(s) will be sent after you test connection in worklog dialog",
+            NotificationType.WARNING
+        );
+        return SendResult.WAITING_FOR_CREDENTIALS;
+    }
+
+    /**
+     * Queued worklogs of the same Jira and user as {@code worklog}
+     */
+    private synchronized long countWaiting(final PendingWorklog worklog) {
+        return entries.values().stream().filter(
+            entry -> entry.worklog.jiraUrl().equals(worklog.jiraUrl()) && entry.worklog.email().equals(worklog.email())
+        ).count();
+    }
+
+    private static FindJiraWorklogsResponse findDuplicates(
+        final JiraClient client,
+        final PendingWorklog worklog,
+        final String password
+    ) {
+        final Instant started = Instant.ofEpochMilli(JiraResponseDecoders.parseStarted(worklog.started()));
+        return client.findWorklogs(
+            worklog.jiraUrl(),
+            worklog.email(),
+            password,
+            worklog.issue(),
+            started.minus(DUPLICATE_WINDOW),
+            started.plus(DUPLICATE_WINDOW),
+            HowToDetermineWhenUserStartedWorkingOnIssue.LEAVE_AS_IS
+        );
+    }
+
+    private static boolean isAdded(final PendingWorklog worklog, final FindJiraWorklogsResponse found) {
+        final Instant started = Instant.ofEpochMilli(JiraResponseDecoders.parseStarted(worklog.started()));
+        final String comment = normalize(worklog.toRequest().getComment());
+        return found.getWorklogs().stream().anyMatch(
+            duplicate -> isAround(started, duplicate.getStartTime().toInstant()) &&
+                         duplicate.getTimeSpent().toSeconds() == worklog.timeSpentSeconds() &&
+                         Objects.equals(normalize(duplicate.getComment()), comment)
+        );
+    }
+
+    private static boolean isAround(final Instant started, final Instant duplicateStarted) {
+        return Duration.between(started, duplicateStarted).abs().compareTo(DUPLICATE_WINDOW) < 0;
+    }
+
+    private static String normalize(@Nullable final String comment) {
+        return comment == null ? "" : comment.replace("\r\n", "\n").strip();
+    }
+
+    private void attempted(final Entry entry) {
+        synchronized (this) {
+            entry.attempted = true;
+            try {
+                append(new JournalRecord(ATTEMPT, entry.worklog.id(), null));
+            } catch (final IOException e) {
+                // worst case, worklog will be checked in Jira once again
+                logger.warn("Can't write to worklog journal " + journal, e);
+            }
+        }
+    }
+
+    private void done(final Entry entry, @Nullable final String error) {
+        synchronized (this) {
+            entries.remove(entry.worklog.id());
+            try {
+                if (entries.isEmpty()) {
+                    Files.deleteIfExists(journal);
+                } else {
+                    append(new JournalRecord(DONE, entry.worklog.id(), null));
+                }
+            } catch (final IOException e) {
+                logger.warn("Can't write to worklog journal " + journal, e);
+            }
+        }
+        final PendingWorklog worklog = entry.worklog;
+        final String logged = formatAsJiraDuration(Duration.ofSeconds(worklog.timeSpentSeconds())) + " to " + worklog.issue();
+        if (error == null) {
+            notify("Logged " + logged, NotificationType.INFORMATION);
+        } else {
+            notify("Jira rejected worklog " + logged + ": " + error, NotificationType.ERROR);
+        }
+    }
+
+    private void notify(final String content, final NotificationType type) {
+        if (project.isDisposed()) {
+            return;
+        }
+        NotificationGroupManager.getInstance()
+            .getNotificationGroup(NOTIFICATION_GROUP)
+            .createNotification(content, type)
+            .notify(project);
+    }
+
+    private void append(final JournalRecord record) throws IOException {
+        Files.createDirectories(journal.getParent());
+        final byte[] line = (OBJECT_MAPPER.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        try (
+            FileChannel channel = FileChannel.open(
+                journal,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND
+            )
+        ) {
+            channel.write(ByteBuffer.wrap(line));
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Replays journal and rewrites it with pending worklogs only
+     */
+    private void load() {
+        if (!Files.isRegularFile(journal)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                final JournalRecord record;
+                try {
+                    record = OBJECT_MAPPER.readValue(line, JournalRecord.class);
+                } catch (final IOException e) {
+                    // e.g. IDE crashed while line was written
+                    logger.warn("Skipping corrupted worklog journal record: " + line, e);
+                    continue;
+                }
+                switch (record.op()) {
+                    case ADD -> entries.put(record.id(), new Entry(record.worklog()));
+                    case ATTEMPT -> {
+                        final Entry entry = entries.get(record.id());
+                        if (entry != null) {
+                            entry.attempted = true;
+                        }
+                    }
+                    case DONE -> entries.remove(record.id());
+                    default -> logger.warn("Unknown worklog journal record: " + line);
+                }
+            }
+        } catch (final IOException e) {
+            logger.warn("Can't read worklog journal " + journal, e);
+            return;
+        }
+        compact();
+    }
+
+    private void compact() {
+        try {
+            final Path tmp = Files.createTempFile(journal.getParent(), journal.getFileName().toString(), ".tmp");
+            try {
+                final StringBuilder content = new StringBuilder();
+                for (final Entry entry : entries.values()) {
+                    final String id = entry.worklog.id();
+                    content.append(OBJECT_MAPPER.writeValueAsString(new JournalRecord(ADD, id, entry.worklog)));
+                    content.append('\n');
+                    if (entry.attempted) {
+                        content.append(OBJECT_MAPPER.writeValueAsString(new JournalRecord(ATTEMPT, id, null)));
+                        content.append('\n');
+                    }
+                }
+                Files.writeString(tmp, content, StandardCharsets.UTF_8);
+                Files.move(tmp, journal, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (final IOException e) {
+            logger.warn("Can't compact worklog journal " + journal, e);
+        }
+    }
+
+    private enum SendResult {
+        SENT,
+        /**
+         * Jira can't be reached now, sending is retried later
+         */
+        UNREACHABLE,
+        /**
+         * There are no credentials, or Jira rejected them
+         */
+        WAITING_FOR_CREDENTIALS
+    }
+
+    private static class Entry {
+
+        private final PendingWorklog worklog;
+        /**
+         * Worklog may have been added already, even if response was not received
+         */
+        private boolean attempted;
+
+        private Entry(@NotNull final PendingWorklog worklog) {
+            this.worklog = worklog;
+        }
+
+    }
+
+    /**
+     * @param op      one of {@link #ADD}, {@link #ATTEMPT}, {@link #DONE}
+     * @param worklog queued worklog, only for {@link #ADD}
+     */
+    private record JournalRecord(String op, String id, PendingWorklog worklog) {
+
+    }
+
+}
@@ -61,4 +61,22 @@ public abstract class ChangeWorklogGatherStrategyAction extends AnAction {
         }
     }
 
+    public static class ToDeltaFeed extends ChangeWorklogGatherStrategyAction {
+        public ToDeltaFeed() {
+            super(WorklogGatherStrategyEnum.DELTA_FEED);
+        }
+    }
+
+    public static class ToRestApiV2EmbeddedWorklogs extends ChangeWorklogGatherStrategyAction {
+        public ToRestApiV2EmbeddedWorklogs() {
+            super(WorklogGatherStrategyEnum.REST_API_V2_EMBEDDED_WORKLOGS);
+        }
+    }
+
+    public static class ToAuto extends ChangeWorklogGatherStrategyAction {
+        public ToAuto() {
+            super(WorklogGatherStrategyEnum.AUTO);
+        }
+    }
+
 }
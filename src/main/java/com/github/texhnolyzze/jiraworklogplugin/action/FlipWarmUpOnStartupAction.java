@@ -0,0 +1,35 @@
+package com.github.texhnolyzze.jiraworklogplugin.action;
+
+import com.github.texhnolyzze.jiraworklogplugin.JiraWorklogPluginState;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+public class FlipWarmUpOnStartupAction extends AnAction {
+
+    @Override
+    public void actionPerformed(@NotNull final AnActionEvent e) {
+        final Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        final JiraWorklogPluginState state = JiraWorklogPluginState.getInstance(project);
+        synchronized (state) {
+            state.setWarmUpOnStartup(!state.isWarmUpOnStartup());
+        }
+    }
+
+    @Override
+    public void update(@NotNull final AnActionEvent e) {
+        super.update(e);
+        FlipActionUpdateUtils.update(e, JiraWorklogPluginState::isWarmUpOnStartup);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+}
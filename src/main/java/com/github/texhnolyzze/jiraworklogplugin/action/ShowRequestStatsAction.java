@@ -0,0 +1,171 @@
+package com.github.texhnolyzze.jiraworklogplugin.action;
+
+import com.github.texhnolyzze.jiraworklogplugin.JiraClient;
+import com.github.texhnolyzze.jiraworklogplugin.JiraRequestStats;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.github.texhnolyzze.jiraworklogplugin.utils.Utils.OBJECT_MAPPER;
+
+/**
+ * Shows {@link JiraRequestStats}, lets to reset them or export as JSON
+ */
+public class ShowRequestStatsAction extends AnAction {
+
+    private static final String TITLE = "Jira Request Stats";
+
+    private static final DateTimeFormatter SINCE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Override
+    public void actionPerformed(@NotNull final AnActionEvent e) {
+        final Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        final JiraClient client = JiraClient.getInstance(project);
+        final JiraRequestStats stats = client.getRequestStats();
+        final List<JiraRequestStats.Snapshot> snapshot = stats.snapshot();
+        final StatsDialog dialog = new StatsDialog(project, format(stats, snapshot, client));
+        dialog.show();
+        if (dialog.getExitCode() == StatsDialog.RESET_EXIT_CODE) {
+            stats.reset();
+        } else if (dialog.getExitCode() == StatsDialog.EXPORT_EXIT_CODE) {
+            export(project, stats, snapshot, client);
+        }
+    }
+
+    private static String format(
+        final JiraRequestStats stats,
+        final List<JiraRequestStats.Snapshot> snapshot,
+        final JiraClient client
+    ) {
+        final StringBuilder result = new StringBuilder();
+        result.append(
+            String.format(
+                Locale.ROOT,
+                "Since %s, delayed %d, rejected by Jira %d, retried %d requests%n%n",
+                SINCE_FORMAT.format(stats.getSince().atZone(ZoneId.systemDefault())),
+                client.getDelayedRequests(),
+                client.getRejectedRequests(),
+                client.getRetriedRequests()
+            )
+        );
+        result.append(
+            String.format(
+                Locale.ROOT,
+                "%-50s %7s %7s %10s %9s %9s %9s %9s %9s%n",
+                "Endpoint",
+                "Count",
+                "Errors",
+                "KiB",
+                "Mean ms",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "Max ms"
+            )
+        );
+        for (final JiraRequestStats.Snapshot endpoint : snapshot) {
+            result.append(
+                String.format(
+                    Locale.ROOT,
+                    "%-50s %7d %7d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint.endpoint(),
+                    endpoint.count(),
+                    endpoint.errors(),
+                    endpoint.bytes() / 1024.0,
+                    endpoint.meanMillis(),
+                    endpoint.p50Millis(),
+                    endpoint.p90Millis(),
+                    endpoint.p99Millis(),
+                    endpoint.maxMillis()
+                )
+            );
+        }
+        if (snapshot.isEmpty()) {
+            result.append("No requests yet");
+        }
+        return result.toString();
+    }
+
+    private static void export(
+        final Project project,
+        final JiraRequestStats stats,
+        final List<JiraRequestStats.Snapshot> snapshot,
+        final JiraClient client
+    ) {
+        final VirtualFileWrapper file = FileChooserFactory.getInstance().
+            createSaveFileDialog(new FileSaverDescriptor("Export " + TITLE, "", "json"), project).
+            save("jira-request-stats.json");
+        if (file == null) {
+            return;
+        }
+        final Map<String, Object> json = new LinkedHashMap<>();
+        json.put("since", stats.getSince());
+        json.put("delayedRequests", client.getDelayedRequests());
+        json.put("rejectedRequests", client.getRejectedRequests());
+        json.put("retriedRequests", client.getRetriedRequests());
+        json.put("wireBytes", client.getWireBytes());
+        json.put("decodedBytes", client.getDecodedBytes());
+        json.put("endpoints", snapshot);
+        try {
+            OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.getFile(), json);
+        } catch (final IOException ex) {
+            Messages.showErrorDialog(project, "Cannot export stats: " + ex.getMessage(), TITLE);
+        }
+    }
+
+    private static class StatsDialog extends DialogWrapper {
+
+        private static final int RESET_EXIT_CODE = NEXT_USER_EXIT_CODE;
+        private static final int EXPORT_EXIT_CODE = NEXT_USER_EXIT_CODE + 1;
+
+        private final String text;
+
+        private StatsDialog(final Project project, final String text) {
+            super(project);
+            this.text = text;
+            setTitle(TITLE);
+            setOKButtonText("Close");
+            init();
+        }
+
+        @Override
+        protected JComponent createCenterPanel() {
+            final JTextArea area = new JTextArea(text);
+            area.setEditable(false);
+            area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, area.getFont().getSize()));
+            final JScrollPane scroll = new JScrollPane(area);
+            scroll.setPreferredSize(new Dimension(900, 400));
+            return scroll;
+        }
+
+        @Override
+        protected Action @NotNull [] createActions() {
+            return new Action[] {
+                new DialogWrapperExitAction("Reset", RESET_EXIT_CODE),
+                new DialogWrapperExitAction("Export JSON...", EXPORT_EXIT_CODE),
+                getOKAction()
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.github.texhnolyzze.jiraworklogplugin.cache;
+
+import com.github.texhnolyzze.jiraworklogplugin.JiraWorklog;
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Worklog as stored on disk by {@link WorklogDiskCache}
+ *
+ * @param started epoch millis of 'Started'
+ */
+public record CachedWorklog(
+    String key,
+    long started,
+    long timeSpentSeconds,
+    String comment,
+    String authorEmailAddress
+) {
+
+    /**
+     * @param zone zone of the client clock, so worklogs fall into the same days as fresh ones
+     */
+    public JiraWorklog toJiraWorklog(final HowToDetermineWhenUserStartedWorkingOnIssue how, final ZoneId zone) {
+        return new JiraWorklog(
+            Instant.ofEpochMilli(started).atZone(zone),
+            Duration.ofSeconds(timeSpentSeconds),
+            key,
+            comment,
+            authorEmailAddress,
+            how
+        );
+    }
+
+    public CachedWorklog withKey(final String key) {
+        return new CachedWorklog(key, started, timeSpentSeconds, comment, authorEmailAddress);
+    }
+
+    /**
+     * Start time of {@code worklog} is already determined,
+     * so it must be converted back with {@link HowToDetermineWhenUserStartedWorkingOnIssue#LEAVE_AS_IS}
+     */
+    public static CachedWorklog of(final JiraWorklog worklog) {
+        return new CachedWorklog(
+            worklog.getKey(),
+            worklog.getStartTime().toInstant().toEpochMilli(),
+            worklog.getTimeSpent().toSeconds(),
+            worklog.getComment(),
+            worklog.getAuthorEmailAddress()
+        );
+    }
+
+}
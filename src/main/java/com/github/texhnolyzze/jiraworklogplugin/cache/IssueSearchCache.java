@@ -0,0 +1,109 @@
+package com.github.texhnolyzze.jiraworklogplugin.cache;
+
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraIssue;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+
+/**
+ * Results of issue search kept in memory for {@link #TTL}.
+ * At most {@link #MAX_ENTRIES} results are kept, least recently used ones are evicted first
+ */
+public class IssueSearchCache {
+
+    static final Duration TTL = Duration.ofMinutes(5);
+    static final int MAX_ENTRIES = 100;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+
+    };
+
+    private final Clock clock;
+    private long hits;
+    private long misses;
+
+    public IssueSearchCache() {
+        this(Clock.systemUTC());
+    }
+
+    public IssueSearchCache(final Clock clock) {
+        this.clock = clock;
+    }
+
+    @Nullable
+    public synchronized NavigableSet<JiraIssue> get(final Key key) {
+        final Entry entry = entries.get(key);
+        if (entry == null || entry.expiresAt < clock.millis()) {
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.issues;
+    }
+
+    /**
+     * Unlike {@link #get}, returns result even if it expired (it's better than nothing, while fresh one is requested),
+     * hits and misses are not counted
+     */
+    @Nullable
+    public synchronized NavigableSet<JiraIssue> peek(final Key key) {
+        final Entry entry = entries.get(key);
+        return entry == null ? null : entry.issues;
+    }
+
+    public synchronized void put(final Key key, final NavigableSet<JiraIssue> issues) {
+        entries.put(key, new Entry(Collections.unmodifiableNavigableSet(issues), clock.millis() + TTL.toMillis()));
+    }
+
+    /**
+     * Removes every result containing {@code issue} (e.g. when its remaining estimate changed)
+     */
+    public synchronized void invalidate(final String jiraUrl, final String issue) {
+        entries.entrySet().removeIf(
+            entry -> entry.getKey().jiraUrl().equals(jiraUrl) &&
+                     entry.getValue().issues.stream().anyMatch(found -> found.getKey().equals(issue))
+        );
+    }
+
+    /**
+     * Removes every result found by {@code user}, e.g. when authorization changed and user may see different issues now
+     */
+    public synchronized void invalidateUser(final String jiraUrl, final String user) {
+        entries.keySet().removeIf(key -> key.jiraUrl().equals(jiraUrl) && key.user().equals(user));
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @param jql    search query, built from {@link JiraIssue.Criteria}
+     * @param fields requested fields
+     * @param limit  max number of issues requested
+     */
+    public record Key(String jiraUrl, String user, String jql, String fields, int limit) {
+
+    }
+
+    private record Entry(NavigableSet<JiraIssue> issues, long expiresAt) {
+
+    }
+
+}
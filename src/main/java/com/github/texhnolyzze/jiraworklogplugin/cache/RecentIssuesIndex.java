@@ -0,0 +1,390 @@
+package com.github.texhnolyzze.jiraworklogplugin.cache;
+
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraIssue;
+import com.google.common.hash.Hashing;
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import static com.github.texhnolyzze.jiraworklogplugin.utils.Utils.OBJECT_MAPPER;
+
+/**
+ * Issues recently found in Jira, indexed locally, so they can be suggested instantly and without network,
+ * while Jira is asked for fresh ones.<br><br>
+ * Issues are looked up by prefix of key (e.g. {@code PROJ-1} finds {@code PROJ-1}, {@code PROJ-12}) and by words of
+ * summary, in any order and case (each word is looked up by its trigrams, so its part is enough).
+ * At most {@link #MAX_ISSUES} issues are kept per Jira and user, least recently seen ones are evicted first.
+ * Index is stored on disk (inside IDE system directory) as a single file per Jira and user and is read in background
+ * on first use (see {@link #load}), until then nothing is suggested. Any I/O error is treated as empty index
+ */
+public class RecentIssuesIndex {
+
+    private static final Logger logger = Logger.getInstance(RecentIssuesIndex.class);
+
+    static final int MAX_ISSUES = 500;
+    private static final int GRAM = 3;
+
+    private final Path root;
+    private final Clock clock;
+    private final Executor executor;
+    private final Map<IndexKey, CompletableFuture<Index>> indices = new ConcurrentHashMap<>();
+
+    /**
+     * @param executor reads index files and records issues in background
+     */
+    public RecentIssuesIndex(final Path root, final Clock clock, final Executor executor) {
+        this.root = root;
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts reading index of {@code email} in {@code jiraUrl}, if it is not read yet
+     *
+     * @return completed when index is read, cancelling it doesn't stop reading
+     */
+    public CompletableFuture<Void> load(final String jiraUrl, final String email) {
+        return index(jiraUrl, email).thenAccept(index -> {});
+    }
+
+    /**
+     * Adds or updates {@code issues}, issues without details (see {@link JiraIssue#hasDetails()}) are ignored.
+     * Waits for index to be read, so it is not meant to be called on EDT
+     */
+    public void record(final String jiraUrl, final String email, final Collection<JiraIssue> issues) {
+        final long now = clock.millis();
+        final List<Entry> entries = new ArrayList<>(issues.size());
+        for (final JiraIssue issue : issues) {
+            if (issue.hasDetails()) {
+                entries.add(Entry.of(issue, now));
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        final Index index = index(jiraUrl, email).join();
+        final List<Entry> snapshot;
+        final long version;
+        synchronized (index) {
+            entries.forEach(index::put);
+            snapshot = List.copyOf(index.byKey.values());
+            version = ++index.version;
+        }
+        // concurrent records write one by one, a snapshot older than the written one is skipped
+        synchronized (index.file) {
+            if (version > index.file.version) {
+                write(index.file.path, snapshot);
+                index.file.version = version;
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #record}, but in background, failures are only logged
+     *
+     * @return completed when issues are recorded
+     */
+    public CompletableFuture<Void> recordAsync(final String jiraUrl, final String email, final Collection<JiraIssue> issues) {
+        final List<JiraIssue> copy = List.copyOf(issues);
+        return CompletableFuture.runAsync(() -> record(jiraUrl, email, copy), executor).whenComplete(
+            (ignored, e) -> {
+                if (e != null) {
+                    logger.warn("Can't record recent issues", e);
+                }
+            }
+        );
+    }
+
+    /**
+     * @return null, if there is no such issue or index is not read yet
+     */
+    @Nullable
+    public JiraIssue get(final String jiraUrl, final String email, final String key) {
+        final Index index = index(jiraUrl, email).getNow(null);
+        if (index == null) {
+            return null;
+        }
+        synchronized (index) {
+            final Entry entry = index.byKey.get(key.toUpperCase(Locale.ROOT));
+            return entry == null ? null : entry.toJiraIssue();
+        }
+    }
+
+    /**
+     * @return issues which key starts with {@code query}, followed by issues which summary contains all words
+     * of {@code query}, most recently seen first; nothing, if index is not read yet
+     */
+    public List<JiraIssue> suggest(final String jiraUrl, final String email, final String query, final int limit) {
+        final String trimmed = query.trim();
+        if (trimmed.isEmpty()) {
+            return List.of();
+        }
+        final Index index = index(jiraUrl, email).getNow(null);
+        if (index == null) {
+            return List.of();
+        }
+        final Set<Entry> found = new LinkedHashSet<>();
+        synchronized (index) {
+            final String prefix = trimmed.toUpperCase(Locale.ROOT);
+            index.byKey.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().stream().
+                sorted(Comparator.comparingLong(Entry::lastSeen).reversed()).
+                forEach(found::add);
+            final List<String> words = words(trimmed);
+            if (!words.isEmpty()) {
+                index.candidates(words).stream().
+                    map(index.byKey::get).
+                    filter(entry -> containsAll(entry.summary(), words)).
+                    sorted(Comparator.comparingLong(Entry::lastSeen).reversed()).
+                    forEach(found::add);
+            }
+        }
+        return found.stream().limit(limit).map(Entry::toJiraIssue).toList();
+    }
+
+    private CompletableFuture<Index> index(final String jiraUrl, final String email) {
+        return indices.computeIfAbsent(
+            new IndexKey(jiraUrl, email),
+            key -> CompletableFuture.supplyAsync(
+                () -> {
+                    final Index index = new Index(path(key));
+                    read(index.file.path).forEach(index::put);
+                    return index;
+                },
+                executor
+            )
+        );
+    }
+
+    private static boolean containsAll(@Nullable final String summary, final List<String> words) {
+        if (summary == null) {
+            return false;
+        }
+        final String lower = summary.toLowerCase(Locale.ROOT);
+        return words.stream().allMatch(lower::contains);
+    }
+
+    private static List<String> words(final String text) {
+        final List<String> result = new ArrayList<>();
+        for (final String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> grams(final String word) {
+        final Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            result.add(word.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    @NotNull
+    private Path path(final IndexKey key) {
+        final String hash = Hashing.sha256().hashString(key.jiraUrl() + " " + key.email(), StandardCharsets.UTF_8).toString();
+        return root.resolve(hash.substring(0, 16) + ".json");
+    }
+
+    private static List<Entry> read(final Path path) {
+        if (!Files.isRegularFile(path)) {
+            return List.of();
+        }
+        try {
+            return List.of(OBJECT_MAPPER.readValue(path.toFile(), Entry[].class));
+        } catch (IOException e) {
+            logger.warn("Can't read recent issues " + path, e);
+            return List.of();
+        }
+    }
+
+    private static void write(final Path path, final List<Entry> entries) {
+        try {
+            Files.createDirectories(path.getParent());
+            final Path tmp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                OBJECT_MAPPER.writeValue(tmp.toFile(), entries);
+                try {
+                    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            logger.warn("Can't write recent issues " + path, e);
+        }
+    }
+
+    private record IndexKey(String jiraUrl, String email) {
+    }
+
+    /**
+     * Issues of a single Jira and user, guarded by itself
+     */
+    private static class Index {
+
+        private final IndexFile file;
+
+        /**
+         * Incremented on every record
+         */
+        private long version;
+
+        /**
+         * By upper-cased key, sorted, so keys with the same prefix are next to each other
+         */
+        private final NavigableMap<String, Entry> byKey = new TreeMap<>();
+
+        /**
+         * Keys of issues by trigram of summary words
+         */
+        private final Map<String, Set<String>> byGram = new HashMap<>();
+
+        private Index(final Path path) {
+            this.file = new IndexFile(path);
+        }
+
+        private void put(final Entry entry) {
+            final String key = entry.key().toUpperCase(Locale.ROOT);
+            final Entry previous = byKey.put(key, entry);
+            if (previous != null) {
+                unindex(key, previous);
+            }
+            for (final String word : words(entry.summary() == null ? "" : entry.summary())) {
+                for (final String gram : grams(word)) {
+                    byGram.computeIfAbsent(gram, unused -> new HashSet<>()).add(key);
+                }
+            }
+            if (byKey.size() > MAX_ISSUES) {
+                final Entry eldest = byKey.values().stream().min(Comparator.comparingLong(Entry::lastSeen)).orElseThrow();
+                final String eldestKey = eldest.key().toUpperCase(Locale.ROOT);
+                byKey.remove(eldestKey);
+                unindex(eldestKey, eldest);
+            }
+        }
+
+        private void unindex(final String key, final Entry entry) {
+            for (final String word : words(entry.summary() == null ? "" : entry.summary())) {
+                for (final String gram : grams(word)) {
+                    final Set<String> keys = byGram.get(gram);
+                    if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                        byGram.remove(gram);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Keys of issues, which summary may contain all {@code words}: words shorter than a trigram can't be looked
+         * up, so if there are only such words, every issue is a candidate
+         */
+        private Set<String> candidates(final List<String> words) {
+            Set<String> result = null;
+            for (final String word : words) {
+                for (final String gram : grams(word)) {
+                    final Set<String> keys = byGram.getOrDefault(gram, Set.of());
+                    if (result == null) {
+                        result = new HashSet<>(keys);
+                    } else {
+                        result.retainAll(keys);
+                    }
+                    if (result.isEmpty()) {
+                        return result;
+                    }
+                }
+            }
+            return result == null ? byKey.keySet() : result;
+        }
+
+    }
+
+    /**
+     * File of {@link Index}, guarded by itself, so it is written by one thread at a time
+     */
+    private static class IndexFile {
+
+        private final Path path;
+
+        /**
+         * Version of {@link Index} written to {@link #path}
+         */
+        private long version;
+
+        private IndexFile(final Path path) {
+            this.path = path;
+        }
+
+    }
+
+    /**
+     * Issue as stored on disk
+     *
+     * @param lastSeen epoch millis, when issue was found in Jira last time
+     */
+    public record Entry(
+        String id,
+        String key,
+        String summary,
+        String issueType,
+        Integer timeEstimateSeconds,
+        String statusId,
+        String statusName,
+        long lastSeen
+    ) {
+
+        private static Entry of(final JiraIssue issue, final long lastSeen) {
+            final JiraIssue.Status status = issue.getStatus();
+            return new Entry(
+                issue.getId(),
+                issue.getKey(),
+                issue.getSummary(),
+                issue.getIssueType(),
+                issue.getTimeEstimateSeconds(),
+                status == null ? null : status.id(),
+                status == null ? null : status.name(),
+                lastSeen
+            );
+        }
+
+        private JiraIssue toJiraIssue() {
+            return new JiraIssue(
+                id,
+                key,
+                summary,
+                issueType,
+                timeEstimateSeconds,
+                null,
+                statusId == null && statusName == null ? null : new JiraIssue.Status(statusId, statusName),
+                null
+            );
+        }
+
+    }
+
+}
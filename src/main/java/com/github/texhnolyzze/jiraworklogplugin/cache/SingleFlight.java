@@ -0,0 +1,147 @@
+package com.github.texhnolyzze.jiraworklogplugin.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent calls: while a call with some key is in flight, callers with the same key
+ * wait for it instead of starting their own.<br><br>
+ * Each caller gets its own future, so cancelling it doesn't affect other callers.
+ * Underlying call is cancelled, once all its callers cancelled their futures
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * @param call started only if there is no call with the same {@code key} in flight
+     */
+    public CompletableFuture<V> execute(final K key, final Supplier<CompletableFuture<V>> call) {
+        return join(key, call).result();
+    }
+
+    /**
+     * Same as {@link #execute}, but also tells, whether {@code call} was started by this caller
+     */
+    public Joined<V> join(final K key, final Supplier<CompletableFuture<V>> call) {
+        while (true) {
+            final Flight<V> flight = flights.computeIfAbsent(key, unused -> new Flight<>());
+            if (flight.join()) {
+                final boolean started = flight.start();
+                if (started) {
+                    flight.result.whenComplete((unused, e) -> flights.remove(key, flight));
+                    try {
+                        flight.started(call.get());
+                    } catch (final RuntimeException e) {
+                        flight.result.completeExceptionally(e);
+                    }
+                }
+                return new Joined<>(flight.subscribe(), started);
+            }
+            // all callers of this flight cancelled, it's about to be removed
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Number of calls in flight
+     */
+    public int size() {
+        return flights.size();
+    }
+
+    /**
+     * @param result  future of the caller
+     * @param started true, if call was started by the caller, false, if the caller joined call in flight
+     */
+    public record Joined<V>(CompletableFuture<V> result, boolean started) {
+
+    }
+
+    private static class Flight<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+
+        private CompletableFuture<V> source;
+        private int callers;
+        private boolean started;
+        private boolean abandoned;
+
+        synchronized boolean join() {
+            if (abandoned || result.isDone()) {
+                return false;
+            }
+            callers++;
+            return true;
+        }
+
+        synchronized boolean start() {
+            if (started) {
+                return false;
+            }
+            started = true;
+            return true;
+        }
+
+        void started(final CompletableFuture<V> source) {
+            final boolean cancel;
+            synchronized (this) {
+                this.source = source;
+                cancel = abandoned;
+            }
+            if (cancel) {
+                source.cancel(true);
+            }
+            source.whenComplete(
+                (value, e) -> {
+                    if (e == null) {
+                        result.complete(value);
+                    } else {
+                        result.completeExceptionally(e);
+                    }
+                }
+            );
+        }
+
+        CompletableFuture<V> subscribe() {
+            final CompletableFuture<V> subscription = new CompletableFuture<>();
+            result.whenComplete(
+                (value, e) -> {
+                    if (e == null) {
+                        subscription.complete(value);
+                    } else {
+                        subscription.completeExceptionally(e);
+                    }
+                }
+            );
+            subscription.whenComplete(
+                (unused, e) -> {
+                    if (subscription.isCancelled()) {
+                        leave();
+                    }
+                }
+            );
+            return subscription;
+        }
+
+        private void leave() {
+            final CompletableFuture<V> toCancel;
+            synchronized (this) {
+                callers--;
+                if (callers > 0 || result.isDone()) {
+                    return;
+                }
+                abandoned = true;
+                toCancel = source;
+            }
+            if (toCancel != null) {
+                toCancel.cancel(true);
+            }
+            result.cancel(true);
+        }
+
+    }
+
+}
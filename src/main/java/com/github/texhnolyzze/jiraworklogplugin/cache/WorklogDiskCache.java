@@ -0,0 +1,189 @@
+package com.github.texhnolyzze.jiraworklogplugin.cache;
+
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.google.common.hash.Hashing;
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.github.texhnolyzze.jiraworklogplugin.utils.Utils.OBJECT_MAPPER;
+
+/**
+ * Worklogs cached on disk (inside IDE system directory), so they survive IDE restarts.<br><br>
+ * There are two kinds of entries:
+ * <ul>
+ *     <li>worklogs of an issue (all of them or only ones started within some window), along with issue's
+ *     'updated' field and http validators ({@code ETag}, {@code Last-Modified}) of the response they were taken from</li>
+ *     <li>worklogs of the user for a particular day, as they were shown in the worklog dialog last time</li>
+ * </ul>
+ * Any I/O error is treated as cache miss
+ */
+public class WorklogDiskCache {
+
+    private static final Logger logger = Logger.getInstance(WorklogDiskCache.class);
+
+    private static final Duration ISSUE_ENTRY_TTL = Duration.ofDays(30);
+    private static final Duration DAY_ENTRY_TTL = Duration.ofDays(14);
+
+    private final Path root;
+
+    public WorklogDiskCache(final Path root) {
+        this.root = root;
+    }
+
+    @Nullable
+    public IssueEntry getIssueWorklogs(final String jiraUrl, final String issue) {
+        return read(issuePath(jiraUrl, issue), IssueEntry.class);
+    }
+
+    public void putIssueWorklogs(final String jiraUrl, final String issue, final IssueEntry entry) {
+        write(issuePath(jiraUrl, issue), entry);
+    }
+
+    @Nullable
+    public DayEntry getDayWorklogs(final String jiraUrl, final String email, final LocalDate day) {
+        return read(dayPath(jiraUrl, email, day), DayEntry.class);
+    }
+
+    public void putDayWorklogs(final String jiraUrl, final String email, final LocalDate day, final DayEntry entry) {
+        write(dayPath(jiraUrl, email, day), entry);
+    }
+
+    /**
+     * Deletes entries that were not updated for a long time
+     */
+    public void evictStale() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        final Instant now = Instant.now(Clock.systemUTC());
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(Files::isRegularFile).forEach(
+                file -> {
+                    final Duration ttl = file.getParent().getFileName().toString().equals("days") ?
+                                         DAY_ENTRY_TTL :
+                                         ISSUE_ENTRY_TTL;
+                    try {
+                        final FileTime modified = Files.getLastModifiedTime(file);
+                        if (modified.toInstant().plus(ttl).isBefore(now)) {
+                            Files.deleteIfExists(file);
+                        }
+                    } catch (IOException e) {
+                        logger.warn("Can't evict worklog cache entry " + file, e);
+                    }
+                }
+            );
+        } catch (IOException e) {
+            logger.warn("Can't evict stale worklog cache entries", e);
+        }
+    }
+
+    @NotNull
+    private Path issuePath(final String jiraUrl, final String issue) {
+        return root.resolve(hash(jiraUrl)).resolve("issues").resolve(issue + ".json");
+    }
+
+    @NotNull
+    private Path dayPath(final String jiraUrl, final String email, final LocalDate day) {
+        return root.resolve(hash(jiraUrl)).resolve("days").resolve(day + "-" + hash(email) + ".json");
+    }
+
+    @Nullable
+    private <T> T read(final Path path, final Class<T> type) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readValue(path.toFile(), type);
+        } catch (IOException e) {
+            logger.warn("Can't read worklog cache entry " + path, e);
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // will be overwritten on next write
+            }
+            return null;
+        }
+    }
+
+    private void write(final Path path, final Object entry) {
+        try {
+            Files.createDirectories(path.getParent());
+            final Path tmp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                OBJECT_MAPPER.writeValue(tmp.toFile(), entry);
+                try {
+                    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            logger.warn("Can't write worklog cache entry " + path, e);
+        }
+    }
+
+    private static String hash(final String str) {
+        return Hashing.sha256().hashString(str, StandardCharsets.UTF_8).toString().substring(0, 16);
+    }
+
+    /**
+     * @param updated       'updated' field of the issue at the moment worklogs were fetched, may be null
+     * @param etag          {@code ETag} header of the response, may be null
+     * @param lastModified  {@code Last-Modified} header of the response, may be null
+     * @param startedAfter  epoch millis, only worklogs started at or after it were fetched. Null means no lower bound
+     * @param startedBefore epoch millis, only worklogs started at or before it were fetched. Null means no upper bound
+     */
+    public record IssueEntry(
+        String updated,
+        String etag,
+        String lastModified,
+        List<CachedWorklog> worklogs,
+        Long startedAfter,
+        Long startedBefore
+    ) {
+
+        public IssueEntry withUpdated(final String updated) {
+            return new IssueEntry(updated, etag, lastModified, worklogs, startedAfter, startedBefore);
+        }
+
+        /**
+         * @return true, if all worklogs started within given window are in this entry
+         */
+        public boolean covers(@Nullable final Long startedAfter, @Nullable final Long startedBefore) {
+            return (this.startedAfter == null || startedAfter != null && this.startedAfter <= startedAfter) &&
+                   (this.startedBefore == null || startedBefore != null && this.startedBefore >= startedBefore);
+        }
+
+    }
+
+    /**
+     * @param how      how start time of {@code worklogs} was determined
+     * @param worklogs worklogs with already determined start time
+     * @param complete whether the day was over, when worklogs were fetched, so the entry is not expected to change
+     */
+    public record DayEntry(
+        HowToDetermineWhenUserStartedWorkingOnIssue how,
+        List<CachedWorklog> worklogs,
+        boolean complete
+    ) {
+
+    }
+
+}
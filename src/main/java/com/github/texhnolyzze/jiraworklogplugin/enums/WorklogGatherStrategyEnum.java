@@ -1,6 +1,8 @@
 package com.github.texhnolyzze.jiraworklogplugin.enums;
 
 import com.github.texhnolyzze.jiraworklogplugin.JiraClient;
+import com.github.texhnolyzze.jiraworklogplugin.workloggather.AutoWorklogGatherStrategy;
+import com.github.texhnolyzze.jiraworklogplugin.workloggather.DeltaFeedWorklogGatherStrategy;
 import com.github.texhnolyzze.jiraworklogplugin.workloggather.RestApiV2WorklogGatherStrategy;
 import com.github.texhnolyzze.jiraworklogplugin.workloggather.TimesheetGadgetWorklogGatherStrategy;
 import com.github.texhnolyzze.jiraworklogplugin.workloggather.WorklogGatherStrategy;
@@ -18,6 +20,24 @@ public enum WorklogGatherStrategyEnum {
         public WorklogGatherStrategy create(final JiraClient client) {
             return new TimesheetGadgetWorklogGatherStrategy(client);
         }
+    },
+    DELTA_FEED {
+        @Override
+        public WorklogGatherStrategy create(final JiraClient client) {
+            return new DeltaFeedWorklogGatherStrategy(client);
+        }
+    },
+    REST_API_V2_EMBEDDED_WORKLOGS {
+        @Override
+        public WorklogGatherStrategy create(final JiraClient client) {
+            return new RestApiV2WorklogGatherStrategy(client, true);
+        }
+    },
+    AUTO {
+        @Override
+        public WorklogGatherStrategy create(final JiraClient client) {
+            return new AutoWorklogGatherStrategy(client);
+        }
     };
 
     public abstract WorklogGatherStrategy create(final JiraClient client);
@@ -0,0 +1,33 @@
+package com.github.texhnolyzze.jiraworklogplugin.jirarequest;
+
+import com.github.texhnolyzze.jiraworklogplugin.enums.AdjustEstimate;
+
+/**
+ * Worklog waiting in {@link com.github.texhnolyzze.jiraworklogplugin.WorklogOutbox} to be added to Jira.
+ * Everything needed to build the request is captured when worklog is queued, so it's added the same way,
+ * no matter when it's sent
+ *
+ * @param id                        unique id of the queued worklog
+ * @param projectName               name of the project, goes to plugin mark of the comment
+ * @param comment                   comment entered by user, without plugin mark
+ * @param started                   'Started' in the format Jira expects
+ * @param adjustmentDurationSeconds duration for {@code adjustEstimate}, if it requires one
+ */
+public record PendingWorklog(
+    String id,
+    String jiraUrl,
+    String email,
+    String issue,
+    String projectName,
+    long timeSpentSeconds,
+    String comment,
+    String started,
+    AdjustEstimate adjustEstimate,
+    Long adjustmentDurationSeconds
+) {
+
+    public AddWorklogRequest toRequest() {
+        return new AddWorklogRequest(projectName, timeSpentSeconds, comment, started);
+    }
+
+}
@@ -5,21 +5,51 @@ import org.jetbrains.annotations.Nullable;
 
 public class AddWorklogResponse extends JiraResponse {
 
-    private AddWorklogResponse(final @Nullable String error) {
+    private final int statusCode;
+    private final boolean credentialsRejected;
+
+    private AddWorklogResponse(final @Nullable String error, final int statusCode, final boolean credentialsRejected) {
         super(error);
+        this.statusCode = statusCode;
+        this.credentialsRejected = credentialsRejected;
     }
 
     public static AddWorklogResponse success() {
-        return new AddWorklogResponse(null);
+        return new AddWorklogResponse(null, 201, false);
     }
 
     public static AddWorklogResponse error(@NotNull final String error) {
-        return new AddWorklogResponse(error);
+        return new AddWorklogResponse(error, 0, false);
+    }
+
+    public static AddWorklogResponse error(
+        @NotNull final String error,
+        final int statusCode,
+        final boolean credentialsRejected
+    ) {
+        return new AddWorklogResponse(error, statusCode, credentialsRejected);
+    }
+
+    /**
+     * Status code of Jira response, 0 if Jira wasn't reached
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Jira rejected credentials, rather than worklog (e.g. {@code 403} without permission to log work on the issue)
+     */
+    public boolean isCredentialsRejected() {
+        return credentialsRejected;
     }
 
     @Override
     public String toString() {
-        return "AddWorklogResponse{} " + super.toString();
+        return "AddWorklogResponse{" +
+            "statusCode=" + statusCode +
+            ", credentialsRejected=" + credentialsRejected +
+            "} " + super.toString();
     }
 
 }
@@ -0,0 +1,62 @@
+package com.github.texhnolyzze.jiraworklogplugin.jiraresponse;
+
+import com.github.texhnolyzze.jiraworklogplugin.JiraWorklog;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NavigableMap;
+
+/**
+ * Worklogs of several days, grouped by day they were started
+ */
+public class DailyWorklogsResponse extends JiraResponse {
+
+    private final NavigableMap<LocalDate, List<JiraWorklog>> worklogs;
+
+    private DailyWorklogsResponse(
+            final NavigableMap<LocalDate, List<JiraWorklog>> worklogs,
+            final String error
+    ) {
+        super(error);
+        this.worklogs = worklogs;
+    }
+
+    /**
+     * @return worklogs by day. Every requested day is present, even if there are no worklogs
+     */
+    public NavigableMap<LocalDate, List<JiraWorklog>> getWorklogs() {
+        return worklogs;
+    }
+
+    /**
+     * Worklogs of {@code day} as summary
+     */
+    public TodayWorklogSummaryResponse getDay(final LocalDate day) {
+        return TodayWorklogSummaryResponse.success(worklogs.getOrDefault(day, List.of()));
+    }
+
+    public Duration getTimeSpent() {
+        return worklogs.values().stream().
+            flatMap(List::stream).
+            map(JiraWorklog::getTimeSpent).
+            reduce(Duration.ZERO, Duration::plus);
+    }
+
+    @Override
+    public String toString() {
+        return "DailyWorklogsResponse{" +
+                "worklogs=" + worklogs +
+                "} " + super.toString();
+    }
+
+    public static DailyWorklogsResponse success(@NotNull final NavigableMap<LocalDate, List<JiraWorklog>> worklogs) {
+        return new DailyWorklogsResponse(worklogs, null);
+    }
+
+    public static DailyWorklogsResponse error(@NotNull final String error) {
+        return new DailyWorklogsResponse(null, error);
+    }
+
+}
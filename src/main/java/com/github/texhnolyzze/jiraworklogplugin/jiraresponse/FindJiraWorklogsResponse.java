@@ -8,31 +8,61 @@ import java.util.List;
 public class FindJiraWorklogsResponse extends JiraResponse {
 
     private final List<JiraWorklog> worklogs;
+    private final int statusCode;
+    private final boolean credentialsRejected;
 
     private FindJiraWorklogsResponse(
             final List<JiraWorklog> worklogs,
-            final String error
+            final String error,
+            final int statusCode,
+            final boolean credentialsRejected
     ) {
         super(error);
         this.worklogs = worklogs;
+        this.statusCode = statusCode;
+        this.credentialsRejected = credentialsRejected;
     }
 
     public static FindJiraWorklogsResponse error(@NotNull final String error) {
-        return new FindJiraWorklogsResponse(null, error);
+        return new FindJiraWorklogsResponse(null, error, 0, false);
+    }
+
+    public static FindJiraWorklogsResponse error(
+            @NotNull final String error,
+            final int statusCode,
+            final boolean credentialsRejected
+    ) {
+        return new FindJiraWorklogsResponse(null, error, statusCode, credentialsRejected);
     }
 
     public static FindJiraWorklogsResponse success(final List<JiraWorklog> worklogs) {
-        return new FindJiraWorklogsResponse(worklogs, null);
+        return new FindJiraWorklogsResponse(worklogs, null, 200, false);
     }
 
     public List<JiraWorklog> getWorklogs() {
         return worklogs;
     }
 
+    /**
+     * Status code of Jira response, 0 if Jira wasn't reached
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Jira rejected credentials, rather than access to worklogs of the issue
+     */
+    public boolean isCredentialsRejected() {
+        return credentialsRejected;
+    }
+
     @Override
     public String toString() {
         return "FindJiraWorklogsResponse{" +
                 "worklogs=" + worklogs +
+                ", statusCode=" + statusCode +
+                ", credentialsRejected=" + credentialsRejected +
                 "} " + super.toString();
     }
 
@@ -1,42 +1,88 @@
 package com.github.texhnolyzze.jiraworklogplugin.jiraresponse;
 
+import com.github.texhnolyzze.jiraworklogplugin.cache.CachedWorklog;
 import com.github.texhnolyzze.jiraworklogplugin.utils.JiraKeyUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 public class JiraIssue implements Comparable<JiraIssue> {
 
+    private final String id;
     private final String key;
     private final String summary;
     private final String issueType;
     private final Integer timeEstimateSeconds;
     private final String assignee;
     private final Status status;
+    private final String updated;
+    private final EmbeddedWorklogs worklogs;
 
     public JiraIssue(
+        final String id,
         final String key,
         final String summary,
         final String issueType,
         final Integer timeEstimateSeconds,
         final String assignee,
-        final Status status
+        final Status status,
+        final String updated
     ) {
+        this(id, key, summary, issueType, timeEstimateSeconds, assignee, status, updated, null);
+    }
+
+    @SuppressWarnings("java:S107")
+    public JiraIssue(
+        final String id,
+        final String key,
+        final String summary,
+        final String issueType,
+        final Integer timeEstimateSeconds,
+        final String assignee,
+        final Status status,
+        final String updated,
+        final EmbeddedWorklogs worklogs
+    ) {
+        this.id = id;
         this.key = key;
         this.summary = summary;
         this.issueType = issueType;
         this.timeEstimateSeconds = timeEstimateSeconds;
         this.assignee = assignee;
         this.status = status;
+        this.updated = updated;
+        this.worklogs = worklogs;
+    }
+
+    public String getId() {
+        return id;
     }
 
     public String getKey() {
         return key;
     }
 
+    public String getSummary() {
+        return summary;
+    }
+
+    public String getIssueType() {
+        return issueType;
+    }
+
     public String prettySummary() {
-        return "(" + issueType + ") " + summary;
+        return issueType == null ? summary : "(" + issueType + ") " + summary;
+    }
+
+    /**
+     * False for issues suggested by {@code rest/api/2/issue/picker}, which returns only key and summary of them
+     */
+    public boolean hasDetails() {
+        return issueType != null;
     }
 
     public Integer getTimeEstimateSeconds() {
@@ -51,6 +97,21 @@ public class JiraIssue implements Comparable<JiraIssue> {
         return status;
     }
 
+    /**
+     * Value of 'updated' field, changes along with any change of the issue, including its worklogs
+     */
+    public String getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Value of 'worklog' field, null if it wasn't requested
+     */
+    @Nullable
+    public EmbeddedWorklogs getWorklogs() {
+        return worklogs;
+    }
+
     @Override
     public String toString() {
         return key;
@@ -85,12 +146,26 @@ public class JiraIssue implements Comparable<JiraIssue> {
 
     }
 
+    /**
+     * Worklogs returned along with the issue. Jira returns only first of them (20 by default)
+     *
+     * @param total total number of worklogs of the issue
+     */
+    public record EmbeddedWorklogs(List<CachedWorklog> worklogs, int total) {
+
+        public boolean isTruncated() {
+            return worklogs.size() < total;
+        }
+
+    }
+
     public static class Criteria {
 
         private String key;
         private String summary;
         private LocalDate worklogDate;
         private String worklogAuthor;
+        private Collection<String> ids;
 
         public String getKey() {
             return key;
@@ -124,6 +199,14 @@ public class JiraIssue implements Comparable<JiraIssue> {
             this.worklogAuthor = worklogAuthor;
         }
 
+        public Collection<String> getIds() {
+            return ids;
+        }
+
+        public void setIds(final Collection<String> ids) {
+            this.ids = ids;
+        }
+
         @Override
         public String toString() {
             return "Criteria{" +
@@ -131,6 +214,7 @@ public class JiraIssue implements Comparable<JiraIssue> {
                 ", summary='" + summary + '\'' +
                 ", worklogDate=" + worklogDate +
                 ", worklogAuthor='" + worklogAuthor + '\'' +
+                ", ids=" + ids +
                 '}';
         }
 
@@ -0,0 +1,455 @@
+package com.github.texhnolyzze.jiraworklogplugin.jiraresponse;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.texhnolyzze.jiraworklogplugin.cache.CachedWorklog;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import static com.github.texhnolyzze.jiraworklogplugin.utils.Utils.OBJECT_MAPPER;
+
+/**
+ * Streaming decoders of Jira responses.
+ * Only fields used by the plugin are read, everything else (worklog bodies, avatars, etc.) is skipped without
+ * building any objects
+ */
+public final class JiraResponseDecoders {
+
+    private JiraResponseDecoders() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Decodes response of {@code rest/api/2/search}
+     */
+    public static SearchPage decodeSearch(final InputStream in) throws IOException {
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(in)) {
+            final NavigableSet<JiraIssue> issues = new TreeSet<>(Comparator.naturalOrder());
+            int count = 0;
+            Integer total = null;
+            expectObject(parser.nextToken());
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.currentName();
+                final JsonToken value = parser.nextToken();
+                if ("total".equals(name) && value == JsonToken.VALUE_NUMBER_INT) {
+                    total = parser.getIntValue();
+                } else if ("issues".equals(name) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        issues.add(decodeIssue(parser));
+                        count++;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new SearchPage(issues, count, total);
+        }
+    }
+
+    /**
+     * Decodes response of {@code rest/api/2/issue/picker}: issues of all sections (history search and current search),
+     * with key and plain summary only
+     */
+    public static NavigableSet<JiraIssue> decodePicker(final InputStream in) throws IOException {
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(in)) {
+            final NavigableSet<JiraIssue> issues = new TreeSet<>(Comparator.naturalOrder());
+            expectObject(parser.nextToken());
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.currentName();
+                final JsonToken value = parser.nextToken();
+                if ("sections".equals(name) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        decodePickerSection(parser, issues);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return issues;
+        }
+    }
+
+    /**
+     * Decodes response of {@code rest/api/2/issue/{issue}/worklog}
+     */
+    public static List<CachedWorklog> decodeWorklogs(final String issue, final InputStream in) throws IOException {
+        return decodeWorklogPage(issue, in).worklogs();
+    }
+
+    /**
+     * Decodes response of {@code rest/api/2/issue/{issue}/worklog}, along with its paging info
+     */
+    public static WorklogPage decodeWorklogPage(final String issue, final InputStream in) throws IOException {
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(in)) {
+            final List<CachedWorklog> worklogs = new ArrayList<>();
+            int startAt = 0;
+            Integer total = null;
+            expectObject(parser.nextToken());
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.currentName();
+                final JsonToken value = parser.nextToken();
+                if ("worklogs".equals(name) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        addWorklog(decodeWorklog(issue, parser), worklogs);
+                    }
+                } else if ("startAt".equals(name) && value == JsonToken.VALUE_NUMBER_INT) {
+                    startAt = parser.getIntValue();
+                } else if ("total".equals(name) && value == JsonToken.VALUE_NUMBER_INT) {
+                    total = parser.getIntValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new WorklogPage(worklogs, startAt, total);
+        }
+    }
+
+    /**
+     * Decodes response of {@code rest/api/2/worklog/list}.
+     * Worklogs returned by this endpoint contain issue id only, so key of {@link CachedWorklog} is null
+     */
+    public static List<IdentifiedWorklog> decodeWorklogList(final InputStream in) throws IOException {
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(in)) {
+            final List<IdentifiedWorklog> worklogs = new ArrayList<>();
+            expectArray(parser.nextToken());
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                final IdentifiedWorklog worklog = decodeWorklog(null, parser);
+                if (worklog != null) {
+                    worklogs.add(worklog);
+                }
+            }
+            return worklogs;
+        }
+    }
+
+    /**
+     * Decodes response of {@code rest/timesheet-gadget/1.0/raw-timesheet.json}.
+     * Timesheet contains worklogs of {@code email} only, so they don't have author
+     */
+    public static List<CachedWorklog> decodeTimesheet(final String email, final InputStream in) throws IOException {
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(in)) {
+            final List<CachedWorklog> worklogs = new ArrayList<>();
+            expectObject(parser.nextToken());
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.currentName();
+                final JsonToken value = parser.nextToken();
+                if ("worklog".equals(name) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        decodeTimesheetIssue(email, parser, worklogs);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return worklogs;
+        }
+    }
+
+    private static JiraIssue decodeIssue(final JsonParser parser) throws IOException {
+        String id = null;
+        String key = null;
+        String summary = null;
+        String issueType = null;
+        Integer timeEstimate = null;
+        String assignee = null;
+        JiraIssue.Status status = null;
+        String updated = null;
+        JiraIssue.EmbeddedWorklogs worklogs = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if ("id".equals(name)) {
+                id = parser.getValueAsString();
+            } else if ("key".equals(name)) {
+                key = parser.getValueAsString();
+            } else if ("fields".equals(name) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String field = parser.currentName();
+                    final JsonToken fieldValue = parser.nextToken();
+                    switch (field) {
+                        case "summary" -> summary = parser.getValueAsString();
+                        case "issuetype" -> issueType = decodeStringField(parser, fieldValue, "name");
+                        case "timeestimate" -> timeEstimate = fieldValue == JsonToken.VALUE_NUMBER_INT ?
+                                                              parser.getIntValue() :
+                                                              null;
+                        case "assignee" -> assignee = decodeStringField(parser, fieldValue, "key");
+                        case "status" -> status = decodeStatus(parser, fieldValue);
+                        case "updated" -> updated = parser.getValueAsString();
+                        case "worklog" -> worklogs = decodeEmbeddedWorklogs(parser, fieldValue);
+                        default -> parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (worklogs != null) {
+            // "key" is not guaranteed to precede "fields"
+            final List<CachedWorklog> withKey = new ArrayList<>(worklogs.worklogs().size());
+            for (final CachedWorklog worklog : worklogs.worklogs()) {
+                withKey.add(worklog.withKey(key));
+            }
+            worklogs = new JiraIssue.EmbeddedWorklogs(withKey, worklogs.total());
+        }
+        return new JiraIssue(id, key, summary, issueType, timeEstimate, assignee, status, updated, worklogs);
+    }
+
+    /**
+     * Decodes 'worklog' field of an issue, it has the same structure as response of
+     * {@code rest/api/2/issue/{issue}/worklog}
+     */
+    @Nullable
+    private static JiraIssue.EmbeddedWorklogs decodeEmbeddedWorklogs(
+        final JsonParser parser,
+        final JsonToken current
+    ) throws IOException {
+        if (current != JsonToken.START_OBJECT) {
+            return null;
+        }
+        final List<CachedWorklog> worklogs = new ArrayList<>();
+        Integer total = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if ("worklogs".equals(name) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    addWorklog(decodeWorklog(null, parser), worklogs);
+                }
+            } else if ("total".equals(name) && value == JsonToken.VALUE_NUMBER_INT) {
+                total = parser.getIntValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new JiraIssue.EmbeddedWorklogs(worklogs, total == null ? worklogs.size() : total);
+    }
+
+    private static void addWorklog(@Nullable final IdentifiedWorklog worklog, final List<CachedWorklog> worklogs) {
+        if (worklog != null) {
+            worklogs.add(worklog.worklog());
+        }
+    }
+
+    /**
+     * @return null, if worklog has no 'started' or 'timeSpentSeconds', so it can't be attributed to any day
+     * or counted. Such worklog is skipped, so the rest of response can still be used
+     */
+    @Nullable
+    private static IdentifiedWorklog decodeWorklog(final String issue, final JsonParser parser) throws IOException {
+        String id = null;
+        String issueId = null;
+        String started = null;
+        Long timeSpentSeconds = null;
+        String comment = null;
+        String authorEmailAddress = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            switch (name) {
+                case "id" -> id = parser.getValueAsString();
+                case "issueId" -> issueId = parser.getValueAsString();
+                case "started" -> started = parser.getValueAsString();
+                case "timeSpentSeconds" -> timeSpentSeconds = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                case "comment" -> comment = parser.getValueAsString();
+                case "author" -> authorEmailAddress = decodeStringField(parser, value, "emailAddress");
+                default -> parser.skipChildren();
+            }
+        }
+        if (started == null || timeSpentSeconds == null) {
+            return null;
+        }
+        return new IdentifiedWorklog(
+            id,
+            issueId,
+            new CachedWorklog(issue, parseStarted(started), timeSpentSeconds, comment, authorEmailAddress)
+        );
+    }
+
+    private static void decodeTimesheetIssue(
+        final String email,
+        final JsonParser parser,
+        final List<CachedWorklog> worklogs
+    ) throws IOException {
+        String key = null;
+        final List<CachedWorklog> entries = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if ("key".equals(name)) {
+                key = parser.getValueAsString();
+            } else if ("entries".equals(name) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    final CachedWorklog entry = decodeTimesheetEntry(email, parser);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        // "key" is not guaranteed to precede "entries"
+        for (final CachedWorklog entry : entries) {
+            worklogs.add(entry.withKey(key));
+        }
+    }
+
+    @Nullable
+    private static CachedWorklog decodeTimesheetEntry(final String email, final JsonParser parser) throws IOException {
+        Long startDate = null;
+        Long timeSpent = null;
+        String comment = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "startDate" -> startDate = parser.currentToken() == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                case "timeSpent" -> timeSpent = parser.currentToken() == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                case "comment" -> comment = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+        return startDate == null || timeSpent == null ? null : new CachedWorklog(null, startDate, timeSpent, comment, email);
+    }
+
+    private static void decodePickerSection(
+        final JsonParser parser,
+        final NavigableSet<JiraIssue> issues
+    ) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if ("issues".equals(name) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    final JiraIssue issue = decodePickerIssue(parser);
+                    if (issue != null) {
+                        issues.add(issue);
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    @Nullable
+    private static JiraIssue decodePickerIssue(final JsonParser parser) throws IOException {
+        String id = null;
+        String key = null;
+        String summary = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "id" -> id = parser.getValueAsString();
+                case "key" -> key = parser.getValueAsString();
+                // 'summary' contains html highlighting of matched words
+                case "summaryText" -> summary = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+        return key == null ? null : new JiraIssue(id, key, summary, null, null, null, null, null);
+    }
+
+    /**
+     * Reads string field {@code name} of current object, skipping the rest of it
+     */
+    @Nullable
+    private static String decodeStringField(
+        final JsonParser parser,
+        final JsonToken current,
+        final String name
+    ) throws IOException {
+        if (current != JsonToken.START_OBJECT) {
+            return null;
+        }
+        String result = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            if (name.equals(field)) {
+                result = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private static JiraIssue.Status decodeStatus(final JsonParser parser, final JsonToken current) throws IOException {
+        if (current != JsonToken.START_OBJECT) {
+            return null;
+        }
+        String id = null;
+        String name = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            if ("id".equals(field)) {
+                id = parser.getValueAsString();
+            } else if ("name".equals(field)) {
+                name = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new JiraIssue.Status(id, name);
+    }
+
+    /**
+     * Parses 'Started' of Jira worklog (e.g. {@code 2023-08-01T10:15:30.000+0300})
+     *
+     * @return epoch millis
+     */
+    public static long parseStarted(@NotNull final String started) {
+        return OffsetDateTime.parse(
+            started.substring(0, 19) + started.substring(23, 26) + ":" + started.substring(26)
+        ).toInstant().toEpochMilli();
+    }
+
+    private static void expectObject(final JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Unexpected Jira response: expected object, got " + token);
+        }
+    }
+
+    private static void expectArray(final JsonToken token) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            throw new IOException("Unexpected Jira response: expected array, got " + token);
+        }
+    }
+
+    /**
+     * @param count number of issues in the page
+     * @param total total number of issues found, if Jira reported it
+     */
+    public record SearchPage(NavigableSet<JiraIssue> issues, int count, Integer total) {
+
+    }
+
+    /**
+     * @param startAt index of the first worklog of the page
+     * @param total   total number of worklogs, if Jira reported it
+     */
+    public record WorklogPage(List<CachedWorklog> worklogs, int startAt, Integer total) {
+
+    }
+
+    /**
+     * Worklog along with its id and id of its issue
+     */
+    public record IdentifiedWorklog(String id, String issueId, CachedWorklog worklog) {
+
+    }
+
+}
@@ -0,0 +1,241 @@
+package com.github.texhnolyzze.jiraworklogplugin.workloggather;
+
+import com.github.texhnolyzze.jiraworklogplugin.JiraClient;
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.DailyWorklogsResponse;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraResponse;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.TodayWorklogSummaryResponse;
+import com.intellij.openapi.diagnostic.Logger;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Picks the fastest strategy that works with particular Jira.<br><br>
+ * While some of the strategies were never measured with the Jira, they all are run at once:
+ * the first successful response is returned, the rest are still awaited in background to measure their latency.
+ * After that the fastest strategy is used, falling back to the next fastest one if it fails
+ * (e.g. there is no Timesheet Reports & Gadgets plugin in Jira). Failed strategy is not used for a while.
+ * History is kept in {@link GatherStrategyHistory}
+ */
+public class AutoWorklogGatherStrategy extends WorklogGatherStrategy {
+
+    private static final Logger logger = Logger.getInstance(AutoWorklogGatherStrategy.class);
+
+    /**
+     * Delta feed is not here, since it needs as many requests as Rest Api V2 the first time,
+     * and it keeps state of its own, which is stale when some other strategy is picked
+     */
+    static final List<WorklogGatherStrategyEnum> CANDIDATES = List.of(
+        WorklogGatherStrategyEnum.TIMESHEET_GADGET,
+        WorklogGatherStrategyEnum.REST_API_V2_EMBEDDED_WORKLOGS,
+        WorklogGatherStrategyEnum.REST_API_V2
+    );
+
+    public AutoWorklogGatherStrategy(final JiraClient client) {
+        super(client);
+    }
+
+    @Override
+    public TodayWorklogSummaryResponse get(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        return JiraClient.await(getAsync(jiraUrl, email, password, how), TodayWorklogSummaryResponse::error);
+    }
+
+    @Override
+    public CompletableFuture<TodayWorklogSummaryResponse> getAsync(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        return gather(
+            jiraUrl,
+            email,
+            CANDIDATES,
+            strategy -> strategy.getAsync(jiraUrl, email, password, how),
+            TodayWorklogSummaryResponse::error,
+            true
+        );
+    }
+
+    @Override
+    public boolean canGatherPastDays() {
+        return true;
+    }
+
+    /**
+     * Only strategies that {@link WorklogGatherStrategy#canGatherPastDays() can gather past days} are used,
+     * unless only today is requested. Latency of such requests depends on the range, so it is not measured
+     */
+    @Override
+    public CompletableFuture<DailyWorklogsResponse> getAsync(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final LocalDate startDate,
+            final LocalDate endDate,
+            final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        final LocalDate today = LocalDate.now(client.getClock());
+        if (startDate.equals(today) && endDate.equals(today)) {
+            return super.getAsync(jiraUrl, email, password, startDate, endDate, how);
+        }
+        return gather(
+            jiraUrl,
+            email,
+            CANDIDATES.stream().filter(candidate -> candidate.create(client).canGatherPastDays()).toList(),
+            strategy -> strategy.getAsync(jiraUrl, email, password, startDate, endDate, how),
+            DailyWorklogsResponse::error,
+            false
+        );
+    }
+
+    private <R extends JiraResponse> CompletableFuture<R> gather(
+            final String jiraUrl,
+            final String email,
+            final List<WorklogGatherStrategyEnum> candidates,
+            final Function<WorklogGatherStrategy, CompletableFuture<R>> request,
+            final Function<String, R> errorFactory,
+            final boolean measure
+    ) {
+        final GatherStrategyHistory history = client.getGatherStrategyHistory();
+        List<WorklogGatherStrategyEnum> available = candidates.stream().
+            filter(candidate -> history.isAvailable(jiraUrl, candidate)).
+            toList();
+        if (available.isEmpty()) {
+            // everything failed recently, probably Jira itself was unreachable
+            available = candidates;
+        }
+        if (available.stream().anyMatch(candidate -> history.getLatency(jiraUrl, candidate) == null)) {
+            return race(jiraUrl, email, available, request, errorFactory, measure);
+        }
+        final List<WorklogGatherStrategyEnum> fastestFirst = available.stream().
+            sorted(Comparator.comparing(candidate -> history.getLatency(jiraUrl, candidate))).
+            toList();
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        inOrder(jiraUrl, email, fastestFirst.iterator(), request, errorFactory, measure, result);
+        return result;
+    }
+
+    private <R extends JiraResponse> CompletableFuture<R> race(
+            final String jiraUrl,
+            final String email,
+            final List<WorklogGatherStrategyEnum> candidates,
+            final Function<WorklogGatherStrategy, CompletableFuture<R>> request,
+            final Function<String, R> errorFactory,
+            final boolean measure
+    ) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        final AtomicInteger remaining = new AtomicInteger(candidates.size());
+        final List<CompletableFuture<R>> responses = new ArrayList<>(candidates.size());
+        for (final WorklogGatherStrategyEnum candidate : candidates) {
+            final long start = System.nanoTime();
+            final CompletableFuture<R> response = request.apply(candidate.create(client));
+            responses.add(response);
+            response.whenComplete(
+                (received, e) -> {
+                    final String error = record(jiraUrl, email, candidate, received, e, start, measure);
+                    final boolean last = remaining.decrementAndGet() == 0;
+                    if (error == null) {
+                        result.complete(received);
+                    } else if (last) {
+                        // no-op, if some other strategy succeeded
+                        result.complete(errorFactory.apply(error));
+                    }
+                }
+            );
+        }
+        result.whenComplete(
+            (unused, e) -> {
+                // responses are left to complete after the winner, unless nobody waits for the result anymore
+                if (result.isCancelled()) {
+                    responses.forEach(response -> response.cancel(true));
+                }
+            }
+        );
+        return result;
+    }
+
+    @SuppressWarnings("java:S107")
+    private <R extends JiraResponse> void inOrder(
+            final String jiraUrl,
+            final String email,
+            final Iterator<WorklogGatherStrategyEnum> candidates,
+            final Function<WorklogGatherStrategy, CompletableFuture<R>> request,
+            final Function<String, R> errorFactory,
+            final boolean measure,
+            final CompletableFuture<R> result
+    ) {
+        final WorklogGatherStrategyEnum candidate = candidates.next();
+        final long start = System.nanoTime();
+        final CompletableFuture<R> response = request.apply(candidate.create(client));
+        JiraClient.cancelling(response, result);
+        response.whenComplete(
+            (received, e) -> {
+                final String error = record(jiraUrl, email, candidate, received, e, start, measure);
+                if (error == null) {
+                    result.complete(received);
+                } else if (result.isDone()) {
+                    return;
+                } else if (candidates.hasNext() && client.hasAuthorization(email, jiraUrl)) {
+                    logger.info(String.format("%s failed with %s, falling back: %s", candidate, jiraUrl, error));
+                    inOrder(jiraUrl, email, candidates, request, errorFactory, measure, result);
+                } else {
+                    result.complete(errorFactory.apply(error));
+                }
+            }
+        );
+    }
+
+    /**
+     * @return error or null, if {@code candidate} succeeded
+     */
+    @Nullable
+    @SuppressWarnings("java:S107")
+    private String record(
+            final String jiraUrl,
+            final String email,
+            final WorklogGatherStrategyEnum candidate,
+            final JiraResponse received,
+            final Throwable e,
+            final long start,
+            final boolean measure
+    ) {
+        if (e instanceof CancellationException) {
+            return "Cancelled";
+        }
+        final long nanos = System.nanoTime() - start;
+        final String error = e != null ? ExceptionUtils.getRootCauseMessage(e) : received.getError();
+        if (measure) {
+            client.getRequestStats().recordGather(candidate, nanos, !StringUtils.isBlank(error));
+        }
+        final GatherStrategyHistory history = client.getGatherStrategyHistory();
+        if (StringUtils.isBlank(error)) {
+            history.success(jiraUrl, candidate, measure ? Duration.ofNanos(nanos) : null);
+            return null;
+        }
+        // rejected authorization says nothing about the strategy
+        if (client.hasAuthorization(email, jiraUrl)) {
+            history.failure(jiraUrl, candidate);
+        }
+        return error;
+    }
+
+}
@@ -0,0 +1,244 @@
+package com.github.texhnolyzze.jiraworklogplugin.workloggather;
+
+import com.github.texhnolyzze.jiraworklogplugin.JiraClient;
+import com.github.texhnolyzze.jiraworklogplugin.JiraWorklog;
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.FindJiraIssuesResponse;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraIssue;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraResponseDecoders;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.TodayWorklogSummaryResponse;
+import com.google.common.collect.Iterables;
+import com.google.common.net.HttpHeaders;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.util.net.HTTPMethod;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.github.texhnolyzze.jiraworklogplugin.utils.Utils.OBJECT_MAPPER;
+
+/**
+ * Keeps today worklogs of the user in memory and on each request asks Jira only for worklogs
+ * updated or deleted since previous request ({@code rest/api/2/worklog/updated}, {@code rest/api/2/worklog/deleted}).
+ * Changed worklogs are then fetched in batches with {@code rest/api/2/worklog/list}.<br><br>
+ * Note that Jira does not return worklogs updated during the last minute, so they show up on the next request
+ */
+public class DeltaFeedWorklogGatherStrategy extends WorklogGatherStrategy {
+
+    private static final Logger logger = Logger.getInstance(DeltaFeedWorklogGatherStrategy.class);
+
+    /**
+     * Max number of ids accepted by {@code rest/api/2/worklog/list}
+     */
+    private static final int WORKLOG_LIST_MAX_IDS = 1000;
+
+    private static final int SEARCH_MAX_IDS = 100;
+
+    public DeltaFeedWorklogGatherStrategy(final JiraClient client) {
+        super(client);
+    }
+
+    @Override
+    public TodayWorklogSummaryResponse get(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        final WorklogDeltaFeeds.Feed feed = client.getWorklogDeltaFeeds().get(jiraUrl, email);
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (feed) {
+            try {
+                final ZonedDateTime now = ZonedDateTime.now(client.getClock());
+                final ZonedDateTime dayStart = now.toLocalDate().atStartOfDay(now.getZone());
+                final ZonedDateTime dayEnd = now.withHour(23).withMinute(59).withSecond(59).withNano(0);
+                final LocalDate today = now.toLocalDate();
+                if (!feed.isFor(today, how)) {
+                    feed.reset(today, how, dayStart.toInstant().toEpochMilli());
+                }
+                final ChangedWorklogs updated = findChangedWorklogs(jiraUrl, email, password, "updated", feed.updatedSince);
+                final ChangedWorklogs deleted = findChangedWorklogs(jiraUrl, email, password, "deleted", feed.deletedSince);
+                // feed has worklogs of all users, so keys are resolved only for today worklogs of the user
+                final List<JiraResponseDecoders.IdentifiedWorklog> own = new ArrayList<>();
+                for (final JiraResponseDecoders.IdentifiedWorklog worklog : listWorklogs(jiraUrl, email, password, updated.ids)) {
+                    if (worklog.id() == null) {
+                        continue;
+                    }
+                    final ZonedDateTime worklogStart = worklog.worklog().toJiraWorklog(how, now.getZone()).getStartTime();
+                    if (
+                        Objects.equals(worklog.worklog().authorEmailAddress(), email) &&
+                        dayStart.compareTo(worklogStart) <= 0 &&
+                        worklogStart.compareTo(dayEnd) <= 0
+                    ) {
+                        own.add(worklog);
+                    } else {
+                        // e.g. 'Started' was moved to another day
+                        feed.worklogs.remove(Long.valueOf(worklog.id()));
+                    }
+                }
+                resolveIssueKeys(jiraUrl, email, password, own, feed);
+                for (final JiraResponseDecoders.IdentifiedWorklog worklog : own) {
+                    final Long id = Long.valueOf(worklog.id());
+                    final String key = worklog.issueId() == null ? null : feed.issueKeys.get(worklog.issueId());
+                    if (key == null) {
+                        // issue was deleted or is not visible to the user
+                        feed.worklogs.remove(id);
+                    } else {
+                        feed.worklogs.put(id, worklog.worklog().withKey(key).toJiraWorklog(how, now.getZone()));
+                    }
+                }
+                feed.worklogs.keySet().removeAll(deleted.ids);
+                feed.updatedSince = updated.until;
+                feed.deletedSince = deleted.until;
+                return TodayWorklogSummaryResponse.success(new ArrayList<>(feed.worklogs.values()));
+            } catch (final ErrorResponseException e) {
+                return TodayWorklogSummaryResponse.error(e.getMessage());
+            } catch (final InterruptedException e) {
+                // cancelled
+                Thread.currentThread().interrupt();
+                return TodayWorklogSummaryResponse.error("worklog delta feed error: interrupted");
+            } catch (final Exception e) {
+                logger.error("Error getting today worklog summary", e);
+                return TodayWorklogSummaryResponse.error("worklog delta feed error: " + ExceptionUtils.getRootCauseMessage(e));
+            }
+        }
+    }
+
+    /**
+     * @param change {@code updated} or {@code deleted}
+     */
+    private ChangedWorklogs findChangedWorklogs(
+        final String jiraUrl,
+        final String email,
+        final String password,
+        final String change,
+        final long since
+    ) throws IOException, InterruptedException, ErrorResponseException {
+        final Set<Long> ids = new HashSet<>();
+        long until = since;
+        boolean lastPage = false;
+        while (!lastPage) {
+            final HttpResponse<InputStream> response = send(
+                HttpRequest.newBuilder().
+                    uri(URI.create(baseUrl(jiraUrl) + "rest/api/2/worklog/" + change + "?since=" + until)).
+                    header(HttpHeaders.AUTHORIZATION, client.getAuthorization(email, password, jiraUrl)).
+                    build()
+            );
+            //noinspection unchecked
+            final Map<String, Object> map = OBJECT_MAPPER.readValue(response.body(), Map.class);
+            //noinspection unchecked
+            final List<Map<String, Object>> values = (List<Map<String, Object>>) map.get("values");
+            for (final Map<String, Object> value : values) {
+                ids.add(((Number) value.get("worklogId")).longValue());
+            }
+            final Number pageUntil = (Number) map.get("until");
+            lastPage = values.isEmpty() || pageUntil == null || !Boolean.FALSE.equals(map.get("lastPage"));
+            if (pageUntil != null) {
+                until = Math.max(until, pageUntil.longValue());
+            }
+        }
+        return new ChangedWorklogs(ids, until);
+    }
+
+    private List<JiraResponseDecoders.IdentifiedWorklog> listWorklogs(
+        final String jiraUrl,
+        final String email,
+        final String password,
+        final Set<Long> ids
+    ) throws IOException, InterruptedException, ErrorResponseException {
+        final List<JiraResponseDecoders.IdentifiedWorklog> result = new ArrayList<>(ids.size());
+        for (final List<Long> batch : Iterables.partition(ids, WORKLOG_LIST_MAX_IDS)) {
+            final HttpResponse<InputStream> response = send(
+                HttpRequest.newBuilder().
+                    uri(URI.create(baseUrl(jiraUrl) + "rest/api/2/worklog/list")).
+                    header(HttpHeaders.AUTHORIZATION, client.getAuthorization(email, password, jiraUrl)).
+                    header(HttpHeaders.CONTENT_TYPE, "application/json").
+                    method(
+                        HTTPMethod.POST.name(),
+                        HttpRequest.BodyPublishers.ofString(
+                            OBJECT_MAPPER.writeValueAsString(Map.of("ids", batch)),
+                            StandardCharsets.UTF_8
+                        )
+                    ).
+                    build()
+            );
+            result.addAll(JiraResponseDecoders.decodeWorklogList(response.body()));
+        }
+        return result;
+    }
+
+    private void resolveIssueKeys(
+        final String jiraUrl,
+        final String email,
+        final String password,
+        final List<JiraResponseDecoders.IdentifiedWorklog> worklogs,
+        final WorklogDeltaFeeds.Feed feed
+    ) throws ErrorResponseException {
+        final Set<String> unknown = new HashSet<>();
+        for (final JiraResponseDecoders.IdentifiedWorklog worklog : worklogs) {
+            if (worklog.issueId() != null && !feed.issueKeys.containsKey(worklog.issueId())) {
+                unknown.add(worklog.issueId());
+            }
+        }
+        for (final List<String> batch : Iterables.partition(unknown, SEARCH_MAX_IDS)) {
+            final JiraIssue.Criteria criteria = new JiraIssue.Criteria();
+            criteria.setIds(batch);
+            final FindJiraIssuesResponse issues = client.findIssues(jiraUrl, email, password, criteria, "key");
+            if (issues.getError() != null && !issues.getError().isBlank()) {
+                throw new ErrorResponseException(issues.getError());
+            }
+            for (final JiraIssue issue : issues.getIssues()) {
+                if (issue.getId() != null) {
+                    feed.issueKeys.put(issue.getId(), issue.getKey());
+                }
+            }
+        }
+    }
+
+    private HttpResponse<InputStream> send(
+        final HttpRequest request
+    ) throws IOException, InterruptedException, ErrorResponseException {
+        final HttpResponse<InputStream> response = client.send(
+            request,
+            HttpResponse.BodyHandlers.ofInputStream()
+        );
+        if (response.statusCode() != 200) {
+            try (InputStream ignored = response.body()) {
+                throw new ErrorResponseException(
+                    Objects.requireNonNull(client.getErrorResponse(response, TodayWorklogSummaryResponse::error).getError())
+                );
+            }
+        }
+        return response;
+    }
+
+    private static String baseUrl(final String jiraUrl) {
+        return jiraUrl + (jiraUrl.endsWith("/") ? "" : "/");
+    }
+
+    private record ChangedWorklogs(Set<Long> ids, long until) {
+
+    }
+
+    private static class ErrorResponseException extends Exception {
+
+        ErrorResponseException(final String message) {
+            super(message);
+        }
+
+    }
+
+}
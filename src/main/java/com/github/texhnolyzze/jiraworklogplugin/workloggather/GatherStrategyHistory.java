@@ -0,0 +1,100 @@
+package com.github.texhnolyzze.jiraworklogplugin.workloggather;
+
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency and failures of gather strategies for each Jira url.
+ * Used by {@link AutoWorklogGatherStrategy} to pick the fastest strategy that works with particular Jira
+ */
+public class GatherStrategyHistory {
+
+    /**
+     * Weight of the latest latency in the average
+     */
+    private static final double ALPHA = 0.3;
+
+    private static final Duration MIN_BACKOFF = Duration.ofMinutes(1);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final Map<HistoryKey, Stats> history = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public GatherStrategyHistory(final Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @param latency null, if latency should not be taken into account (e.g. several days were gathered)
+     */
+    void success(
+            final String jiraUrl,
+            final WorklogGatherStrategyEnum strategy,
+            @Nullable final Duration latency
+    ) {
+        final Stats stats = get(jiraUrl, strategy);
+        synchronized (stats) {
+            stats.failures = 0;
+            stats.unavailableUntil = 0;
+            if (latency != null) {
+                final long nanos = latency.toNanos();
+                stats.latencyNanos = stats.latencyNanos == 0 ? nanos : (long) (ALPHA * nanos + (1 - ALPHA) * stats.latencyNanos);
+            }
+        }
+    }
+
+    /**
+     * Strategy is not used for a while, the more failures in a row, the longer
+     */
+    void failure(final String jiraUrl, final WorklogGatherStrategyEnum strategy) {
+        final Stats stats = get(jiraUrl, strategy);
+        synchronized (stats) {
+            final long backoff = Math.min(
+                MIN_BACKOFF.toMillis() << Math.min(stats.failures, 16),
+                MAX_BACKOFF.toMillis()
+            );
+            stats.failures++;
+            stats.unavailableUntil = clock.millis() + backoff;
+        }
+    }
+
+    boolean isAvailable(final String jiraUrl, final WorklogGatherStrategyEnum strategy) {
+        final Stats stats = get(jiraUrl, strategy);
+        synchronized (stats) {
+            return stats.unavailableUntil <= clock.millis();
+        }
+    }
+
+    /**
+     * @return average latency or null, if strategy was never measured with this Jira
+     */
+    @Nullable
+    public Duration getLatency(final String jiraUrl, final WorklogGatherStrategyEnum strategy) {
+        final Stats stats = get(jiraUrl, strategy);
+        synchronized (stats) {
+            return stats.latencyNanos == 0 ? null : Duration.ofNanos(stats.latencyNanos);
+        }
+    }
+
+    private Stats get(final String jiraUrl, final WorklogGatherStrategyEnum strategy) {
+        return history.computeIfAbsent(new HistoryKey(jiraUrl, strategy), unused -> new Stats());
+    }
+
+    private static class Stats {
+
+        private long latencyNanos;
+        private int failures;
+        private long unavailableUntil;
+
+    }
+
+    private record HistoryKey(String jiraUrl, WorklogGatherStrategyEnum strategy) {
+
+    }
+
+}
@@ -2,6 +2,7 @@ package com.github.texhnolyzze.jiraworklogplugin.workloggather;
 
 import com.github.texhnolyzze.jiraworklogplugin.JiraClient;
 import com.github.texhnolyzze.jiraworklogplugin.JiraWorklog;
+import com.github.texhnolyzze.jiraworklogplugin.cache.CachedWorklog;
 import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.FindJiraIssuesResponse;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.FindJiraWorklogsResponse;
@@ -9,21 +10,38 @@ import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraIssue;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.TodayWorklogSummaryResponse;
 import com.intellij.openapi.diagnostic.Logger;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jetbrains.annotations.Nullable;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 
 public class RestApiV2WorklogGatherStrategy extends WorklogGatherStrategy {
 
     private static final Logger logger = Logger.getInstance(RestApiV2WorklogGatherStrategy.class);
 
+    private final boolean embedWorklogs;
+
     public RestApiV2WorklogGatherStrategy(final JiraClient client) {
+        this(client, false);
+    }
+
+    /**
+     * @param embedWorklogs request worklogs along with issues found, so worklogs are fetched separately
+     *                      only for issues with too many worklogs to be embedded
+     */
+    public RestApiV2WorklogGatherStrategy(final JiraClient client, final boolean embedWorklogs) {
         super(client);
+        this.embedWorklogs = embedWorklogs;
     }
 
     @Override
@@ -35,30 +53,49 @@ public class RestApiV2WorklogGatherStrategy extends WorklogGatherStrategy {
     ) {
         try {
             final JiraIssue.Criteria criteria = new JiraIssue.Criteria();
-            criteria.setWorklogDate(LocalDate.now(ZoneId.systemDefault()));
+            criteria.setWorklogDate(LocalDate.now(client.getClock()));
             criteria.setWorklogAuthor(email);
-            final FindJiraIssuesResponse issues = client.findIssues(jiraUrl, email, password, criteria, "key");
+            final String[] fields = embedWorklogs ?
+                                    new String[] {"key", "updated", "worklog"} :
+                                    new String[] {"key", "updated"};
+            final FindJiraIssuesResponse issues = client.findIssues(jiraUrl, email, password, criteria, fields);
             if (issues.getError() != null && !issues.getError().isBlank()) {
                 return TodayWorklogSummaryResponse.error(issues.getError());
             }
             final List<JiraWorklog> worklogs = new ArrayList<>();
-            final ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault());
-            final ZonedDateTime dayStart = now.withHour(0).withMinute(0).withSecond(0);
-            final ZonedDateTime dayEnd = now.withHour(23).withMinute(59).withSecond(59);
+            final ZonedDateTime now = ZonedDateTime.now(client.getClock());
+            final ZonedDateTime dayStart = now.toLocalDate().atStartOfDay(now.getZone());
+            // without fraction of second, so the window (and worklogs cached for it) is the same during the day
+            final ZonedDateTime dayEnd = now.withHour(23).withMinute(59).withSecond(59).withNano(0);
+            // start time determined by subtracting 'Time Spent' is not after 'Started', so 'Started' may be after day end
+            final Instant startedBefore = how == HowToDetermineWhenUserStartedWorkingOnIssue.LEAVE_AS_IS ?
+                                          dayEnd.toInstant() :
+                                          null;
+            final List<FindJiraWorklogsResponse> responses = new ArrayList<>(issues.getIssues().size());
+            final List<JiraIssue> toFetch = new ArrayList<>(issues.getIssues().size());
             for (final JiraIssue issue : issues.getIssues()) {
-                final FindJiraWorklogsResponse response = client.findWorklogs(
-                    jiraUrl,
-                    email,
-                    password,
-                    issue.getKey(),
-                    how
-                );
-                if (response.getError() != null && !response.getError().isBlank()) {
-                    return TodayWorklogSummaryResponse.error(response.getError());
+                final JiraIssue.EmbeddedWorklogs embedded = issue.getWorklogs();
+                if (embedded != null && !embedded.isTruncated()) {
+                    responses.add(FindJiraWorklogsResponse.success(toJiraWorklogs(embedded, how)));
+                } else {
+                    toFetch.add(issue);
                 }
-                final ListIterator<JiraWorklog> iterator = response.getWorklogs().listIterator(response.getWorklogs().size());
-                while (iterator.hasPrevious()) {
-                    final JiraWorklog worklog = iterator.previous();
+            }
+            final String error = fetchWorklogs(
+                jiraUrl,
+                email,
+                password,
+                toFetch,
+                dayStart.toInstant(),
+                startedBefore,
+                how,
+                responses
+            );
+            if (error != null) {
+                return TodayWorklogSummaryResponse.error(error);
+            }
+            for (final FindJiraWorklogsResponse response : responses) {
+                for (final JiraWorklog worklog : response.getWorklogs()) {
                     final String worklogEmail = worklog.getAuthorEmailAddress();
                     if (Objects.equals(worklogEmail, email)) {
                         final ZonedDateTime worklogStart = how.determine(worklog.getStartTime(), worklog.getTimeSpent());
@@ -69,10 +106,107 @@ public class RestApiV2WorklogGatherStrategy extends WorklogGatherStrategy {
                 }
             }
             return TodayWorklogSummaryResponse.success(worklogs);
+        } catch (final InterruptedException e) {
+            // cancelled
+            Thread.currentThread().interrupt();
+            return TodayWorklogSummaryResponse.error("rest api v2 error: interrupted");
         } catch (final Exception e) {
             logger.error("Error getting today worklog summary", e);
             return TodayWorklogSummaryResponse.error("rest api v2 error: " + ExceptionUtils.getRootCauseMessage(e));
         }
     }
 
+    private List<JiraWorklog> toJiraWorklogs(
+        final JiraIssue.EmbeddedWorklogs embedded,
+        final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        final List<JiraWorklog> result = new ArrayList<>(embedded.worklogs().size());
+        for (final CachedWorklog worklog : embedded.worklogs()) {
+            result.add(worklog.toJiraWorklog(how, client.getClock().getZone()));
+        }
+        return result;
+    }
+
+    /**
+     * Fetches worklogs of {@code issues} started within given window with at most {@link JiraClient#getWorklogFetchConcurrency()} requests in flight.
+     * Stops on first error: no new requests are sent and in-flight ones are cancelled.
+     *
+     * @return error message or null, if worklogs of all issues were successfully put to {@code responses}
+     */
+    @Nullable
+    @SuppressWarnings("java:S107")
+    private String fetchWorklogs(
+        final String jiraUrl,
+        final String email,
+        final String password,
+        final Collection<JiraIssue> issues,
+        final Instant startedAfter,
+        @Nullable final Instant startedBefore,
+        final HowToDetermineWhenUserStartedWorkingOnIssue how,
+        final List<FindJiraWorklogsResponse> responses
+    ) throws InterruptedException {
+        final Semaphore permits = new Semaphore(client.getWorklogFetchConcurrency());
+        final CompletableFuture<String> firstError = new CompletableFuture<>();
+        final List<CompletableFuture<FindJiraWorklogsResponse>> futures = new ArrayList<>(issues.size());
+        try {
+            for (final JiraIssue issue : issues) {
+                permits.acquire();
+                if (firstError.isDone()) {
+                    break;
+                }
+                final CompletableFuture<FindJiraWorklogsResponse> future = client.findWorklogsAsync(
+                    jiraUrl,
+                    email,
+                    password,
+                    issue.getKey(),
+                    issue.getUpdated(),
+                    issue.getWorklogs() == null ? null : issue.getWorklogs().total(),
+                    startedAfter,
+                    startedBefore,
+                    how
+                );
+                future.whenComplete(
+                    (response, e) -> {
+                        permits.release();
+                        if (e != null) {
+                            firstError.complete(ExceptionUtils.getRootCauseMessage(e));
+                        } else if (response.getError() != null && !response.getError().isBlank()) {
+                            firstError.complete(response.getError());
+                        }
+                    }
+                );
+                futures.add(future);
+            }
+            try {
+                CompletableFuture.anyOf(
+                    firstError,
+                    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                ).get();
+            } catch (final ExecutionException e) {
+                firstError.complete(ExceptionUtils.getRootCauseMessage(e));
+            }
+        } catch (final InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        if (firstError.isDone()) {
+            futures.forEach(future -> future.cancel(true));
+            return firstError.join();
+        }
+        // all futures are done, but firstError may be not completed yet by them: dependents run in any order
+        for (final CompletableFuture<FindJiraWorklogsResponse> future : futures) {
+            final FindJiraWorklogsResponse response;
+            try {
+                response = future.join();
+            } catch (final CompletionException | CancellationException e) {
+                return ExceptionUtils.getRootCauseMessage(e);
+            }
+            if (response.getError() != null && !response.getError().isBlank()) {
+                return response.getError();
+            }
+            responses.add(response);
+        }
+        return null;
+    }
+
 }
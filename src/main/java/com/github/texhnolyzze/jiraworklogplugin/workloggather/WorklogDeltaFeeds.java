@@ -0,0 +1,60 @@
+package com.github.texhnolyzze.jiraworklogplugin.workloggather;
+
+import com.github.texhnolyzze.jiraworklogplugin.JiraWorklog;
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Today worklogs of each (Jira url, user) pair together with "since" watermarks
+ * of {@code rest/api/2/worklog/updated} and {@code rest/api/2/worklog/deleted}.
+ * Used by {@link DeltaFeedWorklogGatherStrategy}, so repeat requests download only changed worklogs
+ */
+public class WorklogDeltaFeeds {
+
+    private final Map<FeedKey, Feed> feeds = new ConcurrentHashMap<>();
+
+    Feed get(final String jiraUrl, final String email) {
+        return feeds.computeIfAbsent(new FeedKey(jiraUrl, email), unused -> new Feed());
+    }
+
+    static class Feed {
+
+        private LocalDate day;
+        private HowToDetermineWhenUserStartedWorkingOnIssue how;
+
+        long updatedSince;
+        long deletedSince;
+
+        /**
+         * Today worklogs of the user by worklog id
+         */
+        final Map<Long, JiraWorklog> worklogs = new HashMap<>();
+
+        /**
+         * Issue keys by issue id, since worklogs returned by {@code rest/api/2/worklog/list} contain only issue id
+         */
+        final Map<String, String> issueKeys = new HashMap<>();
+
+        boolean isFor(final LocalDate day, final HowToDetermineWhenUserStartedWorkingOnIssue how) {
+            return day.equals(this.day) && how == this.how;
+        }
+
+        void reset(final LocalDate day, final HowToDetermineWhenUserStartedWorkingOnIssue how, final long since) {
+            this.day = day;
+            this.how = how;
+            this.updatedSince = since;
+            this.deletedSince = since;
+            this.worklogs.clear();
+        }
+
+    }
+
+    private record FeedKey(String jiraUrl, String email) {
+
+    }
+
+}
@@ -1,8 +1,18 @@
 package com.github.texhnolyzze.jiraworklogplugin.workloggather;
 
 import com.github.texhnolyzze.jiraworklogplugin.JiraClient;
+import com.github.texhnolyzze.jiraworklogplugin.JiraWorklog;
 import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.DailyWorklogsResponse;
 import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.TodayWorklogSummaryResponse;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 public abstract class WorklogGatherStrategy {
 
@@ -19,4 +29,79 @@ public abstract class WorklogGatherStrategy {
             final HowToDetermineWhenUserStartedWorkingOnIssue how
     );
 
+    /**
+     * Non-blocking variant of {@link #get}. By default {@link #get} is run in background thread,
+     * which is interrupted, if returned future is cancelled
+     */
+    public CompletableFuture<TodayWorklogSummaryResponse> getAsync(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        final CompletableFuture<TodayWorklogSummaryResponse> result = new CompletableFuture<>();
+        final Future<?> task = AppExecutorUtil.getAppExecutorService().submit(
+            () -> {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    result.complete(get(jiraUrl, email, password, how));
+                } catch (final RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        );
+        result.whenComplete(
+            (unused, e) -> {
+                if (result.isCancelled()) {
+                    task.cancel(true);
+                }
+            }
+        );
+        return result;
+    }
+
+    /**
+     * Whether {@link #getAsync(String, String, String, LocalDate, LocalDate, HowToDetermineWhenUserStartedWorkingOnIssue)}
+     * can gather worklogs of days other than today
+     */
+    public boolean canGatherPastDays() {
+        return false;
+    }
+
+    /**
+     * Worklogs of the user started from {@code startDate} to {@code endDate} inclusive, grouped by day.
+     * By default only today worklogs can be gathered
+     */
+    public CompletableFuture<DailyWorklogsResponse> getAsync(
+            final String jiraUrl,
+            final String email,
+            final String password,
+            final LocalDate startDate,
+            final LocalDate endDate,
+            final HowToDetermineWhenUserStartedWorkingOnIssue how
+    ) {
+        final LocalDate today = LocalDate.now(client.getClock());
+        if (!startDate.equals(today) || !endDate.equals(today)) {
+            return CompletableFuture.completedFuture(
+                DailyWorklogsResponse.error("Worklogs of past days can't be gathered with this strategy")
+            );
+        }
+        final CompletableFuture<TodayWorklogSummaryResponse> summary = getAsync(jiraUrl, email, password, how);
+        return JiraClient.cancelling(
+            summary,
+            summary.thenApply(
+                response -> {
+                    if (!StringUtils.isBlank(response.getError())) {
+                        return DailyWorklogsResponse.error(response.getError());
+                    }
+                    final TreeMap<LocalDate, List<JiraWorklog>> worklogs = new TreeMap<>();
+                    worklogs.put(today, response.getWorklogs());
+                    return DailyWorklogsResponse.success(worklogs);
+                }
+            )
+        );
+    }
+
 }
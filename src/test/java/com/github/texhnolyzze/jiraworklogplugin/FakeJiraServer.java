@@ -0,0 +1,675 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import static com.github.texhnolyzze.jiraworklogplugin.utils.Utils.OBJECT_MAPPER;
+
+/**
+ * In-process stand-in for Jira, serving endpoints used by the plugin:
+ * {@code rest/api/2/search}, {@code rest/api/2/issue/{key}/worklog} (GET and POST), {@code rest/api/2/issue/picker},
+ * {@code rest/api/2/worklog/updated}, {@code rest/api/2/worklog/deleted}, {@code rest/api/2/worklog/list}
+ * and {@code rest/timesheet-gadget/1.0/raw-timesheet.json} (for any range of days).<br><br>
+ * Latency, size of the data and failures are configurable, so behaviour of {@link JiraClient}
+ * can be measured without real Jira. Any Basic authorization is accepted, unless password is set.
+ * Search finds issues by {@code id in (...)}, ignores the rest of JQL and finds issues with today worklogs
+ * of {@link #EMAIL} then, picker suggests issues which key contains the query.
+ * Worklogs are updated when they are added, generated ones when started, but before now.
+ * Worklog feeds return worklogs changed after {@code since} in a single page and, unlike Jira's, include the last minute
+ */
+public class FakeJiraServer implements AutoCloseable {
+
+    public static final String EMAIL = "user@example.com";
+    public static final String PASSWORD = "password";
+
+    /**
+     * Jira embeds at most this many worklogs into found issue
+     */
+    private static final int EMBEDDED_WORKLOGS = 20;
+    private static final int DEFAULT_MAX_RESULTS = 50;
+
+    private static final DateTimeFormatter STARTED_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    private static final Pattern WORKLOG_PATH = Pattern.compile("/rest/api/2/issue/([^/]+)/worklog");
+    private static final Pattern ID_IN = Pattern.compile("id in \\(([^)]*)\\)");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(
+        r -> {
+            final Thread thread = new Thread(r, "fake-jira");
+            thread.setDaemon(true);
+            return thread;
+        }
+    );
+
+    private static final String PROJECT = "TEST";
+
+    private final Clock clock;
+    private final Map<String, List<Worklog>> worklogs = new ConcurrentHashMap<>();
+    private final Map<String, Instant> updated = new ConcurrentHashMap<>();
+    private final AtomicLong worklogIds = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final Map<String, AtomicLong> requestsByEndpoint = new ConcurrentHashMap<>();
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+    private final Set<String> closedToWorklogs = ConcurrentHashMap.newKeySet();
+    private final Set<String> searchedById = ConcurrentHashMap.newKeySet();
+    /**
+     * Time of deletion by worklog id
+     */
+    private final Map<Long, Instant> deleted = new ConcurrentHashMap<>();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile int failEvery;
+    private volatile int failureStatus = 503;
+    private volatile boolean compress;
+    private volatile boolean timesheetGadget = true;
+    private volatile boolean startedWindow = true;
+    private volatile String password;
+    private volatile ZoneId timeZone;
+
+    /**
+     * @param clock defines 'today' of generated worklogs, should be the same as the one of {@link JiraClient}
+     */
+    public FakeJiraServer(final Clock clock) throws IOException {
+        this.clock = clock;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/rest/api/2/search", exchange -> handle(exchange, "search"));
+        server.createContext("/rest/api/2/issue/", exchange -> handle(exchange, "worklog"));
+        server.createContext("/rest/api/2/issue/picker", exchange -> handle(exchange, "picker"));
+        server.createContext("/rest/api/2/worklog/updated", exchange -> handle(exchange, "updated"));
+        server.createContext("/rest/api/2/worklog/deleted", exchange -> handle(exchange, "deleted"));
+        server.createContext("/rest/api/2/worklog/list", exchange -> handle(exchange, "list"));
+        server.createContext("/rest/timesheet-gadget/1.0/raw-timesheet.json", exchange -> handle(exchange, "timesheet"));
+        server.start();
+    }
+
+    /**
+     * Creates {@code issues} issues, each with {@code pastWorklogs} worklogs of several users started in previous days
+     * and {@code todayWorklogs} worklogs of {@link #EMAIL} started today
+     *
+     * @param commentLength length of worklog comments, affects size of responses
+     */
+    public void generate(final int issues, final int pastWorklogs, final int todayWorklogs, final int commentLength) {
+        final ZonedDateTime todayStart = LocalDate.now(clock).atStartOfDay(clock.getZone());
+        final String comment = "w".repeat(commentLength);
+        for (int i = 1; i <= issues; i++) {
+            final String key = PROJECT + "-" + i;
+            final List<Worklog> issueWorklogs = new ArrayList<>(pastWorklogs + todayWorklogs);
+            for (int j = pastWorklogs; j > 0; j--) {
+                final Instant started = todayStart.minusDays(j).plusHours(10).toInstant();
+                issueWorklogs.add(
+                    new Worklog(
+                        worklogIds.incrementAndGet(),
+                        started,
+                        Duration.ofMinutes(30).toSeconds(),
+                        comment,
+                        j % 3 == 0 ? EMAIL : "user" + (j % 5) + "@example.com",
+                        started
+                    )
+                );
+            }
+            for (int j = 0; j < todayWorklogs; j++) {
+                final Instant started = todayStart.plusHours(8).plusMinutes(10L * (i * todayWorklogs + j) % (12 * 60)).toInstant();
+                issueWorklogs.add(
+                    new Worklog(
+                        worklogIds.incrementAndGet(),
+                        started,
+                        Duration.ofMinutes(5).toSeconds(),
+                        comment,
+                        EMAIL,
+                        // logged in advance
+                        started.isBefore(clock.instant()) ? started : clock.instant().minus(Duration.ofMinutes(1))
+                    )
+                );
+            }
+            worklogs.put(key, Collections.synchronizedList(issueWorklogs));
+            updated.put(key, todayStart.toInstant());
+        }
+    }
+
+    /**
+     * Key of the {@code n}-th issue, starting from 1
+     */
+    public String getIssueKey(final int n) {
+        return PROJECT + "-" + n;
+    }
+
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Delay before every response
+     */
+    public void setLatency(final Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Every {@code failEvery}-th request is answered with {@code failureStatus}, unless the same request
+     * has just failed, so retried request eventually succeeds. Zero disables failures
+     */
+    public void setFailures(final int failEvery, final int failureStatus) {
+        this.failEvery = failEvery;
+        this.failureStatus = failureStatus;
+    }
+
+    /**
+     * Gzip responses, if client accepts it
+     */
+    public void setCompress(final boolean compress) {
+        this.compress = compress;
+    }
+
+    /**
+     * Whether Timesheet Reports & Gadgets plugin is installed, if not, its endpoint is answered with 404
+     */
+    public void setTimesheetGadget(final boolean timesheetGadget) {
+        this.timesheetGadget = timesheetGadget;
+    }
+
+    /**
+     * Whether worklogs of an issue are filtered by {@code startedAfter}/{@code startedBefore}, as Jira Cloud does.
+     * Jira Server ignores them
+     */
+    public void setStartedWindow(final boolean startedWindow) {
+        this.startedWindow = startedWindow;
+    }
+
+    /**
+     * Time zone in which Timesheet Gadget interprets days of the requested range, the one of the clock by default
+     */
+    public void setTimeZone(final ZoneId timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    /**
+     * Adds worklog, updated now, creating the issue if there is no such one
+     */
+    public void addWorklog(final String issueKey, final Instant started, final Duration timeSpent, final String email) {
+        worklogs.computeIfAbsent(issueKey, unused -> Collections.synchronizedList(new ArrayList<>())).add(
+            new Worklog(worklogIds.incrementAndGet(), started, timeSpent.toSeconds(), "added", email, clock.instant())
+        );
+        updated.put(issueKey, clock.instant());
+    }
+
+    /**
+     * Deletes the first worklog of the issue started today by {@link #EMAIL}
+     */
+    public void deleteTodayWorklog(final String issueKey) {
+        final Instant todayStart = LocalDate.now(clock).atStartOfDay(clock.getZone()).toInstant();
+        final List<Worklog> issueWorklogs = worklogs.get(issueKey);
+        synchronized (issueWorklogs) {
+            final Worklog worklog = issueWorklogs.stream().
+                filter(candidate -> candidate.startedByUserWithin(todayStart, todayStart.plus(Duration.ofDays(1)))).
+                findFirst().
+                orElseThrow();
+            issueWorklogs.remove(worklog);
+            deleted.put(worklog.id(), clock.instant());
+        }
+        updated.put(issueKey, clock.instant());
+    }
+
+    /**
+     * Whether search by {@code id in (...)} has looked up the issue
+     */
+    public boolean isSearchedById(final String issueKey) {
+        return searchedById.contains(issueKey);
+    }
+
+    /**
+     * Adding worklog to the issue is answered with {@code 403}, as Jira does when user has no permission to log work
+     */
+    public void closeToWorklogs(final String issueKey) {
+        closedToWorklogs.add(issueKey);
+    }
+
+    /**
+     * Only Basic authorization with this password is accepted, if not null
+     */
+    public void setPassword(final String password) {
+        this.password = password;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @param endpoint one of {@code search}, {@code worklog}, {@code timesheet}
+     */
+    public long getRequests(final String endpoint) {
+        final AtomicLong count = requestsByEndpoint.get(endpoint);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Total time spent today by {@link #EMAIL}, as strategies should find it
+     */
+    public Duration getTimeSpentToday() {
+        final LocalDate today = LocalDate.now(clock);
+        return getTimeSpent(today, today);
+    }
+
+    /**
+     * Total time spent by {@link #EMAIL} in worklogs started from {@code startDate} to {@code endDate} inclusive
+     */
+    public Duration getTimeSpent(final LocalDate startDate, final LocalDate endDate) {
+        final Instant start = startDate.atStartOfDay(clock.getZone()).toInstant();
+        final Instant end = endDate.plusDays(1).atStartOfDay(clock.getZone()).toInstant();
+        long seconds = 0;
+        for (final Worklog worklog : allWorklogs()) {
+            if (worklog.startedByUserWithin(start, end)) {
+                seconds += worklog.timeSpentSeconds();
+            }
+        }
+        return Duration.ofSeconds(seconds);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange, final String endpoint) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            requestsByEndpoint.computeIfAbsent(endpoint, unused -> new AtomicLong()).incrementAndGet();
+            if (!latency.isZero()) {
+                Thread.sleep(latency.toMillis());
+            }
+            final int every = failEvery;
+            final String uri = exchange.getRequestMethod() + " " + exchange.getRequestURI();
+            if (every > 0 && requests.get() % every == 0 && failed.add(uri)) {
+                respond(exchange, failureStatus, Map.of("errorMessages", List.of("Injected failure")));
+                return;
+            }
+            failed.remove(uri);
+            if (endpoint.equals("timesheet") && !timesheetGadget) {
+                respond(exchange, 404, Map.of("errorMessages", List.of("Not Found")));
+                return;
+            }
+            final String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (authorization == null || !authorization.startsWith("Basic ") || !passwordMatches(authorization)) {
+                respond(exchange, 401, Map.of("errorMessages", List.of("Unauthorized")));
+                return;
+            }
+            final Map<String, String> query = query(exchange);
+            switch (endpoint) {
+                case "search" -> search(exchange, query);
+                case "worklog" -> worklog(exchange, query);
+                case "picker" -> picker(exchange, query);
+                case "updated" -> updatedWorklogs(exchange, query);
+                case "deleted" -> deletedWorklogs(exchange, query);
+                case "list" -> listWorklogs(exchange);
+                default -> timesheet(exchange, query);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean passwordMatches(final String authorization) {
+        final String expected = password;
+        if (expected == null) {
+            return true;
+        }
+        final String decoded = new String(
+            Base64.getDecoder().decode(authorization.substring("Basic ".length())),
+            StandardCharsets.UTF_8
+        );
+        return decoded.endsWith(":" + expected);
+    }
+
+    private void search(final HttpExchange exchange, final Map<String, String> query) throws IOException {
+        final int startAt = Integer.parseInt(query.getOrDefault("startAt", "0"));
+        final int maxResults = Integer.parseInt(query.getOrDefault("maxResults", String.valueOf(DEFAULT_MAX_RESULTS)));
+        final List<String> requestedFields = List.of(query.getOrDefault("fields", "").split(","));
+        final boolean embedWorklogs = requestedFields.contains("worklog");
+        final Instant todayStart = LocalDate.now(clock).atStartOfDay(clock.getZone()).toInstant();
+        final Instant todayEnd = todayStart.plus(Duration.ofDays(1));
+        final List<String> found = new ArrayList<>();
+        final Matcher idIn = ID_IN.matcher(query.getOrDefault("jql", ""));
+        if (idIn.find()) {
+            for (final String id : idIn.group(1).split(",")) {
+                final String key = PROJECT + "-" + id.trim();
+                if (worklogs.containsKey(key)) {
+                    found.add(key);
+                    searchedById.add(key);
+                }
+            }
+        } else {
+            for (final Map.Entry<String, List<Worklog>> entry : sortedIssues()) {
+                if (snapshot(entry.getValue()).stream().anyMatch(worklog -> worklog.startedByUserWithin(todayStart, todayEnd))) {
+                    found.add(entry.getKey());
+                }
+            }
+        }
+        final List<Map<String, Object>> issues = new ArrayList<>();
+        for (int i = startAt; i < Math.min(found.size(), startAt + maxResults); i++) {
+            final String key = found.get(i);
+            final List<Worklog> issueWorklogs = snapshot(worklogs.get(key));
+            final Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("updated", format(updated.get(key)));
+            if (requestedFields.contains("summary")) {
+                fields.put("summary", "Issue " + key);
+            }
+            if (requestedFields.contains("issuetype")) {
+                fields.put("issuetype", Map.of("name", "Task"));
+            }
+            if (embedWorklogs) {
+                final List<Map<String, Object>> embedded = new ArrayList<>();
+                for (final Worklog worklog : issueWorklogs.subList(0, Math.min(EMBEDDED_WORKLOGS, issueWorklogs.size()))) {
+                    embedded.add(worklog.toJson(key));
+                }
+                fields.put(
+                    "worklog",
+                    Map.of(
+                        "startAt", 0,
+                        "maxResults", EMBEDDED_WORKLOGS,
+                        "total", issueWorklogs.size(),
+                        "worklogs", embedded
+                    )
+                );
+            }
+            issues.add(Map.of("id", issueId(key), "key", key, "fields", fields));
+        }
+        respond(
+            exchange,
+            200,
+            Map.of("startAt", startAt, "maxResults", maxResults, "total", found.size(), "issues", issues)
+        );
+    }
+
+    private void picker(final HttpExchange exchange, final Map<String, String> query) throws IOException {
+        final String text = query.getOrDefault("query", "").toUpperCase(Locale.ROOT);
+        final List<Map<String, Object>> issues = new ArrayList<>();
+        for (final Map.Entry<String, List<Worklog>> entry : sortedIssues()) {
+            final String key = entry.getKey();
+            if (key.contains(text)) {
+                issues.add(
+                    Map.of(
+                        "id", issueId(key),
+                        "key", key,
+                        "keyHtml", key,
+                        "summary", "Issue <b>" + key + "</b>",
+                        "summaryText", "Issue " + key
+                    )
+                );
+            }
+        }
+        respond(
+            exchange,
+            200,
+            Map.of(
+                "sections",
+                List.of(
+                    Map.of("id", "hs", "label", "History Search", "issues", List.of()),
+                    Map.of("id", "cs", "label", "Current Search", "issues", issues)
+                )
+            )
+        );
+    }
+
+    private void worklog(final HttpExchange exchange, final Map<String, String> query) throws IOException {
+        final Matcher matcher = WORKLOG_PATH.matcher(exchange.getRequestURI().getPath());
+        final List<Worklog> issueWorklogs = matcher.matches() ? worklogs.get(matcher.group(1)) : null;
+        if (issueWorklogs == null) {
+            respond(exchange, 404, Map.of("errorMessages", List.of("Issue Does Not Exist")));
+            return;
+        }
+        final String key = matcher.group(1);
+        if ("POST".equals(exchange.getRequestMethod())) {
+            if (closedToWorklogs.contains(key)) {
+                respond(
+                    exchange,
+                    403,
+                    Map.of("errorMessages", List.of("You do not have the permission to associate a worklog to this issue."))
+                );
+                return;
+            }
+            @SuppressWarnings("unchecked")
+            final Map<String, Object> body = OBJECT_MAPPER.readValue(exchange.getRequestBody(), Map.class);
+            final String started = (String) body.get("started");
+            final Worklog worklog = new Worklog(
+                worklogIds.incrementAndGet(),
+                ZonedDateTime.parse(started, STARTED_FORMAT).toInstant(),
+                ((Number) body.get("timeSpentSeconds")).longValue(),
+                (String) body.get("comment"),
+                EMAIL,
+                clock.instant()
+            );
+            issueWorklogs.add(worklog);
+            updated.put(key, clock.instant());
+            respond(exchange, 201, worklog.toJson(key));
+            return;
+        }
+        final long startedAfter = Long.parseLong(query.getOrDefault("startedAfter", String.valueOf(Long.MIN_VALUE)));
+        final long startedBefore = Long.parseLong(query.getOrDefault("startedBefore", String.valueOf(Long.MAX_VALUE)));
+        final List<Worklog> matching = new ArrayList<>();
+        for (final Worklog worklog : snapshot(issueWorklogs)) {
+            final long started = worklog.started().toEpochMilli();
+            if (!startedWindow || started >= startedAfter && started <= startedBefore) {
+                matching.add(worklog);
+            }
+        }
+        final int startAt = Integer.parseInt(query.getOrDefault("startAt", "0"));
+        final int maxResults = Integer.parseInt(query.getOrDefault("maxResults", "5000"));
+        final List<Map<String, Object>> page = new ArrayList<>();
+        for (int i = startAt; i < Math.min(matching.size(), startAt + maxResults); i++) {
+            page.add(matching.get(i).toJson(key));
+        }
+        respond(
+            exchange,
+            200,
+            Map.of("startAt", startAt, "maxResults", maxResults, "total", matching.size(), "worklogs", page)
+        );
+    }
+
+    private void updatedWorklogs(final HttpExchange exchange, final Map<String, String> query) throws IOException {
+        final Map<Long, Instant> changed = new HashMap<>();
+        for (final Worklog worklog : allWorklogs()) {
+            changed.put(worklog.id(), worklog.updated());
+        }
+        respondChanged(exchange, query, changed);
+    }
+
+    private void deletedWorklogs(final HttpExchange exchange, final Map<String, String> query) throws IOException {
+        respondChanged(exchange, query, deleted);
+    }
+
+    /**
+     * @param changed time of change by worklog id
+     */
+    private void respondChanged(
+        final HttpExchange exchange,
+        final Map<String, String> query,
+        final Map<Long, Instant> changed
+    ) throws IOException {
+        final long since = Long.parseLong(query.getOrDefault("since", "0"));
+        final List<Map<String, Object>> values = new ArrayList<>();
+        long until = since;
+        for (final Map.Entry<Long, Instant> entry : changed.entrySet()) {
+            final long time = entry.getValue().toEpochMilli();
+            if (time > since) {
+                values.add(Map.of("worklogId", entry.getKey(), "updatedTime", time));
+                until = Math.max(until, time);
+            }
+        }
+        respond(exchange, 200, Map.of("values", values, "since", since, "until", until, "lastPage", true));
+    }
+
+    private void listWorklogs(final HttpExchange exchange) throws IOException {
+        @SuppressWarnings("unchecked")
+        final Map<String, List<Number>> body = OBJECT_MAPPER.readValue(exchange.getRequestBody(), Map.class);
+        final Set<Long> ids = new HashSet<>();
+        body.get("ids").forEach(id -> ids.add(id.longValue()));
+        final List<Map<String, Object>> result = new ArrayList<>();
+        for (final Map.Entry<String, List<Worklog>> entry : sortedIssues()) {
+            for (final Worklog worklog : snapshot(entry.getValue())) {
+                if (ids.contains(worklog.id())) {
+                    result.add(worklog.toJson(entry.getKey()));
+                }
+            }
+        }
+        respond(exchange, 200, result);
+    }
+
+    private void timesheet(final HttpExchange exchange, final Map<String, String> query) throws IOException {
+        final ZoneId zone = timeZone == null ? clock.getZone() : timeZone;
+        final LocalDate today = LocalDate.now(clock.withZone(zone));
+        final Instant start = LocalDate.parse(query.getOrDefault("startDate", today.toString())).
+            atStartOfDay(zone).
+            toInstant();
+        final Instant end = LocalDate.parse(query.getOrDefault("endDate", today.toString())).
+            plusDays(1).
+            atStartOfDay(zone).
+            toInstant();
+        final List<Map<String, Object>> issues = new ArrayList<>();
+        for (final Map.Entry<String, List<Worklog>> entry : sortedIssues()) {
+            final List<Map<String, Object>> entries = new ArrayList<>();
+            for (final Worklog worklog : snapshot(entry.getValue())) {
+                if (worklog.startedByUserWithin(start, end)) {
+                    entries.add(
+                        Map.of(
+                            "id", worklog.id(),
+                            "comment", worklog.comment(),
+                            "timeSpent", worklog.timeSpentSeconds(),
+                            "author", "user",
+                            "startDate", worklog.started().toEpochMilli()
+                        )
+                    );
+                }
+            }
+            if (!entries.isEmpty()) {
+                issues.add(Map.of("key", entry.getKey(), "summary", entry.getKey(), "entries", entries));
+            }
+        }
+        respond(exchange, 200, Map.of("worklog", issues, "startDate", start.toEpochMilli()));
+    }
+
+    private void respond(final HttpExchange exchange, final int status, final Object body) throws IOException {
+        byte[] bytes = OBJECT_MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        final String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (compress && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private List<Map.Entry<String, List<Worklog>>> sortedIssues() {
+        final List<Map.Entry<String, List<Worklog>>> issues = new ArrayList<>(worklogs.entrySet());
+        issues.sort(Map.Entry.comparingByKey());
+        return issues;
+    }
+
+    private static List<Worklog> snapshot(final List<Worklog> worklogs) {
+        synchronized (worklogs) {
+            return new ArrayList<>(worklogs);
+        }
+    }
+
+    private List<Worklog> allWorklogs() {
+        final List<Worklog> result = new ArrayList<>();
+        for (final List<Worklog> issueWorklogs : worklogs.values()) {
+            result.addAll(snapshot(issueWorklogs));
+        }
+        return result;
+    }
+
+    private static Map<String, String> query(final HttpExchange exchange) {
+        final String raw = exchange.getRequestURI().getRawQuery();
+        final Map<String, String> result = new HashMap<>();
+        if (raw == null) {
+            return result;
+        }
+        for (final String param : raw.split("&")) {
+            final int eq = param.indexOf('=');
+            if (eq > 0) {
+                result.put(
+                    param.substring(0, eq),
+                    URLDecoder.decode(param.substring(eq + 1), StandardCharsets.UTF_8)
+                );
+            }
+        }
+        return result;
+    }
+
+    private static String issueId(final String key) {
+        return key.substring(key.indexOf('-') + 1);
+    }
+
+    private static String format(final Instant started) {
+        return STARTED_FORMAT.format(started.atZone(ZoneId.systemDefault()));
+    }
+
+    private record Worklog(long id, Instant started, long timeSpentSeconds, String comment, String email, Instant updated) {
+
+        boolean startedByUserWithin(final Instant start, final Instant end) {
+            return EMAIL.equals(email) && !started.isBefore(start) && started.isBefore(end);
+        }
+
+        Map<String, Object> toJson(final String key) {
+            final Map<String, Object> author = Map.of(
+                "name", email.substring(0, email.indexOf('@')),
+                "emailAddress", email,
+                "displayName", email
+            );
+            final Map<String, Object> json = new LinkedHashMap<>();
+            json.put("id", String.valueOf(id));
+            json.put("issueId", issueId(key));
+            json.put("author", author);
+            json.put("updateAuthor", author);
+            json.put("comment", comment);
+            json.put("created", format(started));
+            json.put("updated", format(updated));
+            json.put("started", format(started));
+            json.put("timeSpentSeconds", timeSpentSeconds);
+            return json;
+        }
+
+    }
+
+}
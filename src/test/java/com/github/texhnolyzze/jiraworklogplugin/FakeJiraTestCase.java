@@ -0,0 +1,77 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.TodayWorklogSummaryResponse;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.testFramework.ServiceContainerUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Test working with {@link FakeJiraServer} through {@link JiraClient} of the test project.<br><br>
+ * The client doesn't share caches with IDE or other tests: they are kept in a temporary directory.
+ * Its clock stands still at noon of {@link #TODAY} (unless moved by test), so results don't depend on when tests run
+ */
+public abstract class FakeJiraTestCase extends BasePlatformTestCase {
+
+    protected static final LocalDate TODAY = LocalDate.of(2023, 8, 15);
+
+    protected final MutableClock clock = new MutableClock(
+        TODAY.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant(),
+        ZoneId.systemDefault()
+    );
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        resetClient();
+    }
+
+    /**
+     * Replaces client of the test project with the one that has nothing cached
+     */
+    protected JiraClient resetClient() throws IOException {
+        final JiraClientCore core = new JiraClientCore(Files.createTempDirectory("jira-worklog-plugin"), clock);
+        Disposer.register(getTestRootDisposable(), core);
+        final JiraClient client = new JiraClient(getProject(), core);
+        ServiceContainerUtil.replaceService(getProject(), JiraClient.class, client, getTestRootDisposable());
+        return client;
+    }
+
+    protected JiraClient getClient() {
+        return JiraClient.getInstance(getProject());
+    }
+
+    protected FakeJiraServer newServer() throws IOException {
+        return new FakeJiraServer(clock);
+    }
+
+    protected TodayWorklogSummaryResponse gather(final WorklogGatherStrategyEnum strategy, final FakeJiraServer server) {
+        return strategy.create(getClient()).get(
+            server.getUrl(),
+            FakeJiraServer.EMAIL,
+            FakeJiraServer.PASSWORD,
+            HowToDetermineWhenUserStartedWorkingOnIssue.LEAVE_AS_IS
+        );
+    }
+
+    /**
+     * Asserts that {@code response} has all worklogs of {@link FakeJiraServer#EMAIL} started today
+     */
+    protected static void assertFound(final FakeJiraServer server, final TodayWorklogSummaryResponse response) {
+        assertTrue(response.getError(), StringUtils.isBlank(response.getError()));
+        Duration found = Duration.ZERO;
+        for (final JiraWorklog worklog : response.getWorklogs()) {
+            found = found.plus(worklog.getTimeSpent());
+        }
+        assertEquals(server.getTimeSpentToday(), found);
+    }
+
+}
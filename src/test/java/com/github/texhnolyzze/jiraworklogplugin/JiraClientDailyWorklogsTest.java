@@ -0,0 +1,82 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.DailyWorklogsResponse;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+public class JiraClientDailyWorklogsTest extends FakeJiraTestCase {
+
+    private static final LocalDate WEEK_AGO = TODAY.minusDays(6);
+
+    public void testPastDaysAreServedFromCache() throws IOException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(10, 10, 3, 200);
+            final DailyWorklogsResponse week = dailyWorklogs(server, WEEK_AGO, TODAY);
+            assertDays(server, week, WEEK_AGO, TODAY);
+            assertFound(server, week.getDay(TODAY));
+            final long requests = server.getRequests();
+            assertDays(server, dailyWorklogs(server, WEEK_AGO, TODAY.minusDays(1)), WEEK_AGO, TODAY.minusDays(1));
+            assertEquals(requests, server.getRequests());
+            // only today is fetched
+            assertEquals(week.getTimeSpent(), dailyWorklogs(server, WEEK_AGO, TODAY).getTimeSpent());
+            assertEquals(requests + 1, server.getRequests());
+        }
+    }
+
+    public void testAdjacentRangesOfJiraInAnotherTimeZone() throws IOException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(10, 10, 3, 200);
+            // worklogs started in the morning are in another day for Jira
+            final int offset = clock.getZone().getRules().getOffset(clock.instant()).getTotalSeconds();
+            server.setTimeZone(ZoneOffset.ofTotalSeconds(offset + (offset > 0 ? -15 : 15) * 3600));
+            final LocalDate middle = TODAY.minusDays(3);
+            assertDays(server, dailyWorklogs(server, WEEK_AGO, middle), WEEK_AGO, middle);
+            assertDays(server, dailyWorklogs(server, middle.plusDays(1), TODAY), middle.plusDays(1), TODAY);
+            final long requests = server.getRequests();
+            // cached past days are the same
+            assertDays(server, dailyWorklogs(server, WEEK_AGO, TODAY), WEEK_AGO, TODAY);
+            assertEquals(requests + 1, server.getRequests());
+        }
+    }
+
+    private static void assertDays(
+        final FakeJiraServer server,
+        final DailyWorklogsResponse response,
+        final LocalDate startDate,
+        final LocalDate endDate
+    ) {
+        assertTrue(response.getError(), StringUtils.isBlank(response.getError()));
+        assertEquals(startDate, response.getWorklogs().firstKey());
+        assertEquals(endDate, response.getWorklogs().lastKey());
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            Duration timeSpent = Duration.ZERO;
+            for (final JiraWorklog worklog : response.getWorklogs().get(day)) {
+                timeSpent = timeSpent.plus(worklog.getTimeSpent());
+            }
+            assertEquals(day.toString(), server.getTimeSpent(day, day), timeSpent);
+        }
+    }
+
+    private DailyWorklogsResponse dailyWorklogs(
+        final FakeJiraServer server,
+        final LocalDate startDate,
+        final LocalDate endDate
+    ) {
+        return getClient().getDailyWorklogsAsync(
+            server.getUrl(),
+            FakeJiraServer.EMAIL,
+            FakeJiraServer.PASSWORD,
+            WorklogGatherStrategyEnum.TIMESHEET_GADGET,
+            startDate,
+            endDate,
+            HowToDetermineWhenUserStartedWorkingOnIssue.LEAVE_AS_IS
+        ).join();
+    }
+
+}
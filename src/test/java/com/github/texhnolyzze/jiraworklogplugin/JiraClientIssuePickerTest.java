@@ -0,0 +1,32 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.FindJiraIssuesResponse;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraIssue;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class JiraClientIssuePickerTest extends FakeJiraTestCase {
+
+    public void testIssuesArePicked() throws IOException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(10, 0, 1, 200);
+            final FindJiraIssuesResponse response = JiraClient.await(
+                getClient().pickIssuesAsync(server.getUrl(), FakeJiraServer.EMAIL, FakeJiraServer.PASSWORD, server.getIssueKey(1)),
+                FindJiraIssuesResponse::error
+            );
+            assertTrue(response.getError(), StringUtils.isBlank(response.getError()));
+            final Map<String, JiraIssue> issues = new HashMap<>();
+            response.getIssues().forEach(issue -> issues.put(issue.getKey(), issue));
+            assertEquals(Set.of(server.getIssueKey(1), server.getIssueKey(10)), issues.keySet());
+            final JiraIssue issue = issues.get(server.getIssueKey(1));
+            assertFalse(issue.hasDetails());
+            assertEquals("Issue " + server.getIssueKey(1), issue.prettySummary());
+            assertEquals(1, server.getRequests("picker"));
+        }
+    }
+
+}
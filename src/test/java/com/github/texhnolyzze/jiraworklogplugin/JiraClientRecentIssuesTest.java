@@ -0,0 +1,64 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.FindJiraIssuesResponse;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraIssue;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class JiraClientRecentIssuesTest extends FakeJiraTestCase {
+
+    private static final int ISSUES = 10;
+
+    public void testFoundIssuesAreSuggestedLocally() throws IOException {
+        final JiraClient client = getClient();
+        try (FakeJiraServer server = newServer()) {
+            server.generate(ISSUES, 0, 1, 200);
+            final JiraIssue.Criteria criteria = new JiraIssue.Criteria();
+            criteria.setKey(server.getIssueKey(1));
+            final FindJiraIssuesResponse response = client.findIssues(
+                server.getUrl(),
+                FakeJiraServer.EMAIL,
+                FakeJiraServer.PASSWORD,
+                criteria
+            );
+            assertTrue(response.getError(), StringUtils.isBlank(response.getError()));
+            final long requests = server.getRequests();
+            awaitRecorded(client, server);
+            final List<String> byKey = suggest(client, server, server.getIssueKey(1)).stream().map(JiraIssue::getKey).toList();
+            assertEquals(Set.of(server.getIssueKey(1), server.getIssueKey(10)), Set.copyOf(byKey));
+            final String project = server.getIssueKey(1).substring(0, 5).toLowerCase(Locale.ROOT);
+            assertEquals(ISSUES, suggest(client, server, "SSU " + project).size());
+            assertTrue(suggest(client, server, "missing").isEmpty());
+            final JiraIssue recent = client.getRecentIssue(server.getUrl(), FakeJiraServer.EMAIL, server.getIssueKey(2));
+            assertNotNull(recent);
+            assertTrue(recent.hasDetails());
+            assertEquals("(Task) Issue " + server.getIssueKey(2), recent.prettySummary());
+            // issues found by one user are not suggested to another
+            client.loadRecentIssues(server.getUrl(), "other@example.com").join();
+            assertNull(client.getRecentIssue(server.getUrl(), "other@example.com", server.getIssueKey(2)));
+            assertEquals(requests, server.getRequests());
+        }
+    }
+
+    /**
+     * Found issues are indexed in background
+     */
+    private static void awaitRecorded(final JiraClient client, final FakeJiraServer server) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (client.getRecentIssue(server.getUrl(), FakeJiraServer.EMAIL, server.getIssueKey(1)) == null) {
+            assertTrue("Found issues are not recorded", System.nanoTime() < deadline);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private static List<JiraIssue> suggest(final JiraClient client, final FakeJiraServer server, final String query) {
+        return client.suggestRecentIssues(server.getUrl(), FakeJiraServer.EMAIL, query, ISSUES);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.FindJiraWorklogsResponse;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+
+public class JiraClientWorklogsTest extends FakeJiraTestCase {
+
+    private static final int PAST_WORKLOGS = 1000;
+    private static final int TODAY_WORKLOGS = 3;
+
+    public void testLastPageIsRequestedFirstWhenJiraIgnoresWindow() throws IOException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(3, PAST_WORKLOGS, TODAY_WORKLOGS, 10);
+            server.setStartedWindow(false);
+            // whether Jira applies the window is not known yet, so the first page is requested,
+            // then the last two: the last one has worklogs started within the window
+            assertTodayWorklogsFound(server, 1, PAST_WORKLOGS + TODAY_WORKLOGS);
+            assertEquals(3, server.getRequests("worklog"));
+            assertTodayWorklogsFound(server, 2, PAST_WORKLOGS + TODAY_WORKLOGS);
+            assertEquals(5, server.getRequests("worklog"));
+        }
+    }
+
+    public void testWindowAppliedByJiraIsRequestedFromFirstPage() throws IOException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(3, PAST_WORKLOGS, TODAY_WORKLOGS, 10);
+            assertTodayWorklogsFound(server, 1, PAST_WORKLOGS + TODAY_WORKLOGS);
+            assertEquals(1, server.getRequests("worklog"));
+            assertTodayWorklogsFound(server, 2, PAST_WORKLOGS + TODAY_WORKLOGS);
+            assertEquals(2, server.getRequests("worklog"));
+        }
+    }
+
+    public void testLastWorklogsAreFoundWithOutdatedTotal() throws IOException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(3, PAST_WORKLOGS, TODAY_WORKLOGS, 10);
+            server.setStartedWindow(false);
+            assertTodayWorklogsFound(server, 1, PAST_WORKLOGS + TODAY_WORKLOGS);
+            final long requests = server.getRequests("worklog");
+            // e.g. worklogs were added after search, so the page before the last one is requested first
+            assertTodayWorklogsFound(server, 2, PAST_WORKLOGS);
+            assertEquals(requests + 3, server.getRequests("worklog"));
+        }
+    }
+
+    private void assertTodayWorklogsFound(final FakeJiraServer server, final int issue, final int worklogsTotal) {
+        final Instant todayStart = TODAY.atStartOfDay(clock.getZone()).toInstant();
+        final FindJiraWorklogsResponse response = getClient().findWorklogsAsync(
+            server.getUrl(),
+            FakeJiraServer.EMAIL,
+            FakeJiraServer.PASSWORD,
+            server.getIssueKey(issue),
+            null,
+            worklogsTotal,
+            todayStart,
+            null,
+            HowToDetermineWhenUserStartedWorkingOnIssue.LEAVE_AS_IS
+        ).join();
+        assertTrue(response.getError(), StringUtils.isBlank(response.getError()));
+        assertEquals(TODAY_WORKLOGS, response.getWorklogs().size());
+    }
+
+}
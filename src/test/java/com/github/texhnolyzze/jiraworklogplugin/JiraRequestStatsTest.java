@@ -0,0 +1,54 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class JiraRequestStatsTest extends FakeJiraTestCase {
+
+    public void testRequestStatsAreRecorded() throws IOException, InterruptedException {
+        final JiraClient client = getClient();
+        try (FakeJiraServer server = newServer()) {
+            server.generate(10, 10, 3, 200);
+            server.setTimesheetGadget(false);
+            assertFound(
+                server,
+                client.getTodayWorklogSummary(
+                    server.getUrl(),
+                    FakeJiraServer.EMAIL,
+                    FakeJiraServer.PASSWORD,
+                    WorklogGatherStrategyEnum.AUTO,
+                    HowToDetermineWhenUserStartedWorkingOnIssue.LEAVE_AS_IS
+                )
+            );
+            Map<String, JiraRequestStats.Snapshot> stats = stats(client);
+            // strategies that lost the race are still awaited in background
+            for (int i = 0; i < 100 && stats.keySet().stream().filter(endpoint -> endpoint.startsWith("gather")).count() < 4; i++) {
+                Thread.sleep(50);
+                stats = stats(client);
+            }
+            final JiraRequestStats.Snapshot timesheet = stats.get("GET rest/timesheet-gadget/1.0/raw-timesheet.json");
+            assertEquals(timesheet.count(), timesheet.errors());
+            final JiraRequestStats.Snapshot search = stats.get("GET rest/api/2/search");
+            assertTrue(search.count() > 0);
+            assertTrue(search.bytes() > 0);
+            assertTrue(search.p50Millis() <= search.maxMillis());
+            assertEquals(1, stats.get("gather AUTO").count());
+            assertEquals(0, stats.get("gather AUTO").errors());
+            // strategies tried by AUTO
+            assertEquals(1, stats.get("gather TIMESHEET_GADGET").errors());
+            assertEquals(0, stats.get("gather REST_API_V2").errors());
+            assertEquals(0, stats.get("gather REST_API_V2_EMBEDDED_WORKLOGS").errors());
+        }
+    }
+
+    private static Map<String, JiraRequestStats.Snapshot> stats(final JiraClient client) {
+        final Map<String, JiraRequestStats.Snapshot> stats = new HashMap<>();
+        client.getRequestStats().snapshot().forEach(snapshot -> stats.put(snapshot.endpoint(), snapshot));
+        return stats;
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import junit.framework.TestCase;
+
+import java.util.Map;
+
+public class LatencyHistogramTest extends TestCase {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    public void testSmallLatenciesHaveOwnBuckets() {
+        for (int micros = 0; micros < 8; micros++) {
+            assertEquals(micros, LatencyHistogram.bucket(micros));
+            assertEquals(micros, LatencyHistogram.lowerBound(micros));
+        }
+    }
+
+    public void testBucketsSplitPowersOfTwoIntoQuarters() {
+        assertEquals(8, LatencyHistogram.lowerBound(LatencyHistogram.bucket(9)));
+        assertEquals(10, LatencyHistogram.lowerBound(LatencyHistogram.bucket(11)));
+        assertEquals(1024, LatencyHistogram.lowerBound(LatencyHistogram.bucket(1279)));
+        assertEquals(1280, LatencyHistogram.lowerBound(LatencyHistogram.bucket(1280)));
+        for (long micros = 1; micros < 1L << 40; micros = micros * 3 / 2 + 1) {
+            final int bucket = LatencyHistogram.bucket(micros);
+            final long lower = LatencyHistogram.lowerBound(bucket);
+            final long upper = LatencyHistogram.lowerBound(bucket + 1);
+            assertTrue(micros + " in [" + lower + ", " + upper + ")", lower <= micros && micros < upper);
+            assertTrue(micros + " bucket is too wide", (upper - lower) * 4 <= Math.max(4, lower));
+        }
+    }
+
+    public void testHugeLatenciesGoToLastBucket() {
+        assertEquals(LatencyHistogram.bucket(Long.MAX_VALUE), LatencyHistogram.bucket(1L << 50));
+        assertTrue(LatencyHistogram.bucket(1L << 40) < LatencyHistogram.bucket(1L << 50));
+    }
+
+    public void testEmpty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanMicros());
+        assertEquals(0, histogram.getMaxMicros());
+        assertEquals(0, histogram.getPercentileMicros(0.5));
+        assertTrue(histogram.getBuckets().isEmpty());
+    }
+
+    public void testPercentiles() {
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(millis * 1_000_000L);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50_500, histogram.getMeanMicros());
+        assertEquals(100_000, histogram.getMaxMicros());
+        assertAround(50_000, histogram.getPercentileMicros(0.5));
+        assertAround(90_000, histogram.getPercentileMicros(0.9));
+        assertAround(99_000, histogram.getPercentileMicros(0.99));
+        assertEquals(100_000, histogram.getPercentileMicros(1));
+        assertAround(1_000, histogram.getPercentileMicros(0));
+    }
+
+    public void testPercentileIsNotAboveMax() {
+        // lower bound of [896, 1024) bucket
+        histogram.record(896_000);
+        assertEquals(896, histogram.getPercentileMicros(0.99));
+    }
+
+    public void testBucketsCountAllRecords() {
+        histogram.record(1_000);
+        histogram.record(1_100);
+        histogram.record(50_000_000);
+        final Map<Long, Long> buckets = histogram.getBuckets();
+        assertEquals(Long.valueOf(2), buckets.get(LatencyHistogram.lowerBound(LatencyHistogram.bucket(1))));
+        assertEquals(3, buckets.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private static void assertAround(final long expected, final long actual) {
+        assertTrue(expected + " ~ " + actual, Math.abs(actual - expected) <= expected / 8);
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Clock that stands still until it's moved by test
+ */
+public class MutableClock extends Clock {
+
+    private final ZoneId zone;
+    private volatile Instant instant;
+
+    public MutableClock(final Instant instant, final ZoneId zone) {
+        this.instant = instant;
+        this.zone = zone;
+    }
+
+    public void advance(final Duration duration) {
+        instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+        return new MutableClock(instant, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+public class ResponseDecompressionTest extends TestCase {
+
+    private static final byte[] BODY = body();
+
+    private final ResponseDecompression decompression = new ResponseDecompression();
+    private final AtomicLong wireBytes = new AtomicLong();
+
+    public void testIdentityIsPassedAsIs() {
+        assertTrue(Arrays.equals(BODY, decode(null, BODY, 1000)));
+        assertEquals(BODY.length, wireBytes.get());
+        assertEquals(BODY.length, decompression.getWireBytes());
+        assertEquals(BODY.length, decompression.getDecodedBytes());
+    }
+
+    public void testGzip() throws IOException {
+        final byte[] gzip = gzip(BODY);
+        assertTrue(Arrays.equals(BODY, decode("gzip", gzip, 1000)));
+        assertEquals(gzip.length, wireBytes.get());
+        assertEquals(gzip.length, decompression.getWireBytes());
+        assertEquals(BODY.length, decompression.getDecodedBytes());
+    }
+
+    public void testGzipSplitIntoSingleBytes() throws IOException {
+        assertTrue(Arrays.equals(BODY, decode("gzip", gzip(BODY), 1)));
+    }
+
+    public void testGzipWithOptionalHeaderFields() throws IOException {
+        final byte[] gzip = gzip(BODY);
+        final ByteArrayOutputStream withFields = new ByteArrayOutputStream();
+        withFields.write(gzip, 0, 3);
+        // FEXTRA | FNAME | FCOMMENT | FHCRC
+        withFields.write(4 | 8 | 16 | 2);
+        withFields.write(gzip, 4, 6);
+        withFields.write(new byte[] {3, 0, 'a', 'b', 'c'});
+        withFields.write("name\0comment\0".getBytes(StandardCharsets.ISO_8859_1));
+        withFields.write(new byte[] {0, 0});
+        withFields.write(gzip, 10, gzip.length - 10);
+        assertTrue(Arrays.equals(BODY, decode("gzip", withFields.toByteArray(), 1)));
+    }
+
+    public void testMultiMemberGzip() throws IOException {
+        final byte[] first = "first member, ".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        gzip.write(gzip(first));
+        gzip.write(gzip(BODY));
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(first);
+        expected.write(BODY);
+        assertTrue(Arrays.equals(expected.toByteArray(), decode("gzip", gzip.toByteArray(), 7)));
+    }
+
+    public void testTruncatedGzipFails() throws IOException {
+        final byte[] gzip = gzip(BODY);
+        assertFailsWithZipException("gzip", Arrays.copyOf(gzip, gzip.length / 2));
+        // only trailer is missing
+        assertFailsWithZipException("gzip", Arrays.copyOf(gzip, gzip.length - 4));
+    }
+
+    public void testCorruptGzipTrailerFails() throws IOException {
+        final byte[] gzip = gzip(BODY);
+        gzip[gzip.length - 8] ^= 1;
+        assertFailsWithZipException("gzip", gzip);
+        final byte[] size = gzip(BODY);
+        size[size.length - 1] ^= 1;
+        assertFailsWithZipException("gzip", size);
+    }
+
+    public void testNotGzipFails() {
+        assertFailsWithZipException("gzip", BODY);
+    }
+
+    public void testZlibDeflate() throws IOException {
+        final ByteArrayOutputStream zlib = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(zlib)) {
+            out.write(BODY);
+        }
+        assertTrue(Arrays.equals(BODY, decode("deflate", zlib.toByteArray(), 1)));
+        assertTrue(Arrays.equals(BODY, decode("deflate", zlib.toByteArray(), 1000)));
+    }
+
+    public void testRawDeflate() throws IOException {
+        final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(raw, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+            out.write(BODY);
+        }
+        assertTrue(Arrays.equals(BODY, decode("deflate", raw.toByteArray(), 1)));
+        assertTrue(Arrays.equals(BODY, decode("deflate", raw.toByteArray(), 1000)));
+    }
+
+    public void testTruncatedDeflateFails() throws IOException {
+        final ByteArrayOutputStream zlib = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(zlib)) {
+            out.write(BODY);
+        }
+        assertFailsWithZipException("deflate", Arrays.copyOf(zlib.toByteArray(), zlib.size() / 2));
+    }
+
+    public void testEmptyBodyWithContentEncoding() {
+        assertEquals(0, decode("gzip", new byte[0], 1000).length);
+    }
+
+    private void assertFailsWithZipException(final String encoding, final byte[] body) {
+        try {
+            decode(encoding, body, 100);
+            fail("Decoding must fail");
+        } catch (final CompletionException e) {
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof ZipException);
+        }
+    }
+
+    private byte[] decode(final String encoding, final byte[] body, final int chunkSize) {
+        final HttpResponse.BodySubscriber<byte[]> subscriber = decompression.
+            decoding(HttpResponse.BodyHandlers.ofByteArray(), wireBytes::addAndGet).
+            apply(new Info(encoding));
+        subscriber.onSubscribe(
+            new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                    // all chunks are pushed at once
+                }
+
+                @Override
+                public void cancel() {
+                    // nothing to cancel
+                }
+            }
+        );
+        for (int from = 0; from < body.length; from += chunkSize) {
+            final List<ByteBuffer> item = new ArrayList<>();
+            item.add(ByteBuffer.wrap(Arrays.copyOfRange(body, from, Math.min(body.length, from + chunkSize))));
+            subscriber.onNext(item);
+        }
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture().join();
+    }
+
+    private static byte[] gzip(final byte[] body) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(result)) {
+            out.write(body);
+        }
+        return result.toByteArray();
+    }
+
+    private static byte[] body() {
+        final StringBuilder result = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            result.append("{\"key\": \"ABC-").append(i).append("\", \"timeSpentSeconds\": ").append(i * 37).append("},");
+        }
+        return result.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Info(String encoding) implements HttpResponse.ResponseInfo {
+
+        @Override
+        public int statusCode() {
+            return 200;
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return HttpHeaders.of(
+                encoding == null ? Map.of() : Map.of("Content-Encoding", List.of(encoding)),
+                (name, value) -> true
+            );
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+
+    }
+
+}
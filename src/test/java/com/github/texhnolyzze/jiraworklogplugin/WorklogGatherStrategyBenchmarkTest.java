@@ -0,0 +1,93 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures gathering of today worklogs end-to-end (through {@link JiraClient}, with its rate limiting,
+ * caching and decompression) against {@link FakeJiraServer}.<br><br>
+ * Every measurement starts with fresh server and client, so first ('cold') run has nothing cached, the following ('warm') runs
+ * show effect of caches. Results are logged, tests fail only if strategy finds wrong worklogs.<br><br>
+ * It's not a part of {@code test} task, run it with {@code benchmarkTest}
+ */
+public class WorklogGatherStrategyBenchmarkTest extends FakeJiraTestCase {
+
+    private static final Logger logger = Logger.getInstance(WorklogGatherStrategyBenchmarkTest.class);
+
+    private static final int WARM_RUNS = 5;
+    private static final int ISSUES = 10;
+    private static final int TODAY_WORKLOGS = 3;
+    private static final int COMMENT_LENGTH = 200;
+
+    private static final List<WorklogGatherStrategyEnum> STRATEGIES = List.of(
+        WorklogGatherStrategyEnum.REST_API_V2,
+        WorklogGatherStrategyEnum.REST_API_V2_EMBEDDED_WORKLOGS,
+        WorklogGatherStrategyEnum.TIMESHEET_GADGET
+    );
+
+    public void testNoLatency() throws IOException {
+        for (final WorklogGatherStrategyEnum strategy : STRATEGIES) {
+            measure(strategy, Duration.ZERO, 10, false);
+        }
+    }
+
+    public void testLatency() throws IOException {
+        for (final WorklogGatherStrategyEnum strategy : STRATEGIES) {
+            measure(strategy, Duration.ofMillis(50), 10, false);
+        }
+    }
+
+    public void testLongWorklogHistory() throws IOException {
+        for (final WorklogGatherStrategyEnum strategy : STRATEGIES) {
+            measure(strategy, Duration.ofMillis(50), 1000, false);
+            measure(strategy, Duration.ofMillis(50), 1000, true);
+        }
+    }
+
+    private void measure(
+        final WorklogGatherStrategyEnum strategy,
+        final Duration latency,
+        final int pastWorklogs,
+        final boolean compress
+    ) throws IOException {
+        resetClient();
+        try (FakeJiraServer server = newServer()) {
+            server.generate(ISSUES, pastWorklogs, TODAY_WORKLOGS, COMMENT_LENGTH);
+            server.setLatency(latency);
+            server.setCompress(compress);
+            long start = System.nanoTime();
+            assertFound(server, gather(strategy, server));
+            final long cold = System.nanoTime() - start;
+            final long coldRequests = server.getRequests();
+            final List<Long> warm = new ArrayList<>(WARM_RUNS);
+            for (int i = 0; i < WARM_RUNS; i++) {
+                start = System.nanoTime();
+                assertFound(server, gather(strategy, server));
+                warm.add(System.nanoTime() - start);
+            }
+            Collections.sort(warm);
+            logger.info(
+                String.format(
+                    Locale.ROOT,
+                    "%-30s latency=%4dms past=%5d gzip=%-5s cold=%7.1fms (%3d requests) warm median=%7.1fms (%3d requests/run)",
+                    strategy,
+                    latency.toMillis(),
+                    pastWorklogs,
+                    compress,
+                    cold / 1e6,
+                    coldRequests,
+                    warm.get(WARM_RUNS / 2) / 1e6,
+                    (server.getRequests() - coldRequests) / WARM_RUNS
+                )
+            );
+        }
+    }
+
+}
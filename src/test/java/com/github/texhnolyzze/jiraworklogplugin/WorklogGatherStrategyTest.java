@@ -0,0 +1,66 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraIssue;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+public class WorklogGatherStrategyTest extends FakeJiraTestCase {
+
+    private static final List<WorklogGatherStrategyEnum> STRATEGIES = List.of(
+        WorklogGatherStrategyEnum.REST_API_V2,
+        WorklogGatherStrategyEnum.REST_API_V2_EMBEDDED_WORKLOGS,
+        WorklogGatherStrategyEnum.TIMESHEET_GADGET,
+        WorklogGatherStrategyEnum.DELTA_FEED
+    );
+
+    public void testFailuresAreRetried() throws IOException {
+        for (final WorklogGatherStrategyEnum strategy : STRATEGIES) {
+            final JiraClient client = resetClient();
+            try (FakeJiraServer server = newServer()) {
+                server.generate(10, 10, 3, 200);
+                server.setFailures(1, 503);
+                assertFound(server, gather(strategy, server));
+                assertTrue(client.getRetriedRequests() > 0);
+            }
+        }
+    }
+
+    public void testFailedWorklogRequestFailsGathering() throws IOException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(10, 10, 3, 200);
+            // every second request fails and 400 is not retried
+            server.setFailures(2, 400);
+            final String error = gather(WorklogGatherStrategyEnum.REST_API_V2, server).getError();
+            assertFalse(StringUtils.isBlank(error));
+        }
+    }
+
+    public void testAddedWorklogIsFound() throws IOException {
+        for (final WorklogGatherStrategyEnum strategy : STRATEGIES) {
+            final JiraClient client = resetClient();
+            try (FakeJiraServer server = newServer()) {
+                server.generate(10, 10, 3, 200);
+                assertFound(server, gather(strategy, server));
+                final String error = client.addWorklog(
+                    server.getUrl(),
+                    FakeJiraServer.EMAIL,
+                    FakeJiraServer.PASSWORD,
+                    new JiraIssue(null, server.getIssueKey(1), null, null, null, null, null, null),
+                    Duration.ofMinutes(1),
+                    "test",
+                    null,
+                    null,
+                    HowToDetermineWhenUserStartedWorkingOnIssue.LEAVE_AS_IS
+                ).getError();
+                assertTrue(error, StringUtils.isBlank(error));
+                assertFound(server, gather(strategy, server));
+            }
+        }
+    }
+
+}
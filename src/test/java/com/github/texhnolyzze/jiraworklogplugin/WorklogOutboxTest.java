@@ -0,0 +1,202 @@
+package com.github.texhnolyzze.jiraworklogplugin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.texhnolyzze.jiraworklogplugin.jirarequest.PendingWorklog;
+import com.intellij.credentialStore.Credentials;
+import com.intellij.ide.passwordSafe.PasswordSafe;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static com.github.texhnolyzze.jiraworklogplugin.utils.PluginCredentialsUtils.getCredentialAttributes;
+import static com.github.texhnolyzze.jiraworklogplugin.utils.Utils.OBJECT_MAPPER;
+
+public class WorklogOutboxTest extends FakeJiraTestCase {
+
+    private static final LocalDate DAY = LocalDate.of(2023, 8, 1);
+    private static final long TIME_SPENT_SECONDS = 600;
+
+    private final WorklogOutbox outbox = new WorklogOutbox();
+    private Path journal;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        journal = Files.createTempDirectory("outbox").resolve("journal.jsonl");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            outbox.cancel();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testAttemptedWorklogAddedBeforeCrashIsNotAddedAgain() throws IOException, InterruptedException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(1, 0, 0, 10);
+            rememberCredentials(server, FakeJiraServer.PASSWORD);
+            // Jira kept neither seconds nor milliseconds of 'Started'
+            final PendingWorklog added = worklog(server, "added", "12:00:00.000");
+            final String error = getClient().addWorklogAsync(added, FakeJiraServer.PASSWORD).
+                join().
+                getError();
+            assertNull(error, error);
+            final PendingWorklog queued = worklog(server, "queued", "12:00:37.415");
+            writeJournal(record("add", queued), record("attempt", queued));
+            outbox.setup(getProject(), journal);
+            await(() -> outbox.size() == 0);
+            assertEquals(Duration.ofSeconds(TIME_SPENT_SECONDS), server.getTimeSpent(DAY, DAY));
+            assertFalse(Files.exists(journal));
+        }
+    }
+
+    public void testAttemptedWorklogMissingInJiraIsAddedAgain() throws IOException, InterruptedException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(1, 0, 0, 10);
+            rememberCredentials(server, FakeJiraServer.PASSWORD);
+            final PendingWorklog queued = worklog(server, "queued", "12:00:00.000");
+            writeJournal(record("add", queued), record("attempt", queued));
+            outbox.setup(getProject(), journal);
+            await(() -> outbox.size() == 0);
+            assertEquals(Duration.ofSeconds(TIME_SPENT_SECONDS), server.getTimeSpent(DAY, DAY));
+        }
+    }
+
+    public void testJournalIsCompactedOnLoad() throws IOException {
+        // there are no credentials for this Jira, so nothing is sent
+        final String jiraUrl = "http://localhost:1/" + journal.getParent().getFileName();
+        final PendingWorklog attempted = worklog(jiraUrl, "ABC-1", "attempted", "12:00:00.000");
+        final PendingWorklog done = worklog(jiraUrl, "ABC-1", "done", "12:10:00.000");
+        final PendingWorklog queued = worklog(jiraUrl, "ABC-1", "queued", "12:20:00.000");
+        writeJournal(
+            record("add", attempted),
+            record("add", done),
+            record("attempt", attempted),
+            record("attempt", done),
+            record("done", done),
+            record("add", queued),
+            // e.g. IDE crashed while the line was written
+            "{\"op\": \"add\", \"id\": \"tru"
+        );
+        outbox.setup(getProject(), journal);
+        assertEquals(2, outbox.size());
+        final List<String> records = new ArrayList<>();
+        for (final String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+            final JsonNode record = OBJECT_MAPPER.readTree(line);
+            records.add(record.get("op").asText() + " " + record.get("id").asText());
+        }
+        assertEquals(List.of("add attempted", "attempt attempted", "add queued"), records);
+    }
+
+    public void testRejectedCredentialsAreNotUsedAgain() throws IOException, InterruptedException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(1, 0, 0, 10);
+            server.setPassword("changed");
+            rememberCredentials(server, FakeJiraServer.PASSWORD);
+            outbox.setup(getProject(), journal);
+            outbox.enqueue(worklog(server, "queued", "12:00:00.000"));
+            await(() -> server.getRequests("worklog") == 1);
+            // the same credentials
+            outbox.credentialsChanged();
+            Thread.sleep(200);
+            assertEquals(1, server.getRequests("worklog"));
+            assertEquals(1, outbox.size());
+            rememberCredentials(server, "changed");
+            outbox.credentialsChanged();
+            await(() -> outbox.size() == 0);
+            assertEquals(Duration.ofSeconds(TIME_SPENT_SECONDS), server.getTimeSpent(DAY, DAY));
+        }
+    }
+
+    public void testWorklogWaitsForCredentialsOfItsUser() throws IOException, InterruptedException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(1, 0, 0, 10);
+            PasswordSafe.getInstance().set(
+                getCredentialAttributes(server.getUrl()),
+                new Credentials("other@example.com", FakeJiraServer.PASSWORD)
+            );
+            outbox.setup(getProject(), journal);
+            outbox.enqueue(worklog(server, "queued", "12:00:00.000"));
+            Thread.sleep(200);
+            assertEquals(1, outbox.size());
+            assertEquals(0, server.getRequests("worklog"));
+            rememberCredentials(server, FakeJiraServer.PASSWORD);
+            outbox.credentialsChanged();
+            await(() -> outbox.size() == 0);
+            assertEquals(Duration.ofSeconds(TIME_SPENT_SECONDS), server.getTimeSpent(DAY, DAY));
+        }
+    }
+
+    public void testWorklogForbiddenByJiraIsDropped() throws IOException, InterruptedException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(2, 0, 0, 10);
+            server.closeToWorklogs(server.getIssueKey(1));
+            rememberCredentials(server, FakeJiraServer.PASSWORD);
+            outbox.setup(getProject(), journal);
+            outbox.enqueue(worklog(server, "forbidden", "12:00:00.000"));
+            // worklogs of the same user are not blocked
+            outbox.enqueue(worklog(server.getUrl(), server.getIssueKey(2), "allowed", "12:10:00.000"));
+            await(() -> outbox.size() == 0);
+            assertEquals(Duration.ofSeconds(TIME_SPENT_SECONDS), server.getTimeSpent(DAY, DAY));
+            assertEquals(2, server.getRequests("worklog"));
+        }
+    }
+
+    private static void rememberCredentials(final FakeJiraServer server, final String password) {
+        PasswordSafe.getInstance().set(
+            getCredentialAttributes(server.getUrl()),
+            new Credentials(FakeJiraServer.EMAIL, password)
+        );
+    }
+
+    private PendingWorklog worklog(final FakeJiraServer server, final String id, final String time) {
+        return worklog(server.getUrl(), server.getIssueKey(1), id, time);
+    }
+
+    private PendingWorklog worklog(final String jiraUrl, final String issue, final String id, final String time) {
+        return new PendingWorklog(
+            id,
+            jiraUrl,
+            FakeJiraServer.EMAIL,
+            issue,
+            getProject().getName(),
+            TIME_SPENT_SECONDS,
+            "outbox",
+            DAY + "T" + time + "+0000",
+            null,
+            null
+        );
+    }
+
+    private static String record(final String op, final PendingWorklog worklog) throws IOException {
+        final Map<String, Object> record = new LinkedHashMap<>();
+        record.put("op", op);
+        record.put("id", worklog.id());
+        record.put("worklog", "add".equals(op) ? worklog : null);
+        return OBJECT_MAPPER.writeValueAsString(record);
+    }
+
+    private void writeJournal(final String... records) throws IOException {
+        Files.write(journal, List.of(records), StandardCharsets.UTF_8);
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 200 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.github.texhnolyzze.jiraworklogplugin.cache;
+
+import com.github.texhnolyzze.jiraworklogplugin.MutableClock;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraIssue;
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+public class IssueSearchCacheTest extends TestCase {
+
+    private static final String JIRA_URL = "https://jira.example.com/";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2023-08-01T10:00:00Z"), ZoneOffset.UTC);
+    private final IssueSearchCache cache = new IssueSearchCache(clock);
+
+    public void testEntryExpires() {
+        final IssueSearchCache.Key key = key("user@example.com", "key = ABC-1");
+        cache.put(key, issues("ABC-1"));
+        clock.advance(IssueSearchCache.TTL);
+        assertEquals(issues("ABC-1"), cache.get(key));
+        clock.advance(Duration.ofMillis(1));
+        assertNull(cache.get(key));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        for (int i = 0; i < IssueSearchCache.MAX_ENTRIES; i++) {
+            cache.put(key("user@example.com", "key = ABC-" + i), issues("ABC-" + i));
+        }
+        // makes the first entry recently used, so the second one is the eldest
+        assertNotNull(cache.get(key("user@example.com", "key = ABC-0")));
+        cache.put(key("user@example.com", "key = ABC-new"), issues("ABC-1000"));
+        assertNotNull(cache.get(key("user@example.com", "key = ABC-0")));
+        assertNull(cache.get(key("user@example.com", "key = ABC-1")));
+        assertNotNull(cache.get(key("user@example.com", "key = ABC-new")));
+    }
+
+    public void testEntriesOfUserAreIsolated() {
+        cache.put(key("first@example.com", "key = ABC-1"), issues("ABC-1"));
+        cache.put(key("second@example.com", "key = ABC-1"), issues("ABC-1"));
+        assertNull(cache.get(key("third@example.com", "key = ABC-1")));
+        cache.invalidateUser(JIRA_URL, "first@example.com");
+        assertNull(cache.peek(key("first@example.com", "key = ABC-1")));
+        assertNotNull(cache.peek(key("second@example.com", "key = ABC-1")));
+    }
+
+    private static IssueSearchCache.Key key(final String user, final String jql) {
+        return new IssueSearchCache.Key(JIRA_URL, user, jql, "", 100);
+    }
+
+    private static NavigableSet<JiraIssue> issues(final String key) {
+        final NavigableSet<JiraIssue> issues = new TreeSet<>();
+        issues.add(new JiraIssue("1", key, "Summary", "Task", null, null, null, null));
+        return issues;
+    }
+
+}
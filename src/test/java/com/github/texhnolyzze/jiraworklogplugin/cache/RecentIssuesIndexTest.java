@@ -0,0 +1,185 @@
+package com.github.texhnolyzze.jiraworklogplugin.cache;
+
+import com.github.texhnolyzze.jiraworklogplugin.MutableClock;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.JiraIssue;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+public class RecentIssuesIndexTest extends TestCase {
+
+    private static final String JIRA_URL = "https://jira.example.com/";
+    private static final String EMAIL = "user@example.com";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2023-08-15T12:00:00Z"), ZoneOffset.UTC);
+    private Path root;
+    private RecentIssuesIndex index;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        root = Files.createTempDirectory("recent-issues");
+        index = new RecentIssuesIndex(root, clock, Runnable::run);
+    }
+
+    public void testIssuesAreSuggestedByKeyPrefix() {
+        index.record(JIRA_URL, EMAIL, List.of(issue("ABC-1", "Fix login"), issue("ABC-12", "Fix logout"), issue("XYZ-1", "Other")));
+        assertEquals(List.of("ABC-1", "ABC-12"), keys(index.suggest(JIRA_URL, EMAIL, "abc-1", 10)));
+        assertEquals(List.of("ABC-12"), keys(index.suggest(JIRA_URL, EMAIL, "ABC-12", 10)));
+        assertEquals(List.of("ABC-1"), keys(index.suggest(JIRA_URL, EMAIL, "ABC-1", 1)));
+        assertTrue(index.suggest(JIRA_URL, EMAIL, " ", 10).isEmpty());
+    }
+
+    public void testIssuesAreSuggestedByWordsOfSummary() {
+        index.record(JIRA_URL, EMAIL, List.of(issue("ABC-1", "Fix login page"), issue("ABC-2", "Login timeout")));
+        clock.advance(Duration.ofMinutes(1));
+        index.record(JIRA_URL, EMAIL, List.of(issue("ABC-3", "Page layout")));
+        // most recently seen first
+        assertEquals(List.of("ABC-3", "ABC-1"), keys(index.suggest(JIRA_URL, EMAIL, "PAGE", 10)));
+        assertEquals(List.of("ABC-1"), keys(index.suggest(JIRA_URL, EMAIL, "page logi", 10)));
+        // too short to be looked up by trigrams
+        assertEquals(Set.of("ABC-1", "ABC-2"), Set.copyOf(keys(index.suggest(JIRA_URL, EMAIL, "in", 10))));
+        assertTrue(index.suggest(JIRA_URL, EMAIL, "logout", 10).isEmpty());
+    }
+
+    public void testIssuesAreKeptPerJiraAndUser() {
+        index.record(JIRA_URL, EMAIL, List.of(issue("ABC-1", "Fix login")));
+        assertNotNull(index.get(JIRA_URL, EMAIL, "abc-1"));
+        assertNull(index.get(JIRA_URL, "other@example.com", "ABC-1"));
+        assertNull(index.get("https://other.example.com/", EMAIL, "ABC-1"));
+        assertTrue(index.suggest(JIRA_URL, "other@example.com", "login", 10).isEmpty());
+    }
+
+    public void testIssuesWithoutDetailsAreIgnored() {
+        index.record(JIRA_URL, EMAIL, List.of(new JiraIssue(null, "ABC-1", "Fix login", null, null, null, null, null)));
+        assertNull(index.get(JIRA_URL, EMAIL, "ABC-1"));
+        index.record(JIRA_URL, EMAIL, List.of(issue("ABC-1", "Fix login")));
+        // picked issue doesn't replace found one
+        index.record(JIRA_URL, EMAIL, List.of(new JiraIssue(null, "ABC-1", "Fix login", null, null, null, null, null)));
+        assertTrue(index.get(JIRA_URL, EMAIL, "ABC-1").hasDetails());
+    }
+
+    public void testUpdatedSummaryIsReindexed() {
+        index.record(JIRA_URL, EMAIL, List.of(issue("ABC-1", "Fix login")));
+        index.record(JIRA_URL, EMAIL, List.of(issue("ABC-1", "Fix logout")));
+        assertTrue(index.suggest(JIRA_URL, EMAIL, "login", 10).isEmpty());
+        assertEquals(List.of("ABC-1"), keys(index.suggest(JIRA_URL, EMAIL, "logout", 10)));
+    }
+
+    public void testLeastRecentlySeenIssueIsEvicted() {
+        for (int i = 0; i < RecentIssuesIndex.MAX_ISSUES; i++) {
+            index.record(JIRA_URL, EMAIL, List.of(issue("ABC-" + i, "Issue " + i)));
+            clock.advance(Duration.ofMillis(1));
+        }
+        // seen again, so the second one is the eldest
+        index.record(JIRA_URL, EMAIL, List.of(issue("ABC-0", "Issue 0")));
+        index.record(JIRA_URL, EMAIL, List.of(issue("ABC-new", "Issue new")));
+        assertNotNull(index.get(JIRA_URL, EMAIL, "ABC-0"));
+        assertNull(index.get(JIRA_URL, EMAIL, "ABC-1"));
+        assertNotNull(index.get(JIRA_URL, EMAIL, "ABC-new"));
+    }
+
+    public void testIssuesAreReadInBackground() {
+        final List<Runnable> tasks = new ArrayList<>();
+        index.record(JIRA_URL, EMAIL, List.of(issue("ABC-1", "Fix login")));
+        final RecentIssuesIndex restarted = new RecentIssuesIndex(root, clock, tasks::add);
+        // nothing is suggested until index is read
+        assertTrue(restarted.suggest(JIRA_URL, EMAIL, "login", 10).isEmpty());
+        assertNull(restarted.get(JIRA_URL, EMAIL, "ABC-1"));
+        assertFalse(restarted.load(JIRA_URL, EMAIL).isDone());
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertTrue(restarted.load(JIRA_URL, EMAIL).isDone());
+        assertEquals(List.of("ABC-1"), keys(restarted.suggest(JIRA_URL, EMAIL, "login", 10)));
+        final JiraIssue issue = restarted.get(JIRA_URL, EMAIL, "ABC-1");
+        assertEquals("(Task) Fix login", issue.prettySummary());
+        assertEquals(Integer.valueOf(3600), issue.getTimeEstimateSeconds());
+        assertEquals("In Progress", issue.getStatus().name());
+    }
+
+    public void testIssuesAreRecordedInBackground() {
+        final List<Runnable> tasks = new ArrayList<>();
+        final RecentIssuesIndex background = new RecentIssuesIndex(root, clock, tasks::add);
+        background.load(JIRA_URL, EMAIL);
+        tasks.remove(0).run();
+        final CompletableFuture<Void> recorded = background.recordAsync(JIRA_URL, EMAIL, List.of(issue("ABC-1", "Fix login")));
+        assertFalse(recorded.isDone());
+        assertNull(background.get(JIRA_URL, EMAIL, "ABC-1"));
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertTrue(recorded.isDone());
+        assertNotNull(background.get(JIRA_URL, EMAIL, "ABC-1"));
+    }
+
+    public void testCancelledLoadStillReadsIndex() {
+        index.record(JIRA_URL, EMAIL, List.of(issue("ABC-1", "Fix login")));
+        final List<Runnable> tasks = new ArrayList<>();
+        final RecentIssuesIndex restarted = new RecentIssuesIndex(root, clock, tasks::add);
+        restarted.load(JIRA_URL, EMAIL).cancel(true);
+        tasks.forEach(Runnable::run);
+        assertNotNull(restarted.get(JIRA_URL, EMAIL, "ABC-1"));
+    }
+
+    public void testConcurrentRecordsAreAllWritten() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> records = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final JiraIssue issue = issue("ABC-" + i, "Issue " + i);
+                records.add(executor.submit(() -> index.record(JIRA_URL, EMAIL, List.of(issue))));
+            }
+            for (final Future<?> record : records) {
+                record.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        final RecentIssuesIndex restarted = new RecentIssuesIndex(root, clock, Runnable::run);
+        assertEquals(100, restarted.suggest(JIRA_URL, EMAIL, "ABC-", 1000).size());
+        try (Stream<Path> files = Files.list(root)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    public void testUnreadableIndexIsEmpty() throws IOException {
+        index.record(JIRA_URL, EMAIL, List.of(issue("ABC-1", "Fix login")));
+        try (Stream<Path> files = Files.list(root)) {
+            Files.writeString(files.findFirst().orElseThrow(), "{");
+        }
+        final RecentIssuesIndex restarted = new RecentIssuesIndex(root, clock, Runnable::run);
+        assertNull(restarted.get(JIRA_URL, EMAIL, "ABC-1"));
+        restarted.record(JIRA_URL, EMAIL, List.of(issue("ABC-2", "Fix logout")));
+        assertNotNull(restarted.get(JIRA_URL, EMAIL, "ABC-2"));
+    }
+
+    private static JiraIssue issue(final String key, final String summary) {
+        return new JiraIssue(
+            key,
+            key,
+            summary,
+            "Task",
+            3600,
+            null,
+            new JiraIssue.Status("3", "In Progress"),
+            null
+        );
+    }
+
+    private static List<String> keys(final List<JiraIssue> issues) {
+        return issues.stream().map(JiraIssue::getKey).toList();
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.github.texhnolyzze.jiraworklogplugin.cache;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTest extends TestCase {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CompletableFuture<String> source = new CompletableFuture<>();
+
+    public void testIdenticalCallsAreCoalesced() throws ExecutionException, InterruptedException {
+        final SingleFlight.Joined<String> first = flights.join("key", this::call);
+        final SingleFlight.Joined<String> second = flights.join("key", this::call);
+        assertTrue(first.started());
+        assertFalse(second.started());
+        assertEquals(1, calls.get());
+        source.complete("value");
+        assertEquals("value", first.result().get());
+        assertEquals("value", second.result().get());
+    }
+
+    public void testCallsWithDifferentKeysAreNotCoalesced() {
+        flights.execute("first", this::call);
+        flights.execute("second", this::call);
+        assertEquals(2, calls.get());
+        assertEquals(2, flights.size());
+    }
+
+    public void testFlightIsRemovedOnceCompleted() {
+        flights.execute("key", this::call);
+        assertEquals(1, flights.size());
+        source.complete("value");
+        assertEquals(0, flights.size());
+        final SingleFlight.Joined<String> next = flights.join("key", () -> CompletableFuture.completedFuture("next"));
+        assertTrue(next.started());
+        assertEquals("next", next.result().join());
+    }
+
+    public void testFailureIsSharedAndFlightIsRemoved() {
+        final CompletableFuture<String> first = flights.execute("key", this::call);
+        final CompletableFuture<String> second = flights.execute("key", this::call);
+        source.completeExceptionally(new IllegalStateException("failed"));
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(0, flights.size());
+    }
+
+    public void testCancellingOneCallerKeepsCallForOthers() {
+        final CompletableFuture<String> first = flights.execute("key", this::call);
+        final CompletableFuture<String> second = flights.execute("key", this::call);
+        first.cancel(true);
+        assertFalse(source.isCancelled());
+        source.complete("value");
+        assertEquals("value", second.join());
+    }
+
+    public void testCallIsCancelledOnceAllCallersCancelled() {
+        final CompletableFuture<String> first = flights.execute("key", this::call);
+        final CompletableFuture<String> second = flights.execute("key", this::call);
+        first.cancel(true);
+        second.cancel(true);
+        assertTrue(source.isCancelled());
+        assertEquals(0, flights.size());
+        // abandoned flight is not joined
+        final SingleFlight.Joined<String> next = flights.join("key", () -> CompletableFuture.completedFuture("next"));
+        assertTrue(next.started());
+        assertEquals("next", next.result().join());
+    }
+
+    private CompletableFuture<String> call() {
+        calls.incrementAndGet();
+        return source;
+    }
+
+}
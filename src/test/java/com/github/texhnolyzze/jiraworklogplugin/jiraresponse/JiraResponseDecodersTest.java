@@ -0,0 +1,64 @@
+package com.github.texhnolyzze.jiraworklogplugin.jiraresponse;
+
+import com.github.texhnolyzze.jiraworklogplugin.cache.CachedWorklog;
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class JiraResponseDecodersTest extends TestCase {
+
+    private static final String STARTED = "2023-08-01T10:15:30.000+0300";
+
+    public void testWorklogListSkipsWorklogsWithoutStarted() throws IOException {
+        final List<JiraResponseDecoders.IdentifiedWorklog> worklogs = JiraResponseDecoders.decodeWorklogList(
+            json(
+                "[" +
+                    "{\"id\": \"1\", \"issueId\": \"10\", \"timeSpentSeconds\": 60}," +
+                    "{\"id\": \"2\", \"issueId\": \"10\", \"started\": \"" + STARTED + "\", \"timeSpentSeconds\": 60}" +
+                "]"
+            )
+        );
+        assertEquals(1, worklogs.size());
+        assertEquals("2", worklogs.get(0).id());
+        assertEquals(JiraResponseDecoders.parseStarted(STARTED), worklogs.get(0).worklog().started());
+    }
+
+    public void testWorklogPageSkipsWorklogsWithoutTimeSpent() throws IOException {
+        final JiraResponseDecoders.WorklogPage page = JiraResponseDecoders.decodeWorklogPage(
+            "ABC-1",
+            json(
+                "{\"startAt\": 0, \"total\": 2, \"worklogs\": [" +
+                    "{\"id\": \"1\", \"started\": \"" + STARTED + "\"}," +
+                    "{\"id\": \"2\", \"started\": \"" + STARTED + "\", \"timeSpentSeconds\": 90}" +
+                "]}"
+            )
+        );
+        assertEquals(1, page.worklogs().size());
+        assertEquals(90, page.worklogs().get(0).timeSpentSeconds());
+        assertEquals("ABC-1", page.worklogs().get(0).key());
+    }
+
+    public void testTimesheetSkipsEntriesWithoutStartDate() throws IOException {
+        final List<CachedWorklog> worklogs = JiraResponseDecoders.decodeTimesheet(
+            "user@example.com",
+            json(
+                "{\"worklog\": [{\"entries\": [" +
+                    "{\"timeSpent\": 60}," +
+                    "{\"startDate\": 1690874130000, \"timeSpent\": 120}" +
+                "], \"key\": \"ABC-1\"}]}"
+            )
+        );
+        assertEquals(1, worklogs.size());
+        assertEquals(1690874130000L, worklogs.get(0).started());
+        assertEquals("ABC-1", worklogs.get(0).key());
+    }
+
+    private static InputStream json(final String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.github.texhnolyzze.jiraworklogplugin.workloggather;
+
+import com.github.texhnolyzze.jiraworklogplugin.FakeJiraServer;
+import com.github.texhnolyzze.jiraworklogplugin.FakeJiraTestCase;
+import com.github.texhnolyzze.jiraworklogplugin.JiraClient;
+import com.github.texhnolyzze.jiraworklogplugin.enums.HowToDetermineWhenUserStartedWorkingOnIssue;
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.TodayWorklogSummaryResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+public class AutoWorklogGatherStrategyTest extends FakeJiraTestCase {
+
+    public void testAutoUsesSingleStrategyAfterRace() throws IOException, InterruptedException {
+        final JiraClient client = getClient();
+        try (FakeJiraServer server = newServer()) {
+            server.generate(10, 10, 3, 200);
+            server.setLatency(Duration.ofMillis(20));
+            assertFound(server, auto(client, server));
+            // losers of the race are still measured in background
+            for (int i = 0; i < 100 && !measured(client, server); i++) {
+                Thread.sleep(50);
+            }
+            final long search = server.getRequests("search");
+            final long timesheet = server.getRequests("timesheet");
+            assertFound(server, auto(client, server));
+            assertTrue(server.getRequests("search") == search || server.getRequests("timesheet") == timesheet);
+        }
+    }
+
+    public void testAutoFallsBackWithoutTimesheetGadget() throws IOException {
+        final JiraClient client = getClient();
+        try (FakeJiraServer server = newServer()) {
+            server.generate(10, 10, 3, 200);
+            server.setTimesheetGadget(false);
+            assertFound(server, auto(client, server));
+            assertNull(client.getGatherStrategyHistory().getLatency(server.getUrl(), WorklogGatherStrategyEnum.TIMESHEET_GADGET));
+            final long timesheet = server.getRequests("timesheet");
+            assertFound(server, auto(client, server));
+            assertEquals(timesheet, server.getRequests("timesheet"));
+        }
+    }
+
+    private static boolean measured(final JiraClient client, final FakeJiraServer server) {
+        return AutoWorklogGatherStrategy.CANDIDATES.stream().allMatch(
+            strategy -> client.getGatherStrategyHistory().getLatency(server.getUrl(), strategy) != null
+        );
+    }
+
+    private static TodayWorklogSummaryResponse auto(final JiraClient client, final FakeJiraServer server) {
+        return client.getTodayWorklogSummary(
+            server.getUrl(),
+            FakeJiraServer.EMAIL,
+            FakeJiraServer.PASSWORD,
+            WorklogGatherStrategyEnum.AUTO,
+            HowToDetermineWhenUserStartedWorkingOnIssue.LEAVE_AS_IS
+        );
+    }
+
+}
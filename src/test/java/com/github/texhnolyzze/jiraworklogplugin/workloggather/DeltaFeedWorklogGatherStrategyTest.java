@@ -0,0 +1,61 @@
+package com.github.texhnolyzze.jiraworklogplugin.workloggather;
+
+import com.github.texhnolyzze.jiraworklogplugin.FakeJiraServer;
+import com.github.texhnolyzze.jiraworklogplugin.FakeJiraTestCase;
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+import com.github.texhnolyzze.jiraworklogplugin.jiraresponse.TodayWorklogSummaryResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+public class DeltaFeedWorklogGatherStrategyTest extends FakeJiraTestCase {
+
+    public void testOnlyChangedWorklogsAreListed() throws IOException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(10, 10, 3, 200);
+            assertFound(server, deltaFeed(server));
+            final long listed = server.getRequests("list");
+            assertFound(server, deltaFeed(server));
+            assertEquals(listed, server.getRequests("list"));
+            clock.advance(Duration.ofMinutes(1));
+            server.addWorklog(server.getIssueKey(1), morning(), Duration.ofMinutes(15), FakeJiraServer.EMAIL);
+            final long searched = server.getRequests("search");
+            assertFound(server, deltaFeed(server));
+            assertEquals(listed + 1, server.getRequests("list"));
+            // key of the issue is already known
+            assertEquals(searched, server.getRequests("search"));
+        }
+    }
+
+    public void testDeletedWorklogIsForgotten() throws IOException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(10, 10, 3, 200);
+            final Duration before = server.getTimeSpentToday();
+            assertFound(server, deltaFeed(server));
+            clock.advance(Duration.ofMinutes(1));
+            server.deleteTodayWorklog(server.getIssueKey(2));
+            assertTrue(server.getTimeSpentToday().compareTo(before) < 0);
+            assertFound(server, deltaFeed(server));
+        }
+    }
+
+    public void testKeysAreResolvedOnlyForWorklogsOfUser() throws IOException {
+        try (FakeJiraServer server = newServer()) {
+            server.generate(10, 10, 3, 200);
+            server.addWorklog("TEST-11", morning(), Duration.ofMinutes(30), "other@example.com");
+            assertFound(server, deltaFeed(server));
+            assertTrue(server.isSearchedById(server.getIssueKey(1)));
+            assertFalse(server.isSearchedById("TEST-11"));
+        }
+    }
+
+    private Instant morning() {
+        return TODAY.atStartOfDay(clock.getZone()).plusHours(9).toInstant();
+    }
+
+    private TodayWorklogSummaryResponse deltaFeed(final FakeJiraServer server) {
+        return gather(WorklogGatherStrategyEnum.DELTA_FEED, server);
+    }
+
+}
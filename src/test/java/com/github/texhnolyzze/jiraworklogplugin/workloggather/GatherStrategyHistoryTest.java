@@ -0,0 +1,71 @@
+package com.github.texhnolyzze.jiraworklogplugin.workloggather;
+
+import com.github.texhnolyzze.jiraworklogplugin.MutableClock;
+import com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum;
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum.REST_API_V2;
+import static com.github.texhnolyzze.jiraworklogplugin.enums.WorklogGatherStrategyEnum.TIMESHEET_GADGET;
+
+public class GatherStrategyHistoryTest extends TestCase {
+
+    private static final String JIRA_URL = "https://jira.example.com/";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2023-08-15T12:00:00Z"), ZoneOffset.UTC);
+    private final GatherStrategyHistory history = new GatherStrategyHistory(clock);
+
+    public void testLatencyIsUnknownUntilMeasured() {
+        assertNull(history.getLatency(JIRA_URL, REST_API_V2));
+        history.success(JIRA_URL, REST_API_V2, null);
+        assertNull(history.getLatency(JIRA_URL, REST_API_V2));
+    }
+
+    public void testLatencyIsExponentiallyWeightedAverage() {
+        history.success(JIRA_URL, REST_API_V2, Duration.ofMillis(100));
+        assertEquals(Duration.ofMillis(100), history.getLatency(JIRA_URL, REST_API_V2));
+        history.success(JIRA_URL, REST_API_V2, Duration.ofMillis(200));
+        assertEquals(Duration.ofMillis(130), history.getLatency(JIRA_URL, REST_API_V2));
+        history.success(JIRA_URL, REST_API_V2, Duration.ofMillis(30));
+        assertEquals(Duration.ofMillis(100), history.getLatency(JIRA_URL, REST_API_V2));
+        // not measured
+        history.success(JIRA_URL, REST_API_V2, null);
+        assertEquals(Duration.ofMillis(100), history.getLatency(JIRA_URL, REST_API_V2));
+    }
+
+    public void testLatencyIsKeptPerJiraAndStrategy() {
+        history.success(JIRA_URL, REST_API_V2, Duration.ofMillis(100));
+        assertNull(history.getLatency(JIRA_URL, TIMESHEET_GADGET));
+        assertNull(history.getLatency("https://other.example.com/", REST_API_V2));
+    }
+
+    public void testBackoffGrowsFromMinuteToHour() {
+        assertTrue(history.isAvailable(JIRA_URL, TIMESHEET_GADGET));
+        final long[] expectedMinutes = {1, 2, 4, 8, 16, 32, 60, 60};
+        for (final long minutes : expectedMinutes) {
+            history.failure(JIRA_URL, TIMESHEET_GADGET);
+            assertUnavailableFor(TIMESHEET_GADGET, Duration.ofMinutes(minutes));
+        }
+        assertTrue(history.isAvailable(JIRA_URL, REST_API_V2));
+    }
+
+    public void testSuccessResetsBackoff() {
+        history.failure(JIRA_URL, TIMESHEET_GADGET);
+        history.failure(JIRA_URL, TIMESHEET_GADGET);
+        history.success(JIRA_URL, TIMESHEET_GADGET, Duration.ofMillis(100));
+        assertTrue(history.isAvailable(JIRA_URL, TIMESHEET_GADGET));
+        history.failure(JIRA_URL, TIMESHEET_GADGET);
+        assertUnavailableFor(TIMESHEET_GADGET, Duration.ofMinutes(1));
+    }
+
+    private void assertUnavailableFor(final WorklogGatherStrategyEnum strategy, final Duration backoff) {
+        clock.advance(backoff.minusSeconds(1));
+        assertFalse(backoff.toString(), history.isAvailable(JIRA_URL, strategy));
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(backoff.toString(), history.isAvailable(JIRA_URL, strategy));
+    }
+
+}